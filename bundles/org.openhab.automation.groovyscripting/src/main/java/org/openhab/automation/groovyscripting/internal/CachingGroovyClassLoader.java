@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import groovy.lang.GroovyClassLoader;
+
+/**
+ * The {@link CachingGroovyClassLoader} is the class loader of one script engine. Scripts are compiled to bytecode
+ * once and the bytecode is kept in the {@link GroovyScriptCache}, so a script which has not been changed is loaded
+ * from the cache instead of being compiled again.
+ *
+ * The classes of every script are defined in their own class loader, just like {@link GroovyClassLoader} does for
+ * scripts compiled from source, so a script can be loaded again without conflicting with its previous classes. When
+ * the engine is closed, the meta classes of the script classes are removed so the class loaders and their classes can
+ * be garbage collected.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoader extends GroovyClassLoader {
+
+    private final CompilerConfiguration compilerConfiguration;
+    private final GroovyScriptCache cache;
+    private final Set<Class<?>> scriptClasses = ConcurrentHashMap.newKeySet();
+
+    public CachingGroovyClassLoader(ClassLoader parent, CompilerConfiguration compilerConfiguration,
+            GroovyScriptCache cache) {
+        super(parent, compilerConfiguration);
+        this.compilerConfiguration = compilerConfiguration;
+        this.cache = cache;
+    }
+
+    @Override
+    public Class<?> parseClass(@Nullable String text, @Nullable String fileName) throws CompilationFailedException {
+        if (text == null || fileName == null) {
+            return super.parseClass(text, fileName);
+        }
+
+        String key = cache.getKey(text);
+        Map<String, byte[]> classes = cache.get(key);
+        if (classes == null) {
+            classes = compile(text, fileName);
+            cache.put(key, classes);
+        }
+
+        ScriptLoader loader = new ScriptLoader(classes);
+        Class<?> mainClass = loader.defineScriptClass(classes.keySet().iterator().next());
+        if (mainClass == null) {
+            throw new IllegalStateException("Script '" + fileName + "' has no main class");
+        }
+        return mainClass;
+    }
+
+    /**
+     * Compile a script to bytecode.
+     *
+     * @return the bytecode of the classes by class name with the main class first
+     */
+    private Map<String, byte[]> compile(String text, String fileName) throws CompilationFailedException {
+        CompilationUnit unit = new CompilationUnit(compilerConfiguration, null, this);
+        SourceUnit sourceUnit = unit.addSource(fileName, text);
+        unit.compile(Phases.CLASS_GENERATION);
+
+        // the first class of the script is the one GroovyClassLoader returns
+        String mainClassName = sourceUnit.getAST().getClasses().get(0).getName();
+        List<GroovyClass> generatedClasses = unit.getClasses();
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (GroovyClass generatedClass : generatedClasses) {
+            if (generatedClass.getName().equals(mainClassName)) {
+                classes.put(generatedClass.getName(), generatedClass.getBytes());
+            }
+        }
+        for (GroovyClass generatedClass : generatedClasses) {
+            classes.putIfAbsent(generatedClass.getName(), generatedClass.getBytes());
+        }
+        return classes;
+    }
+
+    /**
+     * Remove the meta classes of all scripts loaded by this class loader.
+     */
+    public void releaseScriptClasses() {
+        for (Class<?> scriptClass : scriptClasses) {
+            InvokerHelper.removeClass(scriptClass);
+        }
+        scriptClasses.clear();
+        clearCache();
+    }
+
+    /**
+     * Defines the classes of one script. Classes are defined when they are first loaded, so classes referring to other
+     * classes of the script are defined in the right order.
+     */
+    private class ScriptLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        ScriptLoader(Map<String, byte[]> classes) {
+            super(CachingGroovyClassLoader.this);
+            this.classes = new HashMap<>(classes);
+        }
+
+        @Override
+        protected Class<?> loadClass(@Nullable String name, boolean resolve) throws ClassNotFoundException {
+            Class<?> scriptClass = name != null ? defineScriptClass(name) : null;
+            if (scriptClass == null) {
+                return super.loadClass(name, resolve);
+            }
+            if (resolve) {
+                resolveClass(scriptClass);
+            }
+            return scriptClass;
+        }
+
+        synchronized @Nullable Class<?> defineScriptClass(String name) {
+            Class<?> scriptClass = findLoadedClass(name);
+            if (scriptClass != null) {
+                return scriptClass;
+            }
+            byte[] bytecode = classes.remove(name);
+            if (bytecode == null) {
+                return null;
+            }
+            scriptClass = defineClass(name, bytecode, 0, bytecode.length);
+            scriptClasses.add(scriptClass);
+            return scriptClass;
+        }
+    }
+}
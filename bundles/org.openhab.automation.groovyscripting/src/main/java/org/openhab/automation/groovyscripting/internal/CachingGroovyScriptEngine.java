@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import java.io.IOException;
+
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Groovy script engine which loads its scripts through a {@link CachingGroovyClassLoader}. Closing the engine
+ * releases the classes of its scripts.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyScriptEngine extends GroovyScriptEngineImpl implements AutoCloseable {
+
+    private final Logger logger = LoggerFactory.getLogger(CachingGroovyScriptEngine.class);
+
+    private final CachingGroovyClassLoader classLoader;
+
+    public CachingGroovyScriptEngine(CachingGroovyClassLoader classLoader) {
+        super(classLoader);
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public void close() {
+        classLoader.releaseScriptClasses();
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close class loader: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import groovy.lang.GroovySystem;
+
+/**
+ * The {@link GroovyScriptCache} persists the bytecode of compiled scripts, so unchanged scripts don't need to be
+ * compiled again when they are reloaded or openHAB is restarted.
+ *
+ * The bytecode is stored in one file per script, named after the SHA-256 hash of the script text and everything else
+ * the bytecode depends on: the Groovy and openHAB versions and the compiler configuration. So scripts are compiled
+ * again after an upgrade, e.g. statically compiled scripts which bind to the classes of openHAB. The file contains
+ * the names and bytecode of all classes of the script, the main class first. Entries which have not been used for
+ * {@link #MAX_UNUSED_DAYS} days are removed when the cache is created.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroovyScriptCache {
+
+    private static final int MAX_UNUSED_DAYS = 30;
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".classes";
+
+    private final Logger logger = LoggerFactory.getLogger(GroovyScriptCache.class);
+
+    private final Path directory;
+    private final String environment;
+
+    /**
+     * Create a cache.
+     *
+     * @param directory the directory to store the entries in
+     * @param openHABVersion the version of openHAB the scripts are compiled against
+     * @param configuration the configuration the scripts are compiled with
+     */
+    public GroovyScriptCache(Path directory, String openHABVersion, CompilerConfiguration configuration) {
+        this.directory = directory;
+        this.environment = getEnvironment(openHABVersion, configuration);
+        removeUnusedEntries();
+    }
+
+    /**
+     * Describe everything besides the script text the bytecode of a script depends on. Compilation customizers are
+     * identified by their class.
+     */
+    private static String getEnvironment(String openHABVersion, CompilerConfiguration configuration) {
+        Set<String> disabledTransformations = configuration.getDisabledGlobalASTTransformations();
+        return String.join("\n", GroovySystem.getVersion(), openHABVersion, configuration.getTargetBytecode(),
+                configuration.getScriptBaseClass(), configuration.getSourceEncoding(),
+                String.valueOf(configuration.getParameters()), String.valueOf(configuration.isPreviewFeatures()),
+                new TreeMap<>(configuration.getOptimizationOptions()).toString(),
+                disabledTransformations == null ? "" : new TreeSet<>(disabledTransformations).toString(),
+                configuration.getCompilationCustomizers().stream().map(c -> c.getClass().getName())
+                        .collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Get the cache key of a script.
+     *
+     * @param text the script text
+     * @return the hex encoded SHA-256 hash of the environment of the cache and the script text
+     */
+    public String getKey(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(environment.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Get the classes of a script.
+     *
+     * @param key the cache key of the script
+     * @return the bytecode of the classes by class name with the main class first, or null if the script is not cached
+     */
+    public @Nullable Map<String, byte[]> get(String key) {
+        Path file = directory.resolve(key + EXTENSION);
+        try (InputStream is = Files.newInputStream(file); DataInputStream in = new DataInputStream(is)) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            int count = in.readInt();
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                byte[] bytecode = new byte[in.readInt()];
+                in.readFully(bytecode);
+                classes.put(name, bytecode);
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return classes;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Ignoring unreadable cache entry '{}': {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store the classes of a script.
+     *
+     * @param key the cache key of the script
+     * @param classes the bytecode of the classes by class name with the main class first
+     */
+    public void put(String key, Map<String, byte[]> classes) {
+        Path file = directory.resolve(key + EXTENSION);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, key, ".tmp");
+            try (OutputStream os = Files.newOutputStream(tempFile); DataOutputStream out = new DataOutputStream(os)) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(classes.size());
+                for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to write cache entry '{}': {}", file, e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void removeUnusedEntries() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long oldest = System.currentTimeMillis() - MAX_UNUSED_DAYS * 24L * 60 * 60 * 1000;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < oldest) {
+                    logger.trace("Removing unused cache entry '{}'", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to remove unused cache entries: {}", e.getMessage());
+        }
+    }
+}
@@ -12,27 +12,44 @@
  */
 package org.openhab.automation.groovyscripting.internal;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.script.ScriptEngine;
 
+import org.codehaus.groovy.control.CompilerConfiguration;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.AbstractScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
 
 /**
  * This is an implementation of a {@link ScriptEngineFactory} for Groovy.
  *
+ * All engines share one compiler configuration and one {@link GroovyClassLoader}, which resolves the classes used by
+ * the scripts. The script classes themselves are defined by a {@link CachingGroovyClassLoader} per engine, so they are
+ * released when a script is reloaded instead of piling up in the shared class loader. Compiled scripts are cached in
+ * the userdata cache folder.
+ *
  * @author Wouter Born - Initial contribution
  */
 @Component(service = ScriptEngineFactory.class)
 @NonNullByDefault
 public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
 
+    private final Logger logger = LoggerFactory.getLogger(GroovyScriptEngineFactory.class);
+
     private final org.codehaus.groovy.jsr223.GroovyScriptEngineFactory factory = new org.codehaus.groovy.jsr223.GroovyScriptEngineFactory();
 
     private final List<String> scriptTypes = (List<String>) Stream.of(factory.getExtensions(), factory.getMimeTypes())
@@ -44,8 +61,49 @@ public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
         return scriptTypes;
     }
 
+    private final CompilerConfiguration compilerConfiguration = new CompilerConfiguration(
+            CompilerConfiguration.DEFAULT);
+
+    private final GroovyClassLoader sharedClassLoader = new GroovyClassLoader(getParentClassLoader(),
+            compilerConfiguration);
+
+    private final GroovyScriptCache cache = new GroovyScriptCache(
+            Paths.get(OpenHAB.getUserDataFolder(), "cache", GroovyScriptEngineFactory.class.getPackageName()),
+            OpenHAB.getVersion(), compilerConfiguration);
+
+    @Deactivate
+    public void deactivate() {
+        try {
+            sharedClassLoader.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close the shared Groovy class loader: {}", e.getMessage());
+        }
+    }
+
     @Override
     public @Nullable ScriptEngine createScriptEngine(String scriptType) {
-        return scriptTypes.contains(scriptType) ? factory.getScriptEngine() : null;
+        if (!scriptTypes.contains(scriptType)) {
+            return null;
+        }
+        return new CachingGroovyScriptEngine(
+                new CachingGroovyClassLoader(sharedClassLoader, compilerConfiguration, cache));
+    }
+
+    /**
+     * Use the same parent class loader as the Groovy script engine does by default: the context class loader if it
+     * can see the Groovy runtime, else the class loader of the Groovy runtime.
+     */
+    private static ClassLoader getParentClassLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        if (contextClassLoader != null) {
+            try {
+                if (contextClassLoader.loadClass(Script.class.getName()) == Script.class) {
+                    return contextClassLoader;
+                }
+            } catch (ClassNotFoundException e) {
+                // fall back to the class loader of the Groovy runtime
+            }
+        }
+        return Script.class.getClassLoader();
     }
 }
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.ScriptException;
+
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.reflection.ClassInfo;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import groovy.lang.Binding;
+
+/**
+ * Tests the {@link CachingGroovyClassLoader} and the release of the script classes by the
+ * {@link CachingGroovyScriptEngine}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoaderTest {
+
+    // a script with a class and a closure, which are compiled into three classes
+    private static final String SCRIPT = "class Greeter {\n" //
+            + "    String greet(String name) { \"Hello, $name\" }\n" //
+            + "}\n" //
+            + "['Alice', 'Bob'].collect { new Greeter().greet(it) }.join(', ')\n";
+    private static final String RESULT = "Hello, Alice, Hello, Bob";
+
+    private @TempDir @NonNullByDefault({}) Path folder;
+
+    /**
+     * Counts the scripts which had to be compiled.
+     */
+    private static class CountingCache extends GroovyScriptCache {
+        private final AtomicInteger puts = new AtomicInteger();
+
+        CountingCache(Path directory) {
+            super(directory, "3.1.0", new CompilerConfiguration());
+        }
+
+        @Override
+        public void put(String key, Map<String, byte[]> classes) {
+            puts.incrementAndGet();
+            super.put(key, classes);
+        }
+    }
+
+    private GroovyScriptCache createCache() {
+        return new GroovyScriptCache(folder, "3.1.0", new CompilerConfiguration());
+    }
+
+    private CachingGroovyClassLoader createLoader(GroovyScriptCache cache) {
+        return new CachingGroovyClassLoader(getClass().getClassLoader(), new CompilerConfiguration(), cache);
+    }
+
+    private static Object run(Class<?> scriptClass) {
+        return InvokerHelper.createScript(scriptClass, new Binding()).run();
+    }
+
+    /**
+     * Get the class infos, which hold the meta classes, of the classes defined for the scripts of a class loader.
+     */
+    private static Map<Class<?>, ClassInfo> getScriptClassInfos(ClassLoader loader) {
+        Map<Class<?>, ClassInfo> infos = new HashMap<>();
+        for (ClassInfo info : ClassInfo.getAllClassInfo()) {
+            Class<?> infoClass = info.getTheClass();
+            if (infoClass != null) {
+                ClassLoader classLoader = infoClass.getClassLoader();
+                if (classLoader != null && classLoader.getParent() == loader) {
+                    infos.put(infoClass, info);
+                }
+            }
+        }
+        return infos;
+    }
+
+    @Test
+    public void testCompiledOnce() throws IOException {
+        CountingCache cache = new CountingCache(folder);
+
+        try (CachingGroovyClassLoader loader = createLoader(cache)) {
+            assertEquals(RESULT, run(loader.parseClass(SCRIPT, "Script1.groovy")));
+            assertEquals(RESULT, run(loader.parseClass(SCRIPT, "Script2.groovy")));
+            assertEquals(1, cache.puts.get());
+        }
+
+        // loaded from the cache by a new class loader, e.g. after a restart
+        try (CachingGroovyClassLoader loader = createLoader(cache)) {
+            assertEquals(RESULT, run(loader.parseClass(SCRIPT, "Script1.groovy")));
+            assertEquals(1, cache.puts.get());
+        }
+    }
+
+    @Test
+    public void testMultipleClassesFromCache() throws IOException, ClassNotFoundException {
+        CountingCache cache = new CountingCache(folder);
+        try (CachingGroovyClassLoader loader = createLoader(cache)) {
+            loader.parseClass(SCRIPT, "Script1.groovy");
+        }
+        Map<String, byte[]> classes = cache.get(cache.getKey(SCRIPT));
+        assertNotNull(classes);
+        assertEquals(3, classes.size());
+        assertTrue(classes.containsKey("Greeter"));
+
+        try (CachingGroovyClassLoader loader = createLoader(cache)) {
+            Class<?> scriptClass = loader.parseClass(SCRIPT, "Script1.groovy");
+            assertEquals(classes.keySet().iterator().next(), scriptClass.getName());
+            assertEquals(RESULT, run(scriptClass));
+            // the other classes of the script are defined by the same class loader as the main class
+            Class<?> greeter = Class.forName("Greeter", false, scriptClass.getClassLoader());
+            assertSame(scriptClass.getClassLoader(), greeter.getClassLoader());
+        }
+        assertEquals(1, cache.puts.get());
+    }
+
+    @Test
+    public void testScriptsAreIsolated() throws IOException {
+        try (CachingGroovyClassLoader loader = createLoader(createCache())) {
+            Class<?> first = loader.parseClass(SCRIPT, "Script1.groovy");
+            Class<?> second = loader.parseClass(SCRIPT, "Script1.groovy");
+
+            assertNotSame(first, second);
+            assertNotSame(first.getClassLoader(), second.getClassLoader());
+        }
+    }
+
+    @Test
+    public void testCorruptEntryIsCompiled() throws IOException {
+        CountingCache cache = new CountingCache(folder);
+        String key = cache.getKey(SCRIPT);
+        Files.write(folder.resolve(key + ".classes"), new byte[] { 0, 0, 0, 1, 0, 0, 0, 3, 0 });
+
+        try (CachingGroovyClassLoader loader = createLoader(cache)) {
+            assertEquals(RESULT, run(loader.parseClass(SCRIPT, "Script1.groovy")));
+        }
+        assertEquals(1, cache.puts.get());
+        // the entry has been replaced
+        assertNotNull(cache.get(key));
+    }
+
+    @Test
+    public void testOldFormatIsCompiled() throws IOException {
+        CountingCache cache = new CountingCache(folder);
+        try (CachingGroovyClassLoader loader = createLoader(cache)) {
+            loader.parseClass(SCRIPT, "Script1.groovy");
+        }
+        Path file = folder.resolve(cache.getKey(SCRIPT) + ".classes");
+        byte[] entry = Files.readAllBytes(file);
+        entry[3] = 0; // format version 0
+        Files.write(file, entry);
+
+        try (CachingGroovyClassLoader loader = createLoader(cache)) {
+            assertEquals(RESULT, run(loader.parseClass(SCRIPT, "Script1.groovy")));
+        }
+        assertEquals(2, cache.puts.get());
+    }
+
+    @Test
+    public void testCloseReleasesMetaClasses() throws ScriptException {
+        CachingGroovyClassLoader loader = createLoader(createCache());
+        CachingGroovyScriptEngine engine = new CachingGroovyScriptEngine(loader);
+
+        assertEquals(RESULT, engine.eval(SCRIPT));
+        Map<Class<?>, ClassInfo> infos = getScriptClassInfos(loader);
+        assertTrue(infos.keySet().stream().anyMatch(c -> "Greeter".equals(c.getName())));
+        assertTrue(infos.size() >= 2);
+
+        engine.close();
+
+        // the class infos have been removed, so a new one is created on access
+        for (Map.Entry<Class<?>, ClassInfo> entry : infos.entrySet()) {
+            assertNotSame(entry.getValue(), ClassInfo.getClassInfo(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import groovy.transform.CompileStatic;
+
+/**
+ * Tests the {@link GroovyScriptCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroovyScriptCacheTest {
+
+    private @TempDir @NonNullByDefault({}) Path folder;
+
+    private static GroovyScriptCache createCache(Path directory) {
+        return new GroovyScriptCache(directory, "3.1.0", new CompilerConfiguration());
+    }
+
+    private static Map<String, byte[]> classes() {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        classes.put("Script1", new byte[] { 1, 2, 3 });
+        classes.put("Helper", new byte[0]);
+        classes.put("Script1$_run_closure1", new byte[] { 4, 5 });
+        return classes;
+    }
+
+    @Test
+    public void testKey() {
+        GroovyScriptCache cache = createCache(folder);
+
+        assertEquals(cache.getKey("println 'a'"), cache.getKey("println 'a'"));
+        assertNotEquals(cache.getKey("println 'a'"), cache.getKey("println 'b'"));
+        assertTrue(cache.getKey("").matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    public void testKeyDependsOnEnvironment() {
+        String key = createCache(folder).getKey("script");
+
+        // e.g. statically compiled scripts need to be compiled again after an upgrade
+        assertNotEquals(key, new GroovyScriptCache(folder, "3.2.0", new CompilerConfiguration()).getKey("script"));
+
+        CompilerConfiguration configuration = new CompilerConfiguration();
+        configuration.addCompilationCustomizers(new ASTTransformationCustomizer(CompileStatic.class));
+        assertNotEquals(key, new GroovyScriptCache(folder, "3.1.0", configuration).getKey("script"));
+
+        configuration = new CompilerConfiguration();
+        configuration.setTargetBytecode(CompilerConfiguration.JDK11);
+        assertNotEquals(key, new GroovyScriptCache(folder, "3.1.0", configuration).getKey("script"));
+
+        configuration = new CompilerConfiguration();
+        configuration.setScriptBaseClass("org.openhab.automation.Script");
+        assertNotEquals(key, new GroovyScriptCache(folder, "3.1.0", configuration).getKey("script"));
+
+        assertEquals(key, new GroovyScriptCache(folder, "3.1.0", new CompilerConfiguration()).getKey("script"));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        GroovyScriptCache cache = createCache(folder.resolve("cache"));
+        String key = cache.getKey("script");
+        assertNull(cache.get(key));
+
+        cache.put(key, classes());
+        Map<String, byte[]> classes = cache.get(key);
+
+        assertNotNull(classes);
+        assertEquals(List.of("Script1", "Helper", "Script1$_run_closure1"), new ArrayList<>(classes.keySet()));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, classes.get("Script1"));
+        assertArrayEquals(new byte[0], classes.get("Helper"));
+        assertArrayEquals(new byte[] { 4, 5 }, classes.get("Script1$_run_closure1"));
+
+        // a new cache on the same directory, e.g. after a restart
+        assertNotNull(createCache(folder.resolve("cache")).get(key));
+    }
+
+    @Test
+    public void testCorruptEntry() throws IOException {
+        GroovyScriptCache cache = createCache(folder);
+        String key = cache.getKey("script");
+
+        Files.write(folder.resolve(key + ".classes"), new byte[] { 0, 0 });
+        assertNull(cache.get(key));
+
+        // valid header, but cut off in the middle of the classes
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(1);
+            out.writeInt(2);
+            out.writeUTF("Script1");
+            out.writeInt(100);
+            out.write(new byte[10]);
+        }
+        Files.write(folder.resolve(key + ".classes"), bytes.toByteArray());
+        assertNull(cache.get(key));
+
+        // a negative length
+        bytes.reset();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeUTF("Script1");
+            out.writeInt(-1);
+        }
+        Files.write(folder.resolve(key + ".classes"), bytes.toByteArray());
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testOtherFormatVersion() throws IOException {
+        GroovyScriptCache cache = createCache(folder);
+        String key = cache.getKey("script");
+        cache.put(key, classes());
+
+        byte[] entry = Files.readAllBytes(folder.resolve(key + ".classes"));
+        entry[3] = 0;
+        Files.write(folder.resolve(key + ".classes"), entry);
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testUnusedEntriesAreRemoved() throws IOException {
+        GroovyScriptCache cache = createCache(folder);
+        String oldKey = cache.getKey("old");
+        String recentKey = cache.getKey("recent");
+        cache.put(oldKey, classes());
+        cache.put(recentKey, classes());
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(folder.resolve(oldKey + ".classes"),
+                FileTime.fromMillis(now - TimeUnit.DAYS.toMillis(31)));
+        Files.setLastModifiedTime(folder.resolve(recentKey + ".classes"),
+                FileTime.fromMillis(now - TimeUnit.DAYS.toMillis(29)));
+
+        cache = createCache(folder);
+
+        assertNull(cache.get(oldKey));
+        assertNotNull(cache.get(recentKey));
+    }
+
+    @Test
+    public void testGetMarksEntryAsUsed() throws IOException {
+        GroovyScriptCache cache = createCache(folder);
+        String key = cache.getKey("script");
+        cache.put(key, classes());
+        Path file = folder.resolve(key + ".classes");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(29)));
+
+        assertNotNull(cache.get(key));
+
+        assertTrue(Files.getLastModifiedTime(file).toMillis() > System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Collects the timing jitter of a control loop, i.e. the deviation of the time between two loop cycles from the
+ * configured loop time.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class LoopJitterStatistics {
+    private final long loopTimeNs;
+
+    private long lastCycleNs;
+    private boolean started;
+    private long cycles;
+    private long jitterSumNs;
+    private long jitterMaxNs;
+
+    /**
+     * @param loopTimeMs the configured loop time
+     */
+    public LoopJitterStatistics(long loopTimeMs) {
+        this.loopTimeNs = loopTimeMs * 1_000_000;
+    }
+
+    /**
+     * Records a loop cycle.
+     *
+     * @param nowNs the start of the cycle, as returned by {@link System#nanoTime()}
+     */
+    public void cycle(long nowNs) {
+        if (started) {
+            long jitterNs = Math.abs(nowNs - lastCycleNs - loopTimeNs);
+            cycles++;
+            jitterSumNs += jitterNs;
+            jitterMaxNs = Math.max(jitterMaxNs, jitterNs);
+        }
+        started = true;
+        lastCycleNs = nowNs;
+    }
+
+    /**
+     * @return the number of measured cycles since the last reset
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return the mean absolute jitter in milliseconds since the last reset
+     */
+    public double getMeanJitterMs() {
+        return cycles > 0 ? jitterSumNs / 1e6 / cycles : 0;
+    }
+
+    /**
+     * @return the maximum absolute jitter in milliseconds since the last reset
+     */
+    public double getMaxJitterMs() {
+        return jitterMaxNs / 1e6;
+    }
+
+    /**
+     * Resets the statistics. The next cycle is still measured against the last one.
+     */
+    public void reset() {
+        cycles = 0;
+        jitterSumNs = 0;
+        jitterMaxNs = 0;
+    }
+}
@@ -32,6 +32,8 @@ public class PIDControllerConstants {
     public static final String CONFIG_KI_GAIN = "ki";
     public static final String CONFIG_KD_GAIN = "kd";
     public static final String CONFIG_KD_TIMECONSTANT = "kdTimeConstant";
+    public static final String CONFIG_OUTPUT_DEADBAND = "outputDeadband";
+    public static final String CONFIG_FIXED_RATE = "fixedRate";
     public static final String P_INSPECTOR = "pInspector";
     public static final String I_INSPECTOR = "iInspector";
     public static final String D_INSPECTOR = "dInspector";
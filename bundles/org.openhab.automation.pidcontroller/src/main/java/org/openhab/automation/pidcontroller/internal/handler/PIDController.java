@@ -42,7 +42,16 @@ class PIDController {
         this.derivativeTimeConstantSec = derivativeTimeConstantSec;
     }
 
-    public PIDOutputDTO calculate(double input, double setpoint, long lastInvocationMs, int loopTimeMs) {
+    /**
+     * Executes one controller step.
+     *
+     * @param input the current input value
+     * @param setpoint the current setpoint
+     * @param lastInvocationMs time since the last step
+     * @param loopTimeMs the configured loop time
+     * @param result receives the output value and its parts
+     */
+    public void calculate(double input, double setpoint, long lastInvocationMs, int loopTimeMs, PIDOutputDTO result) {
         final double lastInvocationSec = lastInvocationMs / 1000d;
         final double error = setpoint - input;
 
@@ -62,7 +71,7 @@ class PIDController {
         final double derivativePart = kd * derivativeResult;
         output = proportionalPart + integralPart + derivativePart;
 
-        return new PIDOutputDTO(output, proportionalPart, integralPart, derivativePart, error);
+        result.set(output, proportionalPart, integralPart, derivativePart, error);
     }
 
     public void setIntegralResult(double integralResult) {
@@ -15,7 +15,6 @@ package org.openhab.automation.pidcontroller.internal.handler;
 import static org.openhab.automation.pidcontroller.internal.PIDControllerConstants.*;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -27,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pidcontroller.internal.LoopJitterStatistics;
 import org.openhab.automation.pidcontroller.internal.PIDException;
 import org.openhab.core.automation.ModuleHandlerCallback;
 import org.openhab.core.automation.Trigger;
@@ -62,14 +62,22 @@ import org.slf4j.LoggerFactory;
 public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber {
     public static final String MODULE_TYPE_ID = AUTOMATION_NAME + ".trigger";
     private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE, ItemStateChangedEvent.TYPE);
+    private static final long STATISTICS_INTERVAL_NS = TimeUnit.MINUTES.toNanos(1);
     private final Logger logger = LoggerFactory.getLogger(PIDControllerTriggerHandler.class);
     private final ScheduledExecutorService scheduler = Executors
             .newSingleThreadScheduledExecutor(new NamedThreadFactory("automation-" + AUTOMATION_NAME, true));
     private final ServiceRegistration<?> eventSubscriberRegistration;
     private final PIDController controller;
+    private final PIDOutputDTO output = new PIDOutputDTO();
     private final int loopTimeMs;
+    private final boolean fixedRate;
+    private final double outputDeadband;
+    private final LoopJitterStatistics jitterStatistics;
     private @Nullable ScheduledFuture<?> controllerjob;
-    private long previousTimeMs = System.currentTimeMillis();
+    private long previousTimeNs = System.nanoTime();
+    private long statisticsStartNs = previousTimeNs;
+    private long publishedOutputs;
+    private double lastPublishedOutput = Double.NaN;
     private Item inputItem;
     private Item setpointItem;
     private Optional<String> commandTopic;
@@ -113,6 +121,11 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         loopTimeMs = ((BigDecimal) requireNonNull(config.get(CONFIG_LOOP_TIME), CONFIG_LOOP_TIME + " is not set"))
                 .intValue();
 
+        Object deadband = config.get(CONFIG_OUTPUT_DEADBAND);
+        outputDeadband = deadband instanceof BigDecimal ? ((BigDecimal) deadband).doubleValue() : 0;
+        fixedRate = Boolean.TRUE.equals(config.get(CONFIG_FIXED_RATE));
+        jitterStatistics = new LoopJitterStatistics(loopTimeMs);
+
         controller = new PIDController(kpAdjuster, kiAdjuster, kdAdjuster, kdTimeConstant);
 
         eventFilter = event -> {
@@ -128,7 +141,11 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
 
         eventPublisher.post(ItemEventFactory.createCommandEvent(inputItemName, RefreshType.REFRESH));
 
-        controllerjob = scheduler.scheduleWithFixedDelay(this::calculate, 0, loopTimeMs, TimeUnit.MILLISECONDS);
+        if (fixedRate) {
+            controllerjob = scheduler.scheduleAtFixedRate(this::loop, 0, loopTimeMs, TimeUnit.MILLISECONDS);
+        } else {
+            controllerjob = scheduler.scheduleWithFixedDelay(this::loop, 0, loopTimeMs, TimeUnit.MILLISECONDS);
+        }
     }
 
     private <T> T requireNonNull(T obj, String message) {
@@ -142,7 +159,26 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         return ((BigDecimal) Objects.requireNonNull(config.get(key), key + " is not set")).doubleValue();
     }
 
-    private void calculate() {
+    private void loop() {
+        long now = System.nanoTime();
+        jitterStatistics.cycle(now);
+
+        calculate();
+
+        if (now - statisticsStartNs >= STATISTICS_INTERVAL_NS) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Loop for input '{}': {} cycles, jitter mean {} ms, max {} ms, {} outputs published",
+                        inputItem.getName(), jitterStatistics.getCycles(),
+                        String.format("%.2f", jitterStatistics.getMeanJitterMs()),
+                        String.format("%.2f", jitterStatistics.getMaxJitterMs()), publishedOutputs);
+            }
+            jitterStatistics.reset();
+            publishedOutputs = 0;
+            statisticsStartNs = now;
+        }
+    }
+
+    private synchronized void calculate() {
         double input;
         double setpoint;
 
@@ -160,18 +196,25 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
             return;
         }
 
-        long now = System.currentTimeMillis();
+        long now = System.nanoTime();
 
-        PIDOutputDTO output = controller.calculate(input, setpoint, now - previousTimeMs, loopTimeMs);
-        previousTimeMs = now;
+        controller.calculate(input, setpoint, TimeUnit.NANOSECONDS.toMillis(now - previousTimeNs), loopTimeMs,
+                output);
+        previousTimeNs = now;
 
-        Map<String, BigDecimal> outputs = new HashMap<>();
+        // the difference is NaN if nothing has been published yet
+        if (Math.abs(output.getOutput() - lastPublishedOutput) < outputDeadband) {
+            return;
+        }
+        lastPublishedOutput = output.getOutput();
+        publishedOutputs++;
 
-        putBigDecimal(outputs, OUTPUT, output.getOutput());
-        putBigDecimal(outputs, P_INSPECTOR, output.getProportionalPart());
-        putBigDecimal(outputs, I_INSPECTOR, output.getIntegralPart());
-        putBigDecimal(outputs, D_INSPECTOR, output.getDerivativePart());
-        putBigDecimal(outputs, E_INSPECTOR, output.getError());
+        Map<String, BigDecimal> outputs = Map.of( //
+                OUTPUT, BigDecimal.valueOf(output.getOutput()), //
+                P_INSPECTOR, BigDecimal.valueOf(output.getProportionalPart()), //
+                I_INSPECTOR, BigDecimal.valueOf(output.getIntegralPart()), //
+                D_INSPECTOR, BigDecimal.valueOf(output.getDerivativePart()), //
+                E_INSPECTOR, BigDecimal.valueOf(output.getError()));
 
         ModuleHandlerCallback localCallback = callback;
         if (localCallback != null && localCallback instanceof TriggerHandlerCallback) {
@@ -181,10 +224,6 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         }
     }
 
-    private void putBigDecimal(Map<String, BigDecimal> map, String key, double value) {
-        map.put(key, BigDecimal.valueOf(value));
-    }
-
     private double getItemValueAsNumber(Item item) throws PIDException {
         State setpointState = item.getState();
 
@@ -211,13 +250,16 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
             if (commandTopic.isPresent() && event.getTopic().equals(commandTopic.get())) {
                 ItemStateChangedEvent changedEvent = (ItemStateChangedEvent) event;
                 if ("RESET".equals(changedEvent.getItemState().toString())) {
-                    controller.setIntegralResult(0);
-                    controller.setDerivativeResult(0);
+                    synchronized (this) {
+                        controller.setIntegralResult(0);
+                        controller.setDerivativeResult(0);
+                        lastPublishedOutput = Double.NaN;
+                    }
                     eventPublisher.post(ItemEventFactory.createStateEvent(changedEvent.getItemName(), UnDefType.NULL));
                 } else if (changedEvent.getItemState() != UnDefType.NULL) {
                     logger.warn("Unknown command: {}", changedEvent.getItemState());
                 }
-            } else {
+            } else if (!fixedRate) {
                 calculate();
             }
         }
@@ -23,8 +23,18 @@ public class PIDOutputDTO {
     private double derivativePart;
     private double error;
 
+    public PIDOutputDTO() {
+    }
+
     public PIDOutputDTO(double output, double proportionalPart, double integralPart, double derivativePart,
             double error) {
+        set(output, proportionalPart, integralPart, derivativePart, error);
+    }
+
+    /**
+     * Overwrites all values, so one instance can be reused for every calculation.
+     */
+    void set(double output, double proportionalPart, double integralPart, double derivativePart, double error) {
         this.output = output;
         this.proportionalPart = proportionalPart;
         this.integralPart = integralPart;
@@ -98,6 +98,23 @@ public class PIDControllerTriggerType extends TriggerType {
                 .withDescription("The interval the output value is updated in ms") //
                 .withUnit("ms") //
                 .build());
+        configDescriptions.add(ConfigDescriptionParameterBuilder.create(CONFIG_FIXED_RATE, Type.BOOLEAN) //
+                .withRequired(false) //
+                .withMultiple(false) //
+                .withDefault("false") //
+                .withLabel("Fixed Rate") //
+                .withDescription(
+                        "Calculate the output strictly once per loop time, not when the input or the setpoint changes.") //
+                .build());
+        configDescriptions.add(ConfigDescriptionParameterBuilder.create(CONFIG_OUTPUT_DEADBAND, Type.DECIMAL) //
+                .withRequired(false) //
+                .withMultiple(false) //
+                .withDefault("0") //
+                .withMinimum(BigDecimal.ZERO) //
+                .withLabel("Output Deadband") //
+                .withDescription(
+                        "The output is only updated if it changed by at least this value since the last update. 0 updates the output on every calculation.") //
+                .build());
         Output output = new Output(OUTPUT, BigDecimal.class.getName(), "Output", "Output value of the PID Controller",
                 null, null, null);
         Output pInspector = new Output(P_INSPECTOR, BigDecimal.class.getName(), "P Inspector",
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for LoopJitterStatistics.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class LoopJitterStatisticsTest {
+    private static final long MS = 1_000_000;
+
+    @Test
+    void firstCycleIsNotMeasured() {
+        LoopJitterStatistics statistics = new LoopJitterStatistics(100);
+        statistics.cycle(5 * MS);
+        assertEquals(0, statistics.getCycles());
+        assertEquals(0, statistics.getMeanJitterMs(), 0.001);
+    }
+
+    @Test
+    void lateAndEarlyCycles() {
+        LoopJitterStatistics statistics = new LoopJitterStatistics(100);
+        statistics.cycle(0);
+        statistics.cycle(104 * MS);
+        statistics.cycle(202 * MS);
+        assertEquals(2, statistics.getCycles());
+        assertEquals(3, statistics.getMeanJitterMs(), 0.001);
+        assertEquals(4, statistics.getMaxJitterMs(), 0.001);
+    }
+
+    @Test
+    void resetKeepsLastCycle() {
+        LoopJitterStatistics statistics = new LoopJitterStatistics(100);
+        statistics.cycle(0);
+        statistics.cycle(110 * MS);
+        statistics.reset();
+        statistics.cycle(211 * MS);
+        assertEquals(1, statistics.getCycles());
+        assertEquals(1, statistics.getMaxJitterMs(), 0.001);
+    }
+}
@@ -13,9 +13,7 @@
 package org.openhab.binding.deconz.internal.netutils;
 
 import java.net.URI;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -27,7 +25,6 @@ import org.eclipse.jetty.websocket.api.annotations.OnWebSocketError;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
 import org.eclipse.jetty.websocket.api.annotations.WebSocket;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
-import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
 import org.openhab.binding.deconz.internal.types.ResourceType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,19 +46,19 @@ public class WebSocketConnection {
 
     private final WebSocketClient client;
     private final String socketName;
-    private final Gson gson;
 
     private final WebSocketConnectionListener connectionListener;
-    private final Map<String, WebSocketMessageListener> listeners = new ConcurrentHashMap<>();
+    private final WebSocketMessageDispatcher dispatcher;
 
     private ConnectionState connectionState = ConnectionState.DISCONNECTED;
     private @Nullable Session session;
 
-    public WebSocketConnection(WebSocketConnectionListener listener, WebSocketClient client, Gson gson) {
+    public WebSocketConnection(WebSocketConnectionListener listener, WebSocketClient client, Gson gson,
+            Executor executor) {
         this.connectionListener = listener;
         this.client = client;
         this.client.setMaxIdleTimeout(0);
-        this.gson = gson;
+        this.dispatcher = new WebSocketMessageDispatcher(gson, executor);
         this.socketName = "Websocket$" + System.currentTimeMillis() + "-" + INSTANCE_COUNTER.incrementAndGet();
     }
 
@@ -95,11 +92,11 @@ public class WebSocketConnection {
     }
 
     public void registerListener(ResourceType resourceType, String sensorID, WebSocketMessageListener listener) {
-        listeners.put(getListenerId(resourceType, sensorID), listener);
+        dispatcher.registerListener(resourceType, sensorID, listener);
     }
 
     public void unregisterListener(ResourceType resourceType, String sensorID) {
-        listeners.remove(getListenerId(resourceType, sensorID));
+        dispatcher.unregisterListener(resourceType, sensorID);
     }
 
     @SuppressWarnings("unused")
@@ -122,33 +119,7 @@ public class WebSocketConnection {
         logger.trace("{} received raw data: {}", socketName, message);
 
         try {
-            DeconzBaseMessage changedMessage = Objects.requireNonNull(gson.fromJson(message, DeconzBaseMessage.class));
-            if (changedMessage.r == ResourceType.UNKNOWN) {
-                logger.trace("Received message has unknown resource type. Skipping message.");
-                return;
-            }
-
-            WebSocketMessageListener listener = listeners.get(getListenerId(changedMessage.r, changedMessage.id));
-            if (listener == null) {
-                logger.debug(
-                        "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
-                        changedMessage.id, changedMessage.r);
-                return;
-            }
-
-            Class<? extends DeconzBaseMessage> expectedMessageType = changedMessage.r.getExpectedMessageType();
-            if (expectedMessageType == null) {
-                logger.warn(
-                        "BUG! Could not get expected message type for resource type {}. Please report this incident.",
-                        changedMessage.r);
-                return;
-            }
-
-            DeconzBaseMessage deconzMessage = gson.fromJson(message, expectedMessageType);
-            if (deconzMessage != null) {
-                listener.messageReceived(changedMessage.id, deconzMessage);
-
-            }
+            dispatcher.dispatch(message);
         } catch (RuntimeException e) {
             // we need to catch all processing exceptions, otherwise they could affect the connection
             logger.warn("{} encountered an error while processing the message {}: {}", socketName, message,
@@ -202,17 +173,6 @@ public class WebSocketConnection {
         return connectionState == ConnectionState.CONNECTED;
     }
 
-    /**
-     * create a unique identifier for a listener
-     *
-     * @param resourceType the listener resource-type (LIGHT, SENSOR, ...)
-     * @param id the listener id (same as deconz-id)
-     * @return a unique string for this listener
-     */
-    private String getListenerId(ResourceType resourceType, String id) {
-        return resourceType.name() + "$" + id;
-    }
-
     /**
      * used internally to represent the connection state
      */
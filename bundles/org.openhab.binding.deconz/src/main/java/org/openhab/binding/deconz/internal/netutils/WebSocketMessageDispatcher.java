@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz.internal.netutils;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
+import org.openhab.binding.deconz.internal.types.ResourceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Decodes the messages received by the {@link WebSocketConnection} and passes them to the registered listeners.
+ *
+ * A message is parsed only once into a JSON tree. The resource type and id are read from the tree and the tree is
+ * only bound to the expected message type if a listener is registered for the resource. The messages are passed to the
+ * listeners by the executor. Each listener receives its messages one at a time and in the order they have been
+ * received, a slow listener neither blocks the websocket nor the other listeners.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WebSocketMessageDispatcher {
+    private final Logger logger = LoggerFactory.getLogger(WebSocketMessageDispatcher.class);
+
+    private final Gson gson;
+    private final Executor executor;
+    private final Map<String, ListenerQueue> listeners = new ConcurrentHashMap<>();
+
+    public WebSocketMessageDispatcher(Gson gson, Executor executor) {
+        this.gson = gson;
+        this.executor = executor;
+    }
+
+    public void registerListener(ResourceType resourceType, String id, WebSocketMessageListener listener) {
+        ListenerQueue previous = listeners.put(getListenerId(resourceType, id), new ListenerQueue(listener));
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    public void unregisterListener(ResourceType resourceType, String id) {
+        ListenerQueue previous = listeners.remove(getListenerId(resourceType, id));
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    /**
+     * Decodes the message and queues it for the listener of the resource.
+     *
+     * @param message the raw message
+     * @throws com.google.gson.JsonParseException if the message is not valid JSON
+     */
+    public void dispatch(String message) {
+        JsonObject json = gson.fromJson(message, JsonObject.class);
+        if (json == null) {
+            return;
+        }
+
+        ResourceType resourceType = ResourceType.fromString(getString(json, "r"));
+        if (resourceType == ResourceType.UNKNOWN) {
+            logger.trace("Received message has unknown resource type. Skipping message.");
+            return;
+        }
+
+        String id = getString(json, "id");
+        ListenerQueue listener = listeners.get(getListenerId(resourceType, id));
+        if (listener == null) {
+            logger.debug(
+                    "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
+                    id, resourceType);
+            return;
+        }
+
+        Class<? extends DeconzBaseMessage> expectedMessageType = resourceType.getExpectedMessageType();
+        if (expectedMessageType == null) {
+            logger.warn("BUG! Could not get expected message type for resource type {}. Please report this incident.",
+                    resourceType);
+            return;
+        }
+
+        DeconzBaseMessage deconzMessage = gson.fromJson(json, expectedMessageType);
+        if (deconzMessage != null) {
+            listener.add(id, deconzMessage);
+        }
+    }
+
+    private static String getString(JsonObject json, String member) {
+        JsonElement element = json.get(member);
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : "";
+    }
+
+    /**
+     * create a unique identifier for a listener
+     *
+     * @param resourceType the listener resource-type (LIGHT, SENSOR, ...)
+     * @param id the listener id (same as deconz-id)
+     * @return a unique string for this listener
+     */
+    private String getListenerId(ResourceType resourceType, String id) {
+        return resourceType.name() + "$" + id;
+    }
+
+    /**
+     * Queue of the messages of one listener, at most one task per listener is executed at any time.
+     */
+    private class ListenerQueue implements Runnable {
+        private final WebSocketMessageListener listener;
+        private final Queue<Message> messages = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean stopped;
+
+        ListenerQueue(WebSocketMessageListener listener) {
+            this.listener = listener;
+        }
+
+        void add(String id, DeconzBaseMessage message) {
+            messages.add(new Message(id, message));
+            schedule();
+        }
+
+        void stop() {
+            stopped = true;
+            messages.clear();
+        }
+
+        private void schedule() {
+            if (!stopped && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            @Nullable
+            Message message;
+            while (!stopped && (message = messages.poll()) != null) {
+                try {
+                    listener.messageReceived(message.id, message.message);
+                } catch (RuntimeException e) {
+                    // an exception of one listener must neither affect the other messages nor the other listeners
+                    logger.warn("Listener for id {} encountered an error while processing the message: {}",
+                            message.id, e.getMessage());
+                }
+            }
+            scheduled.set(false);
+            // a message may have been added after the queue has been polled the last time
+            if (!messages.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private static class Message {
+        private final String id;
+        private final DeconzBaseMessage message;
+
+        Message(String id, DeconzBaseMessage message) {
+            this.id = id;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
+import org.openhab.binding.deconz.internal.dto.GroupMessage;
+import org.openhab.binding.deconz.internal.dto.GroupState;
+import org.openhab.binding.deconz.internal.dto.LightMessage;
+import org.openhab.binding.deconz.internal.dto.LightState;
+import org.openhab.binding.deconz.internal.dto.SensorMessage;
+import org.openhab.binding.deconz.internal.dto.SensorState;
+import org.openhab.binding.deconz.internal.netutils.WebSocketMessageDispatcher;
+import org.openhab.binding.deconz.internal.types.*;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * This class provides tests for the dispatching of websocket messages
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WebSocketMessageDispatcherTest {
+    private @NonNullByDefault({}) Gson gson;
+    private @NonNullByDefault({}) ExecutorService executor;
+    private @NonNullByDefault({}) WebSocketMessageDispatcher dispatcher;
+
+    @BeforeEach
+    public void initialize() {
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        gsonBuilder.registerTypeAdapter(LightType.class, new LightTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(GroupType.class, new GroupTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(ResourceType.class, new ResourceTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(ThermostatMode.class, new ThermostatModeGsonTypeAdapter());
+        gson = gsonBuilder.create();
+        executor = Executors.newFixedThreadPool(4);
+        dispatcher = new WebSocketMessageDispatcher(gson, executor);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static List<String> getRecordedEvents() throws IOException {
+        try (InputStream inputStream = WebSocketMessageDispatcherTest.class
+                .getResourceAsStream("websocket_events.txt")) {
+            if (inputStream == null) {
+                throw new IOException("inputstream is null");
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void messagesAreDecodedToExpectedType() throws Exception {
+        List<DeconzBaseMessage> messages = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(4);
+        dispatcher.registerListener(ResourceType.SENSORS, "7", (id, message) -> {
+            messages.add(message);
+            latch.countDown();
+        });
+        dispatcher.registerListener(ResourceType.LIGHTS, "3", (id, message) -> {
+            messages.add(message);
+            latch.countDown();
+        });
+        dispatcher.registerListener(ResourceType.GROUPS, "1", (id, message) -> {
+            messages.add(message);
+            latch.countDown();
+        });
+
+        for (String event : getRecordedEvents()) {
+            dispatcher.dispatch(event);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        assertEquals(4, messages.size());
+        SensorState sensorState = messages.stream().filter(m -> m instanceof SensorMessage)
+                .map(m -> ((SensorMessage) m).state).filter(Objects::nonNull).findFirst().orElse(null);
+        assertNotNull(sensorState);
+        assertEquals(Float.valueOf(2162), sensorState.temperature);
+        LightMessage lightMessage = (LightMessage) messages.stream().filter(m -> m instanceof LightMessage)
+                .findFirst().orElse(null);
+        assertNotNull(lightMessage);
+        assertEquals("3", lightMessage.id);
+        assertEquals(ResourceType.LIGHTS, lightMessage.r);
+        LightState lightState = lightMessage.state;
+        assertNotNull(lightState);
+        assertEquals(Integer.valueOf(254), lightState.bri);
+        GroupMessage groupMessage = (GroupMessage) messages.stream().filter(m -> m instanceof GroupMessage)
+                .findFirst().orElse(null);
+        assertNotNull(groupMessage);
+        GroupState groupState = groupMessage.state;
+        assertNotNull(groupState);
+        assertTrue(groupState.any_on);
+    }
+
+    @Test
+    public void messagesOfListenerAreReceivedInOrder() throws Exception {
+        int repetitions = 1000;
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(2 * repetitions);
+        dispatcher.registerListener(ResourceType.SENSORS, "7", (id, message) -> {
+            SensorMessage sensorMessage = (SensorMessage) message;
+            received.add(sensorMessage.state != null ? "state" : "config");
+            latch.countDown();
+        });
+
+        List<String> events = getRecordedEvents();
+        for (int i = 0; i < repetitions; i++) {
+            for (String event : events) {
+                dispatcher.dispatch(event);
+            }
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < received.size(); i += 2) {
+            assertEquals("config", received.get(i));
+            assertEquals("state", received.get(i + 1));
+        }
+    }
+
+    @Test
+    public void slowListenerDoesNotBlockOtherListeners() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(1);
+        dispatcher.registerListener(ResourceType.SENSORS, "5", (id, message) -> {
+            try {
+                blocked.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        dispatcher.registerListener(ResourceType.LIGHTS, "42", (id, message) -> received.countDown());
+
+        for (String event : getRecordedEvents()) {
+            dispatcher.dispatch(event);
+        }
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        blocked.countDown();
+    }
+
+    @Test
+    public void unregisteredListenerDoesNotReceiveMessages() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        dispatcher.registerListener(ResourceType.LIGHTS, "3", (id, message) -> count.incrementAndGet());
+        dispatcher.unregisterListener(ResourceType.LIGHTS, "3");
+
+        for (String event : getRecordedEvents()) {
+            dispatcher.dispatch(event);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, count.get());
+    }
+}
@@ -92,19 +92,29 @@ public class CosemObjectFactory {
      */
     public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
         OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
 
         try {
             obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
         } catch (final ParseException pe) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
             return null;
         }
+        return getCosemObject(obisId, cosemStringValues);
+    }
+
+    /**
+     * Return Cosem Object for the specified OBIS identifier or null if the values couldn't be
+     * parsed correctly or no corresponding Cosem Object was found
+     *
+     * @param obisId the received OBIS message identifier
+     * @param cosemStringValues String containing Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public @Nullable CosemObject getCosemObject(OBISIdentifier obisId, String cosemStringValues) {
+        OBISIdentifier reducedObisId = obisId.getReducedOBISIdentifier();
+        OBISIdentifier reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
 
-        logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
+        logger.trace("Received obisId: {}, values: {}", obisId, cosemStringValues);
 
         CosemObjectType objectType = obisLookupTableFixed.get(reducedObisId);
         if (objectType != null) {
@@ -48,6 +48,11 @@ public class OBISIdentifier {
 
     private boolean conflict;
 
+    /* lazily computed values, an identifier of a received telegram line is looked up over and over */
+    private int hash;
+    private @Nullable OBISIdentifier reducedOBISIdentifier;
+    private @Nullable OBISIdentifier reducedOBISIdentifierGroupE;
+
     /**
      * Constructs a new OBIS Identifier (A-B:C.D.E.F)
      *
@@ -243,8 +248,11 @@ public class OBISIdentifier {
 
     @Override
     public int hashCode() {
-        return Objects.hash(groupA, (groupB != null ? groupB : 0), groupC, groupD, (groupE != null ? groupE : 0),
-                (groupF != null ? groupF : 0));
+        if (hash == 0) {
+            hash = Objects.hash(groupA, (groupB != null ? groupB : 0), groupC, groupD,
+                    (groupE != null ? groupE : 0), (groupF != null ? groupF : 0));
+        }
+        return hash;
     }
 
     /**
@@ -254,7 +262,12 @@ public class OBISIdentifier {
      * @return reduced OBIS Identifier
      */
     public OBISIdentifier getReducedOBISIdentifier() {
-        return new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, null);
+        OBISIdentifier reduced = reducedOBISIdentifier;
+        if (reduced == null) {
+            reduced = new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, null);
+            reducedOBISIdentifier = reduced;
+        }
+        return reduced;
     }
 
     /**
@@ -264,7 +277,12 @@ public class OBISIdentifier {
      * @return reduced OBIS Identifier
      */
     public OBISIdentifier getReducedOBISIdentifierGroupE() {
-        return new OBISIdentifier(groupA, groupB, groupC, groupD, null, null);
+        OBISIdentifier reduced = reducedOBISIdentifierGroupE;
+        if (reduced == null) {
+            reduced = new OBISIdentifier(groupA, groupB, groupC, groupD, null, null);
+            reducedOBISIdentifierGroupE = reduced;
+        }
+        return reduced;
     }
 
     /**
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import java.text.ParseException;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Trie of the OBIS identifiers as they are received, character by character.
+ *
+ * A meter sends the same set of OBIS identifiers in every telegram. The parser walks this trie while it reads the
+ * characters of an identifier, so the identifier is only parsed the first time it is received. Subsequent telegrams
+ * resolve it without creating strings or running the OBIS identifier pattern.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class OBISIdentifierTrie {
+
+    /**
+     * Upper limit of nodes, to protect against garbage data filling the trie
+     */
+    private static final int MAX_NODES = 2048;
+
+    private static final byte[] NO_KEYS = new byte[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    /**
+     * Node in the trie, representing the characters of an identifier received so far
+     */
+    public static class Node {
+        private byte[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private boolean resolved;
+        private @Nullable OBISIdentifier obisIdentifier;
+
+        private @Nullable Node child(byte key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(byte key) {
+            Node child = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = key;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(OBISIdentifierTrie.class);
+
+    private final Node root = new Node();
+    private int nodeCount = 1;
+
+    /**
+     * @return the node representing an empty identifier
+     */
+    public Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the node after the next character of an identifier.
+     *
+     * @param node current node, or null if the identifier is not tracked in the trie
+     * @param c next character of the identifier
+     * @return the next node, or null if the identifier is not tracked in the trie
+     */
+    public @Nullable Node next(@Nullable Node node, byte c) {
+        if (node == null) {
+            return null;
+        }
+        Node child = node.child(c);
+        if (child == null && nodeCount < MAX_NODES) {
+            child = node.addChild(c);
+            nodeCount++;
+        }
+        return child;
+    }
+
+    /**
+     * Returns the OBIS identifier of a completely received identifier.
+     *
+     * @param node node reached after the last character, or null if the identifier is not tracked in the trie
+     * @param obisIdString the received characters of the identifier
+     * @return the OBIS identifier or null if the received characters are not a valid OBIS identifier
+     */
+    public @Nullable OBISIdentifier resolve(@Nullable Node node, CharSequence obisIdString) {
+        if (node != null && node.resolved) {
+            return node.obisIdentifier;
+        }
+        OBISIdentifier obisIdentifier;
+        try {
+            obisIdentifier = new OBISIdentifier(obisIdString.toString());
+        } catch (ParseException pe) {
+            logger.debug("Received invalid OBIS identifier: {}", obisIdString);
+            obisIdentifier = null;
+        }
+        if (node != null) {
+            node.obisIdentifier = obisIdentifier;
+            node.resolved = true;
+        }
+        return obisIdentifier;
+    }
+}
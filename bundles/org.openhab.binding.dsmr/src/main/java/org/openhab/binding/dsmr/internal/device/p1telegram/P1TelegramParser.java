@@ -18,11 +18,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectFactory;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifierTrie;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,9 +62,9 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal digits of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_DIGITS = 4;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -73,6 +75,12 @@ public class P1TelegramParser implements TelegramParser {
      */
     private final StringBuilder obisId = new StringBuilder();
 
+    /**
+     * Trie of the OBIS identifiers received, and the node matching the current obisId buffer.
+     */
+    private final OBISIdentifierTrie obisIdTrie = new OBISIdentifierTrie();
+    private OBISIdentifierTrie.@Nullable Node obisIdNode;
+
     /**
      * Current cosem object values buffer.
      */
@@ -84,9 +92,11 @@ public class P1TelegramParser implements TelegramParser {
     private final StringBuilder rawData = new StringBuilder();
 
     /**
-     * Current crc value read.
+     * Current crc value read, the number of characters read for it and if all those characters were valid.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+    private int crcCharacters;
+    private boolean crcValid = true;
 
     /**
      * CRC calculation helper
@@ -137,6 +147,7 @@ public class P1TelegramParser implements TelegramParser {
         this.telegramListener = telegramListener;
 
         factory = new CosemObjectFactory();
+        obisIdNode = obisIdTrie.getRoot();
         state = State.WAIT_FOR_START;
         crc = new CRC16(CRC16.Polynom.CRC16_IBM);
         telegramState = TelegramState.OK;
@@ -242,18 +253,20 @@ public class P1TelegramParser implements TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                    String.format("%04X", crcValue));
+                        }
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcCharacters > 0) {
+                            if (crcValid && crcCharacters == CRC_DIGITS) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -325,6 +338,7 @@ public class P1TelegramParser implements TelegramParser {
                 break;
             case DATA_OBIS_ID:
                 obisId.append(c);
+                obisIdNode = obisIdTrie.next(obisIdNode, (byte) c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
@@ -339,7 +353,7 @@ public class P1TelegramParser implements TelegramParser {
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    appendCRCCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -354,8 +368,11 @@ public class P1TelegramParser implements TelegramParser {
     private void clearInternalData() {
         obisId.setLength(0);
         obisValue.setLength(0);
+        obisIdNode = obisIdTrie.getRoot();
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcCharacters = 0;
+        crcValid = true;
         crc.initialize();
         cosemObjects.clear();
         unknownCosemObjects.clear();
@@ -368,22 +385,39 @@ public class P1TelegramParser implements TelegramParser {
      */
     private void clearObisData() {
         obisId.setLength(0);
+        obisIdNode = obisIdTrie.getRoot();
         obisValue.setLength(0);
     }
 
+    /**
+     * Adds a character of the CRC-code. Only upper case hexadecimal digits are valid.
+     *
+     * @param c the character of the CRC-code
+     */
+    private void appendCRCCharacter(char c) {
+        int digit = Character.isUpperCase(c) || Character.isDigit(c) ? Character.digit(c, 16) : -1;
+
+        if (digit < 0) {
+            crcValid = false;
+        } else {
+            crcValue = (crcValue << 4) | digit;
+        }
+        crcCharacters++;
+    }
+
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
+        if (obisId.length() > 0) {
             final String obisValueString = obisValue.toString();
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, obisValueString);
+            final OBISIdentifier obisIdentifier = obisIdTrie.resolve(obisIdNode, obisId);
+            CosemObject cosemObject = obisIdentifier == null ? null
+                    : factory.getCosemObject(obisIdentifier, obisValueString);
 
             if (cosemObject == null) {
                 if (lenientMode) {
-                    unknownCosemObjects.add(new SimpleEntry<>(obisIdString, obisValueString));
+                    unknownCosemObjects.add(new SimpleEntry<>(obisId.toString(), obisValueString));
                 }
             } else {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -14,6 +14,7 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -60,4 +61,28 @@ public class P1TelegramParserTest {
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
                 "Expected number of objects");
     }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    public void testRepeatedParsing(final String telegramName, final int numberOfCosemObjects,
+            final int unknownObjects) {
+        final List<P1Telegram> telegrams = new ArrayList<>();
+        final P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+        final byte[] telegram = TelegramReaderUtil.readRawTelegram(telegramName);
+
+        parser.setLenientMode(true);
+        // Parse the same telegram a number of times, the second time OBIS identifiers are resolved from the trie
+        for (int i = 0; i < 3; i++) {
+            parser.parse(telegram, telegram.length);
+        }
+        assertEquals(3, telegrams.size(), "Expected number of telegrams");
+        for (P1Telegram p1Telegram : telegrams) {
+            assertEquals(TelegramState.OK, p1Telegram.getTelegramState(), "Expected TelegramState should be OK");
+            assertEquals(unknownObjects, p1Telegram.getUnknownCosemObjects().size(),
+                    "Should not have other than " + unknownObjects + " unknown cosem objects");
+            assertEquals(numberOfCosemObjects,
+                    p1Telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
+                    "Expected number of objects");
+        }
+    }
 }
@@ -15,6 +15,7 @@ package org.openhab.binding.homematic.internal.communicator;
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -25,6 +26,15 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +46,7 @@ import org.openhab.binding.homematic.internal.communicator.client.RpcClient;
 import org.openhab.binding.homematic.internal.communicator.client.TransferMode;
 import org.openhab.binding.homematic.internal.communicator.client.UnknownParameterSetException;
 import org.openhab.binding.homematic.internal.communicator.client.XmlRpcClient;
+import org.openhab.binding.homematic.internal.communicator.parser.GetParamsetDescriptionParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.server.BinRpcServer;
 import org.openhab.binding.homematic.internal.communicator.server.RpcEventListener;
@@ -75,6 +86,8 @@ import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -89,6 +102,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final int METADATA_WORKERS_PER_INTERFACE = 4;
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<>();
@@ -105,11 +119,12 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private final Map<String, HmDevice> devices = Collections.synchronizedMap(new HashMap<>());
     private final Map<HmInterface, TransferMode> availableInterfaces = new TreeMap<>();
     private static List<VirtualDatapointHandler> virtualDatapointHandlers = new ArrayList<>();
-    private boolean cancelLoadAllMetadata;
+    private volatile boolean cancelLoadAllMetadata;
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final ParamsetDescriptionCache paramsetDescriptionCache;
 
     static {
         // loads all virtual datapoints
@@ -138,6 +153,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.paramsetDescriptionCache = new ParamsetDescriptionCache(Paths.get(OpenHAB.getUserDataFolder(),
+                "homematic", "paramsets-" + id.replaceAll("[^\\w-]", "_") + ".cache"));
     }
 
     @Override
@@ -367,70 +384,145 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     @Override
     public void loadAllDeviceMetadata() throws IOException {
         cancelLoadAllMetadata = false;
+        paramsetDescriptionCache.load();
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
 
-        // loading datapoints for all channels
+        // loading datapoints for all channels, the devices of each interface are loaded by a bounded number of workers
         Set<String> loadedDevices = new HashSet<>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
+        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new ConcurrentHashMap<>();
+        Map<HmInterface, List<HmDevice>> devicesByInterface = new TreeMap<>();
+        List<HmDevice> gatewayExtrasDevices = new ArrayList<>();
         for (HmDevice device : deviceDescriptions) {
-            if (!cancelLoadAllMetadata) {
-                try {
-                    logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(),
-                            device.getType());
-                    if (device.isGatewayExtras()) {
+            if (device.isGatewayExtras()) {
+                gatewayExtrasDevices.add(device);
+            } else {
+                devicesByInterface.computeIfAbsent(device.getHmInterface(), i -> new ArrayList<>()).add(device);
+            }
+        }
+
+        BlockingQueue<Future<HmDevice>> completedDevices = new LinkedBlockingQueue<>();
+        List<ExecutorService> executors = new ArrayList<>();
+        int pendingDevices = 0;
+        int failedDevices = 0;
+        try {
+            for (Entry<HmInterface, List<HmDevice>> entry : devicesByInterface.entrySet()) {
+                ExecutorService executor = Executors.newFixedThreadPool(
+                        Math.min(METADATA_WORKERS_PER_INTERFACE, entry.getValue().size()),
+                        new NamedThreadFactory("homematic-metadata-" + entry.getKey() + "-" + id, true));
+                executors.add(executor);
+                CompletionService<HmDevice> completionService = new ExecutorCompletionService<>(executor,
+                        completedDevices);
+                for (HmDevice device : entry.getValue()) {
+                    completionService.submit(() -> loadDeviceMetadata(device, datapointsByChannelIdCache));
+                    pendingDevices++;
+                }
+            }
+
+            for (HmDevice device : gatewayExtrasDevices) {
+                if (!cancelLoadAllMetadata) {
+                    try {
                         loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
                         loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
+                        onDeviceMetadataLoaded(device, loadedDevices);
+                    } catch (IOException ex) {
+                        failedDevices++;
+                        logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(),
+                                id, ex.getMessage());
+                    }
+                }
+            }
+
+            // the loaded devices are prepared and published one after another
+            for (; pendingDevices > 0 && !cancelLoadAllMetadata; pendingDevices--) {
+                try {
+                    HmDevice device = completedDevices.take().get();
+                    if (device != null) {
+                        onDeviceMetadataLoaded(device, loadedDevices);
                     } else {
-                        for (HmChannel channel : device.getChannels()) {
-                            logger.trace("  Loading channel {}", channel);
-                            // speed up metadata generation a little bit for equal channels in the gateway devices
-                            if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
-                                    || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
-                                HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
-                                cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
-                            } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
-                                if (cachedDatapoints != null) {
-                                    // clone all datapoints
-                                    cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
-                                } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
-
-                                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
-                                    // the data point set might change depending on the selected mode.
-                                    if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
-                                    }
-                                }
-                            }
-                        }
+                        failedDevices++;
                     }
-                    prepareDevice(device);
-                    loadedDevices.add(device.getAddress());
-                    gatewayAdapter.onDeviceLoaded(device);
-                } catch (IOException ex) {
-                    logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
-                            ex.getMessage());
+                } catch (ExecutionException ex) {
+                    failedDevices++;
+                    logger.warn("Can't load device from gateway '{}': {}", id, ex.getCause().getMessage(),
+                            ex.getCause());
                 }
             }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancelLoadAllMetadata = true;
+        } finally {
+            executors.forEach(ExecutorService::shutdownNow);
         }
+
+        // outdated descriptions are only removed if all devices have been loaded
+        paramsetDescriptionCache.save(!cancelLoadAllMetadata && failedDevices == 0);
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
         }
         initialized = true;
     }
 
+    /**
+     * Loads the datapoint metadata of all channels of the given device, returns null if the device could not be loaded.
+     */
+    private HmDevice loadDeviceMetadata(HmDevice device,
+            Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache) {
+        if (cancelLoadAllMetadata) {
+            return null;
+        }
+        try {
+            logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(), device.getType());
+            for (HmChannel channel : device.getChannels()) {
+                logger.trace("  Loading channel {}", channel);
+                // speed up metadata generation a little bit for equal channels in the gateway devices
+                if ((DEVICE_TYPE_VIRTUAL.equals(device.getType()) || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType()))
+                        && channel.getNumber() > 1) {
+                    HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
+                    cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
+                } else {
+                    String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
+                            channel.getDevice().getFirmware(), channel.getNumber());
+                    Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
+                    if (cachedDatapoints != null) {
+                        // clone all datapoints
+                        cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
+                    } else {
+                        logger.trace("    Loading datapoints into channel {}", channel);
+                        addChannelDatapoints(channel, HmParamsetType.MASTER);
+                        addChannelDatapoints(channel, HmParamsetType.VALUES);
+
+                        // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
+                        // the data point set might change depending on the selected mode.
+                        if (!channel.isReconfigurable()) {
+                            datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
+                        }
+                    }
+                }
+            }
+            return device;
+        } catch (IOException ex) {
+            logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
+                    ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Prepares a device whose metadata has been loaded and publishes it.
+     */
+    private void onDeviceMetadataLoaded(HmDevice device, Set<String> loadedDevices) {
+        prepareDevice(device);
+        loadedDevices.add(device.getAddress());
+        gatewayAdapter.onDeviceLoaded(device);
+    }
+
     /**
      * Loads all datapoints from the gateway.
      */
     protected void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
         try {
-            getRpcClient(channel.getDevice().getHmInterface()).addChannelDatapoints(channel, paramsetType);
+            addCachedChannelDatapoints(channel, paramsetType);
         } catch (UnknownParameterSetException ex) {
             logger.info(
                     "Can not load metadata for device: {}, channel: {}, paramset: {}, maybe there are no channels available",
@@ -438,6 +530,26 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
     }
 
+    /**
+     * Adds the datapoints of the paramset to the given channel. The paramset description is taken from the cache if
+     * available, otherwise it is loaded from the gateway and added to the cache.
+     */
+    protected void addCachedChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
+        String key = ParamsetDescriptionCache.getKey(channel, paramsetType);
+        Object[] description = key == null ? null : paramsetDescriptionCache.get(key);
+        if (description == null) {
+            description = getRpcClient(channel.getDevice().getHmInterface()).getParamsetDescription(channel,
+                    paramsetType);
+            if (description == null) {
+                return;
+            }
+            if (key != null) {
+                paramsetDescriptionCache.put(key, description);
+            }
+        }
+        new GetParamsetDescriptionParser(channel, paramsetType).parse(description);
+    }
+
     /**
      * Loads all device descriptions from the gateway.
      */
@@ -765,6 +877,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                             gatewayAdapter.onNewDevice(device);
                         }
                     }
+                    paramsetDescriptionCache.save(false);
                 } catch (Exception ex) {
                     logger.error("{}", ex.getMessage(), ex);
                 }
@@ -135,7 +135,7 @@ public class CcuGateway extends AbstractHomematicGateway {
     @Override
     protected void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
         try {
-            getRpcClient(channel.getDevice().getHmInterface()).addChannelDatapoints(channel, paramsetType);
+            addCachedChannelDatapoints(channel, paramsetType);
         } catch (UnknownParameterSetException ex) {
             logger.debug(
                     "RpcMessage RPC failure (-3 Unknown paramset), fetching metadata with TclRega script for device: {}, channel: {}, paramset: {}",
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the paramset descriptions of the gateway on disk. The descriptions only depend on the interface, the device
+ * type, the firmware and the channel, so they are stored with this key and reused on the next start, instead of
+ * requesting them for every channel of every device again. A device whose firmware has changed gets a new key and is
+ * loaded from the gateway, entries which are no longer used are removed after a complete run.
+ *
+ * @author agent - Initial contribution
+ */
+public class ParamsetDescriptionCache {
+    private final Logger logger = LoggerFactory.getLogger(ParamsetDescriptionCache.class);
+    private static final int VERSION = 1;
+    private static final Set<Class<?>> ALLOWED_CLASSES = Set.of(Number.class, Integer.class, Long.class,
+            Double.class, Boolean.class, String.class, Date.class, HashMap.class, TreeMap.class, Map.Entry[].class,
+            Object[].class, byte[].class);
+
+    private final Path file;
+    private final Map<String, Object[]> descriptions = new ConcurrentHashMap<>();
+    private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+    private volatile boolean modified;
+
+    public ParamsetDescriptionCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cache key of the paramset description of the given channel or null, if the description must not be
+     * cached. Descriptions of devices without firmware and the values of reconfigurable channels are always loaded
+     * from the gateway, because they may change without a firmware update.
+     */
+    public static String getKey(HmChannel channel, HmParamsetType paramsetType) {
+        String firmware = channel.getDevice().getFirmware();
+        if (firmware == null || firmware.isEmpty()
+                || (paramsetType == HmParamsetType.VALUES && channel.isReconfigurable())) {
+            return null;
+        }
+        return String.format("%s:%s:%s:%s:%s", channel.getDevice().getHmInterface(), channel.getDevice().getType(),
+                firmware, channel.getNumber(), paramsetType);
+    }
+
+    /**
+     * Returns the cached paramset description or null, if the description is not cached.
+     */
+    public Object[] get(String key) {
+        usedKeys.add(key);
+        return descriptions.get(key);
+    }
+
+    /**
+     * Adds the paramset description to the cache.
+     */
+    public void put(String key, Object[] description) {
+        usedKeys.add(key);
+        descriptions.put(key, description);
+        modified = true;
+    }
+
+    /**
+     * Returns the number of cached paramset descriptions.
+     */
+    public int size() {
+        return descriptions.size();
+    }
+
+    /**
+     * Starts a new run over all devices and loads the cache file, if not already loaded.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void load() {
+        usedKeys.clear();
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (InputStream is = Files.newInputStream(file); ObjectInputStream ois = new ObjectInputStream(is)) {
+            ois.setObjectInputFilter(ParamsetDescriptionCache::filter);
+            if (ois.readInt() != VERSION) {
+                logger.debug("Ignoring paramset description cache '{}' with unknown version", file);
+                return;
+            }
+            descriptions.putAll((Map<String, Object[]>) ois.readObject());
+            logger.debug("Loaded {} paramset descriptions from cache '{}'", descriptions.size(), file);
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            logger.debug("Can't load paramset description cache '{}': {}", file, ex.getMessage());
+            descriptions.clear();
+        }
+    }
+
+    /**
+     * Writes the cache file if it has been modified. If prune is true, all descriptions which have not been used since
+     * the start of the run are removed, e.g. the descriptions of the previous firmware of an updated device.
+     */
+    public synchronized void save(boolean prune) {
+        if (prune && descriptions.keySet().retainAll(usedKeys)) {
+            modified = true;
+        }
+        if (!modified) {
+            return;
+        }
+        modified = false;
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream os = Files.newOutputStream(tmpFile);
+                    ObjectOutputStream oos = new ObjectOutputStream(os)) {
+                oos.writeInt(VERSION);
+                oos.writeObject(new HashMap<>(descriptions));
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Saved {} paramset descriptions to cache '{}'", descriptions.size(), file);
+        } catch (IOException ex) {
+            logger.debug("Can't save paramset description cache '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Only allows the classes of parsed RPC messages to be deserialized.
+     */
+    private static ObjectInputFilter.Status filter(ObjectInputFilter.FilterInfo info) {
+        Class<?> clazz = info.serialClass();
+        if (clazz == null || ALLOWED_CLASSES.contains(clazz)) {
+            return ObjectInputFilter.Status.ALLOWED;
+        }
+        return ObjectInputFilter.Status.REJECTED;
+    }
+}
@@ -14,6 +14,8 @@ package org.openhab.binding.homematic.internal.communicator.client;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -43,6 +45,7 @@ import org.xml.sax.SAXException;
 public class XmlRpcClient extends RpcClient<String> {
     private final Logger logger = LoggerFactory.getLogger(XmlRpcClient.class);
     private HttpClient httpClient;
+    private final Map<Integer, Object> portLocks = new ConcurrentHashMap<>();
 
     public XmlRpcClient(HomematicConfig config, HttpClient httpClient) throws IOException {
         super(config);
@@ -67,33 +70,37 @@ public class XmlRpcClient extends RpcClient<String> {
     }
 
     @Override
-    protected synchronized Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
-        if (logger.isTraceEnabled()) {
-            logger.trace("Client XmlRpcRequest (port {}):\n{}", port, request);
-        }
-        IOException reason = new IOException();
-        for (int rpcRetryCounter = 1; rpcRetryCounter <= MAX_RPC_RETRY; rpcRetryCounter++) {
-            try {
-                byte[] response = send(port, request);
-                if (response.length == 0 && "setInstallMode".equals(request.getMethodName())) {
-                    return new Object[] {};
-                }
-                Object[] data = new XmlRpcResponse(new ByteArrayInputStream(response), config.getEncoding())
-                        .getResponseData();
-                return new RpcResponseParser(request).parse(data);
-            } catch (UnknownRpcFailureException | UnknownParameterSetException ex) {
-                throw ex;
-            } catch (SAXException | ParserConfigurationException ex) {
-                throw new IOException(ex);
-            } catch (IOException ex) {
-                reason = ex;
-                if ("init".equals(request.getMethodName())) { // no retries for "init" request
-                    break;
+    protected Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
+        // requests to the same interface are sent one after another, different interfaces are served in parallel
+        synchronized (portLocks.computeIfAbsent(port, p -> new Object())) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Client XmlRpcRequest (port {}):\n{}", port, request);
+            }
+            IOException reason = new IOException();
+            for (int rpcRetryCounter = 1; rpcRetryCounter <= MAX_RPC_RETRY; rpcRetryCounter++) {
+                try {
+                    byte[] response = send(port, request);
+                    if (response.length == 0 && "setInstallMode".equals(request.getMethodName())) {
+                        return new Object[] {};
+                    }
+                    Object[] data = new XmlRpcResponse(new ByteArrayInputStream(response), config.getEncoding())
+                            .getResponseData();
+                    return new RpcResponseParser(request).parse(data);
+                } catch (UnknownRpcFailureException | UnknownParameterSetException ex) {
+                    throw ex;
+                } catch (SAXException | ParserConfigurationException ex) {
+                    throw new IOException(ex);
+                } catch (IOException ex) {
+                    reason = ex;
+                    if ("init".equals(request.getMethodName())) { // no retries for "init" request
+                        break;
+                    }
+                    logger.debug("XmlRpcMessage failed, sending message again {}/{}", rpcRetryCounter,
+                            MAX_RPC_RETRY);
                 }
-                logger.debug("XmlRpcMessage failed, sending message again {}/{}", rpcRetryCounter, MAX_RPC_RETRY);
             }
+            throw reason;
         }
-        throw reason;
     }
 
     private byte[] send(int port, RpcRequest<String> request) throws IOException {
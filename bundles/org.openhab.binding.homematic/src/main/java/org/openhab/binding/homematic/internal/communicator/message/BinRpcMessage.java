@@ -19,6 +19,10 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -45,9 +49,16 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         RESPONSE
     }
 
+    /**
+     * Length of the header with the signature and the payload length
+     */
+    public static final int HEADER_LENGTH = 8;
+
     private Object[] messageData;
     private byte binRpcData[];
     private int offset;
+    private boolean decoded;
+    private Charset charset;
 
     private String methodName;
     private TYPE type;
@@ -73,77 +84,129 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
         this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
+        byte sig[] = new byte[HEADER_LENGTH];
+        int length = readFully(is, sig, 0, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading signature");
         }
         validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
+        length = readFully(is, sig, 4, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(Arrays.copyOfRange(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
-        int currentLength;
-
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
-            offset += currentLength;
-        }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
+        int datasize = getMessageLength(ByteBuffer.wrap(sig), 0);
+        byte[] message = new byte[HEADER_LENGTH + datasize];
+        System.arraycopy(sig, 0, message, 0, HEADER_LENGTH);
+        int received = readFully(is, message, HEADER_LENGTH, datasize);
+        if (received != datasize) {
+            throw new EOFException("Only " + received + " bytes received while reading message payload, expected "
                     + datasize + " bytes");
         }
-        byte[] message = new byte[sig.length + payload.length];
-        System.arraycopy(sig, 0, message, 0, sig.length);
-        System.arraycopy(payload, 0, message, sig.length, payload.length);
 
-        decodeMessage(message, methodHeader);
+        binRpcData = message;
+        decodeMessage(ByteBuffer.wrap(message), methodHeader);
     }
 
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
+    /**
+     * Reads from the InputStream until the requested number of bytes or the end of the stream has been reached.
+     */
+    private static int readFully(InputStream is, byte[] buffer, int offset, int length) throws IOException {
+        int read = 0;
+        int currentLength;
+        while (read < length && (currentLength = is.read(buffer, offset + read, length - read)) != -1) {
+            read += currentLength;
+        }
+        return read;
+    }
+
+    private static void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
         if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
             throw new UnsupportedEncodingException("No BinX signature");
         }
     }
 
+    /**
+     * Returns the payload length of the BIN-RPC message starting at the given index of the buffer. The buffer must
+     * contain at least the {@link #HEADER_LENGTH} bytes of the header.
+     */
+    public static int getMessageLength(ByteBuffer buffer, int index) throws IOException {
+        if (buffer.get(index) != 'B' || buffer.get(index + 1) != 'i' || buffer.get(index + 2) != 'n') {
+            throw new UnsupportedEncodingException("No BinX signature");
+        }
+        int datasize = buffer.getInt(index + 4);
+        if (datasize < 0) {
+            throw new IOException("Invalid BIN-RPC message length " + datasize);
+        }
+        return datasize;
+    }
+
     /**
      * Decodes a BIN-RPC message from the given byte array.
      */
     public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
         this.encoding = encoding;
-        if (message.length < 8) {
+        if (message.length < HEADER_LENGTH) {
             throw new EOFException("Only " + message.length + " bytes received");
         }
         validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+        binRpcData = message;
+        decodeMessage(ByteBuffer.wrap(message), methodHeader);
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
-        binRpcData = message;
+    /**
+     * Decodes the BIN-RPC message at the position of the given buffer, without copying it. The position of the buffer
+     * is moved behind the message.
+     */
+    public BinRpcMessage(ByteBuffer message, boolean methodHeader, String encoding) throws IOException {
+        this.encoding = encoding;
+        if (message.remaining() < HEADER_LENGTH) {
+            throw new EOFException("Only " + message.remaining() + " bytes received");
+        }
+        int length = HEADER_LENGTH + getMessageLength(message, message.position());
+        if (message.remaining() < length) {
+            throw new EOFException("Only " + message.remaining() + " bytes received while reading message, expected "
+                    + length + " bytes");
+        }
+        ByteBuffer data = message.duplicate();
+        data.limit(data.position() + length);
+        decodeMessage(data, methodHeader);
+        message.position(message.position() + length);
+    }
 
-        offset = 8;
+    private void decodeMessage(ByteBuffer message, boolean methodHeader) throws IOException {
+        charset = getCharset(encoding);
+        decoded = true;
+        try {
+            message.order(ByteOrder.BIG_ENDIAN);
+            message.position(message.position() + HEADER_LENGTH);
+            if (methodHeader) {
+                methodName = readString(message);
+                message.getInt();
+            }
+            messageData = readValues(message);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new EOFException("Truncated BIN-RPC message: " + ex.getMessage());
+        }
+    }
 
-        if (methodHeader) {
-            methodName = readString();
-            readInt();
+    private static Charset getCharset(String encoding) throws UnsupportedEncodingException {
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException ex) {
+            throw new UnsupportedEncodingException(encoding);
         }
-        generateResponseData();
     }
 
     public void setType(TYPE type) {
         binRpcData[3] = type == TYPE.RESPONSE ? (byte) 1 : (byte) 0;
     }
 
-    private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
+    private Object[] readValues(ByteBuffer message) throws IOException {
         List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
-            values.add(readRpcValue());
+        while (message.hasRemaining()) {
+            values.add(readRpcValue(message));
         }
-        messageData = values.toArray();
-        values.clear();
+        return values.toArray();
     }
 
     private void createHeader() {
@@ -188,9 +251,9 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private void trimBinRpcData() {
-        byte[] trimmed = new byte[offset];
-        System.arraycopy(binRpcData, 0, trimmed, 0, offset);
-        binRpcData = trimmed;
+        if (binRpcData.length != offset) {
+            binRpcData = Arrays.copyOf(binRpcData, offset);
+        }
     }
 
     @Override
@@ -199,66 +262,60 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     // read rpc values
-    private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
-        offset += 4;
-        return (new BigInteger(bi)).intValue();
-    }
-
-    private long readInt64() {
-        byte bi[] = new byte[8];
-        System.arraycopy(binRpcData, offset, bi, 0, 8);
-        offset += 8;
-        return (new BigInteger(bi)).longValue();
-    }
-
-    private String readString() throws UnsupportedEncodingException {
-        int len = readInt();
-        offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
+    private String readString(ByteBuffer message) {
+        int len = message.getInt();
+        String string;
+        if (message.hasArray()) {
+            string = new String(message.array(), message.arrayOffset() + message.position(), len, charset);
+            message.position(message.position() + len);
+        } else {
+            byte[] bytes = new byte[len];
+            message.get(bytes);
+            string = new String(bytes, charset);
+        }
+        return string;
     }
 
-    private Object readRpcValue() throws IOException {
-        int type = readInt();
+    private Object readRpcValue(ByteBuffer message) throws IOException {
+        int type = message.getInt();
         switch (type) {
             case 1:
-                return Integer.valueOf(readInt());
+                return Integer.valueOf(message.getInt());
             case 2:
-                return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
+                return message.get() != 0 ? Boolean.TRUE : Boolean.FALSE;
             case 3:
-                return readString();
+                return readString(message);
             case 4:
-                int mantissa = readInt();
-                int exponent = readInt();
+                int mantissa = message.getInt();
+                int exponent = message.getInt();
                 BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
                 return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
             case 5:
-                return new Date(readInt() * 1000);
+                return new Date(message.getInt() * 1000);
             case 0xD1:
                 // Int64
-                return Long.valueOf(readInt64());
+                return Long.valueOf(message.getLong());
             case 0x100:
                 // Array
-                int numElements = readInt();
+                int numElements = message.getInt();
                 Collection<Object> array = new ArrayList<>();
                 while (numElements-- > 0) {
-                    array.add(readRpcValue());
+                    array.add(readRpcValue(message));
                 }
                 return array.toArray();
             case 0x101:
                 // Struct
-                numElements = readInt();
+                numElements = message.getInt();
                 Map<String, Object> struct = new TreeMap<>();
                 while (numElements-- > 0) {
-                    String name = readString();
-                    struct.put(name, readRpcValue());
+                    String name = readString(message);
+                    struct.put(name, readRpcValue(message));
                 }
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
-                    logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
+                for (int i = 0; i < message.limit(); i++) {
+                    logger.info("{} {}", Integer.toHexString(message.get(i)), (char) message.get(i));
                 }
                 throw new IOException("Unknown data type " + type);
         }
@@ -271,20 +328,23 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         offset = temp;
     }
 
-    private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte newdata[] = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
+    private void ensureCapacity(int length) {
+        if (offset + length > binRpcData.length) {
+            binRpcData = Arrays.copyOf(binRpcData, Math.max(binRpcData.length * 2, offset + length));
         }
+    }
+
+    private void addByte(byte b) {
+        ensureCapacity(1);
         binRpcData[offset++] = b;
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData[offset++] = (byte) (value >> 24);
+        binRpcData[offset++] = (byte) (value >> 16);
+        binRpcData[offset++] = (byte) (value >> 8);
+        binRpcData[offset++] = (byte) value;
     }
 
     private void addDouble(double value) {
@@ -316,9 +376,9 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         } catch (UnsupportedEncodingException use) {
             sd = string.getBytes();
         }
-        for (byte ch : sd) {
-            addByte(ch);
-        }
+        ensureCapacity(sd.length);
+        System.arraycopy(sd, 0, binRpcData, offset, sd.length);
+        offset += sd.length;
     }
 
     private void addList(Collection<?> collection) {
@@ -382,8 +442,13 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public String toString() {
         try {
-            trimBinRpcData();
-            generateResponseData();
+            if (!decoded) {
+                trimBinRpcData();
+                charset = getCharset(encoding);
+                ByteBuffer message = ByteBuffer.wrap(binRpcData);
+                message.position(HEADER_LENGTH + (methodName != null ? methodName.length() + 8 : 0));
+                messageData = readValues(message);
+            }
             return RpcUtils.dumpRpcMessage(methodName, messageData);
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
@@ -12,9 +12,12 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executor;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
@@ -22,53 +25,194 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Reads a BIN-RPC message from the socket and handles the method call.
+ * Reads the BIN-RPC messages of a connection and handles the method calls.
+ *
+ * The connection is non-blocking and driven by the selector of the {@link BinRpcNetworkService}. As soon as a
+ * complete message has been received, reading is suspended and the message is decoded directly from the receive
+ * buffer and handled by the executor. After the response has been written, the next message is handled or reading is
+ * resumed. The gateway waits for the response before it sends the next message, so the messages of a connection are
+ * handled in order.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcResponseHandler implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(BinRpcResponseHandler.class);
+    private static final int MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
 
-    private Socket socket;
-    private RpcResponseHandler<byte[]> rpcResponseHandler;
-    private HomematicConfig config;
-    private long created;
+    private final SelectionKey key;
+    private final SocketChannel channel;
+    private final RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final HomematicConfig config;
+    private final ByteBufferPool bufferPool;
+    private final Executor executor;
+    private final long created;
+    private ByteBuffer buffer;
+    private ByteBuffer response;
+    private boolean closed;
 
-    public BinRpcResponseHandler(Socket socket, RpcResponseHandler<byte[]> rpcResponseHandler, HomematicConfig config) {
-        this.socket = socket;
+    public BinRpcResponseHandler(SelectionKey key, RpcResponseHandler<byte[]> rpcResponseHandler,
+            HomematicConfig config, ByteBufferPool bufferPool, Executor executor) {
+        this.key = key;
+        this.channel = (SocketChannel) key.channel();
         this.rpcResponseHandler = rpcResponseHandler;
         this.config = config;
+        this.bufferPool = bufferPool;
+        this.executor = executor;
         this.created = System.currentTimeMillis();
+        this.buffer = bufferPool.acquire(0);
+    }
+
+    /**
+     * Called by the selector if the connection is ready for reading or writing.
+     */
+    public void handleSelection() {
+        try {
+            if (key.isReadable()) {
+                read();
+            } else if (key.isWritable()) {
+                write();
+            }
+        } catch (IOException | CancelledKeyException ex) {
+            logger.debug("Closing BIN-RPC connection: {}", ex.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * Reads the available bytes and handles the message if it is complete.
+     */
+    private synchronized void read() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (channel.read(buffer) == -1) {
+            close();
+        } else if (isMessageComplete()) {
+            key.interestOps(0);
+            executor.execute(this);
+        }
     }
 
     /**
-     * Reads the event from the Homematic gateway and handles the method call.
+     * Returns true if the buffer contains a complete message, makes sure that it fits into the buffer.
+     */
+    private boolean isMessageComplete() throws IOException {
+        int length = getMessageLength();
+        if (length < 0) {
+            return false;
+        }
+        if (length > buffer.capacity()) {
+            if (length > MAX_MESSAGE_SIZE) {
+                throw new IOException("BIN-RPC message with " + length + " bytes exceeds maximum size");
+            }
+            ByteBuffer largerBuffer = bufferPool.acquire(length);
+            buffer.flip();
+            largerBuffer.put(buffer);
+            bufferPool.release(buffer);
+            buffer = largerBuffer;
+        }
+        return buffer.position() >= length;
+    }
+
+    /**
+     * Returns the length of the first message in the buffer or -1, if the header has not been received yet.
+     */
+    private int getMessageLength() throws IOException {
+        if (buffer.position() < BinRpcMessage.HEADER_LENGTH) {
+            return -1;
+        }
+        return BinRpcMessage.HEADER_LENGTH + BinRpcMessage.getMessageLength(buffer, 0);
+    }
+
+    /**
+     * Handles the first message of the buffer and writes the response.
      */
     @Override
     public void run() {
         try {
-            boolean isMaxAliveReached;
-            do {
-                BinRpcMessage message = new BinRpcMessage(socket.getInputStream(), true, config.getEncoding());
-                logger.trace("Event BinRpcMessage: {}", message);
-                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
-                        message.getResponseData());
-                if (returnValue != null) {
-                    socket.getOutputStream().write(returnValue);
-                }
-                isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
-            } while (!isMaxAliveReached);
-
-        } catch (EOFException eof) {
-            // ignore
+            BinRpcMessage message = decodeMessage();
+            if (message == null) {
+                return;
+            }
+            logger.trace("Event BinRpcMessage: {}", message);
+            byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
+                    message.getResponseData());
+            synchronized (this) {
+                response = returnValue == null ? null : ByteBuffer.wrap(returnValue);
+                write();
+            }
         } catch (Exception e) {
             logger.warn("{}", e.getMessage(), e);
+            close();
+        }
+    }
+
+    /**
+     * Decodes the first message and removes it from the buffer.
+     */
+    private synchronized BinRpcMessage decodeMessage() throws IOException {
+        if (closed) {
+            return null;
+        }
+        buffer.flip();
+        try {
+            return new BinRpcMessage(buffer, true, config.getEncoding());
         } finally {
-            try {
-                socket.close();
-            } catch (IOException ioe) {
-                // ignore
+            buffer.compact();
+        }
+    }
+
+    /**
+     * Writes the pending response and continues with the next message.
+     */
+    private synchronized void write() throws IOException {
+        if (closed) {
+            return;
+        }
+        ByteBuffer localResponse = response;
+        if (localResponse != null) {
+            channel.write(localResponse);
+            if (localResponse.hasRemaining()) {
+                // the selector calls again when the connection is ready for writing
+                resume(SelectionKey.OP_WRITE);
+                return;
             }
+            response = null;
+        }
+        if (System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000L)) {
+            close();
+        } else if (isMessageComplete()) {
+            executor.execute(this);
+        } else {
+            resume(SelectionKey.OP_READ);
+        }
+    }
+
+    private void resume(int interestOps) {
+        key.interestOps(interestOps);
+        key.selector().wakeup();
+    }
+
+    /**
+     * Closes the connection and returns the buffer to the pool.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
         }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+        bufferPool.release(buffer);
+        buffer = null;
+        response = null;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
     }
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of the receive buffers of the BIN-RPC connections. Buffers of the default size are reused, so the connections
+ * opened by the gateway during an event burst don't allocate new buffers. Larger buffers for big messages are
+ * allocated on demand and not pooled.
+ *
+ * @author agent - Initial contribution
+ */
+public class ByteBufferPool {
+    private final int bufferSize;
+    private final int maxPooledBuffers;
+    private final Deque<ByteBuffer> buffers = new ArrayDeque<>();
+
+    public ByteBufferPool(int bufferSize, int maxPooledBuffers) {
+        this.bufferSize = bufferSize;
+        this.maxPooledBuffers = maxPooledBuffers;
+    }
+
+    /**
+     * Returns a cleared buffer with at least the given capacity.
+     */
+    public synchronized ByteBuffer acquire(int minCapacity) {
+        if (minCapacity > bufferSize) {
+            return ByteBuffer.allocate(minCapacity);
+        }
+        ByteBuffer buffer = buffers.pollFirst();
+        return buffer == null ? ByteBuffer.allocate(bufferSize) : buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool, it must not be used anymore by the caller.
+     */
+    public synchronized void release(ByteBuffer buffer) {
+        if (buffer.capacity() == bufferSize && buffers.size() < maxPooledBuffers) {
+            buffer.clear();
+            buffers.addFirst(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of buffers available in the pool.
+     */
+    public synchronized int size() {
+        return buffers.size();
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ParamsetDescriptionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    public void setup() {
+        file = tempDir.resolve("homematic").resolve("paramsets.cache");
+    }
+
+    private static Object[] createDescription() {
+        Map<String, Object> level = new TreeMap<>();
+        level.put("TYPE", "FLOAT");
+        level.put("MIN", Double.valueOf(0.0));
+        level.put("MAX", Double.valueOf(1.0));
+        level.put("OPERATIONS", Integer.valueOf(7));
+        level.put("VALUE_LIST", new Object[] { "A", "B" });
+        Map<String, Object> description = new HashMap<>();
+        description.put("LEVEL", level);
+        return new Object[] { description };
+    }
+
+    private static HmChannel createChannel(String firmware) {
+        HmDevice device = new HmDevice("ABC12345678", null, "HM-LC-Dim1-Pl3", "CCU2", "", firmware);
+        HmChannel channel = new HmChannel("HM-LC-Dim1-Pl3", 1);
+        channel.setDevice(device);
+        return channel;
+    }
+
+    @Test
+    public void keyContainsFirmware() {
+        String key = ParamsetDescriptionCache.getKey(createDimmerHmChannel(), HmParamsetType.VALUES);
+        assertThat(key, is(notNullValue()));
+        assertThat(key, is(not(ParamsetDescriptionCache.getKey(createChannel("2"), HmParamsetType.VALUES))));
+        assertThat(key, is(not(ParamsetDescriptionCache.getKey(createDimmerHmChannel(), HmParamsetType.MASTER))));
+    }
+
+    @Test
+    public void descriptionOfDeviceWithoutFirmwareIsNotCached() {
+        assertThat(ParamsetDescriptionCache.getKey(createChannel(null), HmParamsetType.MASTER), is(nullValue()));
+        assertThat(ParamsetDescriptionCache.getKey(createChannel(""), HmParamsetType.VALUES), is(nullValue()));
+    }
+
+    @Test
+    public void descriptionsAreRestoredFromFile() {
+        String key = ParamsetDescriptionCache.getKey(createDimmerHmChannel(), HmParamsetType.VALUES);
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        assertThat(cache.get(key), is(nullValue()));
+        cache.put(key, createDescription());
+        cache.save(true);
+        assertThat(Files.isRegularFile(file), is(true));
+
+        ParamsetDescriptionCache restoredCache = new ParamsetDescriptionCache(file);
+        restoredCache.load();
+        Object[] description = restoredCache.get(key);
+        assertThat(description, is(notNullValue()));
+        Map<?, ?> level = (Map<?, ?>) ((Map<?, ?>) description[0]).get("LEVEL");
+        assertThat(level.get("MAX"), is(Double.valueOf(1.0)));
+        assertThat(level.get("OPERATIONS"), is(Integer.valueOf(7)));
+        assertThat(((Object[]) level.get("VALUE_LIST")).length, is(2));
+    }
+
+    @Test
+    public void descriptionOfOutdatedFirmwareIsRemoved() {
+        String oldKey = ParamsetDescriptionCache.getKey(createChannel("1"), HmParamsetType.VALUES);
+        String newKey = ParamsetDescriptionCache.getKey(createChannel("2"), HmParamsetType.VALUES);
+        String otherKey = ParamsetDescriptionCache.getKey(createChannel("1"), HmParamsetType.MASTER);
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        cache.put(oldKey, createDescription());
+        cache.put(otherKey, createDescription());
+        cache.save(true);
+
+        // next run, the firmware of the device has been updated
+        cache.load();
+        cache.get(otherKey);
+        cache.put(newKey, createDescription());
+        cache.save(false);
+        assertThat(cache.size(), is(3));
+        cache.save(true);
+        assertThat(cache.size(), is(2));
+
+        ParamsetDescriptionCache restoredCache = new ParamsetDescriptionCache(file);
+        restoredCache.load();
+        assertThat(restoredCache.get(oldKey), is(nullValue()));
+        assertThat(restoredCache.get(newKey), is(notNullValue()));
+        assertThat(restoredCache.get(otherKey), is(notNullValue()));
+    }
+
+    @Test
+    public void unexpectedClassesAreNotLoaded() throws IOException {
+        String key = ParamsetDescriptionCache.getKey(createDimmerHmChannel(), HmParamsetType.VALUES);
+        Map<String, Object[]> descriptions = new HashMap<>();
+        descriptions.put(key, new Object[] { new ArrayList<>() });
+        Files.createDirectories(file.getParent());
+        try (OutputStream os = Files.newOutputStream(file); ObjectOutputStream oos = new ObjectOutputStream(os)) {
+            oos.writeInt(1);
+            oos.writeObject(descriptions);
+        }
+
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        assertThat(cache.size(), is(0));
+    }
+}
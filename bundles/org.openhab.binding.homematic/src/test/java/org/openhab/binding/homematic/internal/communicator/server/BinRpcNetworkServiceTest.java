@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Replays recorded event messages of a gateway against the BIN-RPC server.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcNetworkServiceTest {
+    private static final String ENCODING = "ISO-8859-1";
+    private static final int CONNECTIONS = 4;
+    private static final int MESSAGES_PER_CONNECTION = 250;
+    private static final int EVENTS_PER_MESSAGE = 10;
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private CountDownLatch eventLatch;
+    private BinRpcNetworkService networkService;
+    private Thread networkServiceThread;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        HomematicConfig config = new HomematicConfig();
+        config.setBindAddress("127.0.0.1");
+        config.setBinCallbackPort(0);
+        eventLatch = new CountDownLatch(CONNECTIONS * MESSAGES_PER_CONNECTION * EVENTS_PER_MESSAGE);
+        networkService = new BinRpcNetworkService(new RpcEventListener() {
+            @Override
+            public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+                events.add(dpInfo + "=" + newValue);
+                eventLatch.countDown();
+            }
+
+            @Override
+            public void newDevices(List<String> adresses) {
+            }
+
+            @Override
+            public void deleteDevices(List<String> addresses) {
+            }
+        }, config);
+        networkServiceThread = new Thread(networkService);
+        networkServiceThread.start();
+    }
+
+    @AfterEach
+    public void shutdown() throws InterruptedException {
+        networkService.shutdown();
+        networkServiceThread.join(5000);
+    }
+
+    /**
+     * Creates a system.multicall message with window contact events, as sent by a CCU.
+     */
+    private static byte[] createMulticallMessage(int number) {
+        BinRpcMessage message = new BinRpcMessage("system.multicall", ENCODING);
+        List<Object> calls = new ArrayList<>();
+        for (int i = 0; i < EVENTS_PER_MESSAGE; i++) {
+            Map<String, Object> call = new HashMap<>();
+            call.put("methodName", "event");
+            String address = String.format("MEQ%07d:1", number * EVENTS_PER_MESSAGE + i);
+            call.put("params", Arrays.asList("BidCos-RF", address, "STATE", Boolean.valueOf(i % 2 == 0)));
+            calls.add(call);
+        }
+        message.addArg(calls);
+        return message.createMessage();
+    }
+
+    private static byte[] readResponse(InputStream is) throws IOException {
+        byte[] header = is.readNBytes(BinRpcMessage.HEADER_LENGTH);
+        byte[] payload = is.readNBytes(BinRpcMessage.getMessageLength(ByteBuffer.wrap(header), 0));
+        ByteBuffer response = ByteBuffer.allocate(header.length + payload.length);
+        return response.put(header).put(payload).array();
+    }
+
+    @Test
+    public void recordedEventsAreReceived() throws Exception {
+        List<Thread> clients = new ArrayList<>();
+        List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int c = 0; c < CONNECTIONS; c++) {
+            int connection = c;
+            Thread client = new Thread(() -> {
+                try (Socket socket = new Socket("127.0.0.1", networkService.getLocalPort())) {
+                    socket.setTcpNoDelay(true);
+                    OutputStream os = socket.getOutputStream();
+                    InputStream is = socket.getInputStream();
+                    for (int m = 0; m < MESSAGES_PER_CONNECTION; m++) {
+                        byte[] message = createMulticallMessage(connection * MESSAGES_PER_CONNECTION + m);
+                        // send the message in two parts, to make sure that it is reassembled
+                        os.write(message, 0, 5);
+                        os.flush();
+                        os.write(message, 5, message.length - 5);
+                        os.flush();
+                        BinRpcMessage response = new BinRpcMessage(ByteBuffer.wrap(readResponse(is)), false,
+                                ENCODING);
+                        assertThat(((Object[]) response.getResponseData()[0]).length, is(1));
+                    }
+                } catch (Exception e) {
+                    failures.add(e);
+                }
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join(30000);
+        }
+
+        assertThat(failures, is(Collections.emptyList()));
+        assertThat(eventLatch.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(events.size(), is(CONNECTIONS * MESSAGES_PER_CONNECTION * EVENTS_PER_MESSAGE));
+        assertThat(events.contains("MEQ0000000:1#STATE=true"), is(true));
+        assertThat(events.contains("MEQ0000001:1#STATE=false"), is(true));
+    }
+
+    @Test
+    public void messagesAreDecodedFromSharedBuffer() throws IOException {
+        byte[] first = createMulticallMessage(0);
+        byte[] second = createMulticallMessage(1);
+        ByteBuffer buffer = ByteBuffer.allocate(first.length + second.length).put(first).put(second);
+        buffer.flip();
+
+        BinRpcMessage firstMessage = new BinRpcMessage(buffer, true, ENCODING);
+        assertThat(buffer.position(), is(first.length));
+        BinRpcMessage secondMessage = new BinRpcMessage(buffer, true, ENCODING);
+        assertThat(buffer.hasRemaining(), is(false));
+
+        assertThat(firstMessage.getMethodName(), is("system.multicall"));
+        Object[] calls = (Object[]) secondMessage.getResponseData()[0];
+        assertThat(calls.length, is(EVENTS_PER_MESSAGE));
+        Object[] params = (Object[]) ((Map<?, ?>) calls[0]).get("params");
+        assertThat(params[1], is("MEQ0000010:1"));
+        assertThat(params[3], is(Boolean.TRUE));
+    }
+
+    @Test
+    public void bufferPoolReusesBuffers() {
+        ByteBufferPool pool = new ByteBufferPool(16, 1);
+        ByteBuffer buffer = pool.acquire(8);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+        assertThat(pool.size(), is(1));
+        ByteBuffer reused = pool.acquire(16);
+        assertThat(reused, is(sameInstance(buffer)));
+        assertThat(reused.position(), is(0));
+
+        ByteBuffer large = pool.acquire(32);
+        assertThat(large.capacity(), is(32));
+        pool.release(large);
+        assertThat(pool.size(), is(0));
+    }
+}
@@ -35,6 +35,7 @@ import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.openhab.binding.hue.internal.HueResourceTracker.Changes;
 import org.openhab.binding.hue.internal.exceptions.ApiException;
 import org.openhab.binding.hue.internal.exceptions.DeviceOffException;
 import org.openhab.binding.hue.internal.exceptions.EntityNotAvailableException;
@@ -48,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 
@@ -258,6 +260,38 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns the lights which have been added, changed or removed since the last poll with the given tracker.
+     *
+     * @param tracker the tracker which holds the lights of the last poll
+     * @return changed lights and ids of the removed lights
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public Changes<FullLight> getLightChanges(HueResourceTracker<FullLight> tracker) throws IOException, ApiException {
+        JsonObject lights;
+        if (ApiVersionUtils.supportsFullLights(getVersion())) {
+            lights = getJsonObject("lights");
+        } else {
+            lights = getJsonObject("").getAsJsonObject("lights");
+            if (lights == null) {
+                throw new ApiException("API returned unexpected result: no lights in full configuration");
+            }
+        }
+        return getChanges(tracker, lights);
+    }
+
+    /**
+     * Returns the sensors which have been added, changed or removed since the last poll with the given tracker.
+     *
+     * @param tracker the tracker which holds the sensors of the last poll
+     * @return changed sensors and ids of the removed sensors
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public Changes<FullSensor> getSensorChanges(HueResourceTracker<FullSensor> tracker)
+            throws IOException, ApiException {
+        return getChanges(tracker, getJsonObject("sensors"));
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -466,6 +500,31 @@ public class HueBridge {
         return groupList;
     }
 
+    /**
+     * Returns the groups which have been added, changed or removed since the last poll with the given tracker,
+     * including the unmodifiable all lights group. The state of the groups is not set.
+     *
+     * @param tracker the tracker which holds the groups of the last poll
+     * @return changed groups and ids of the removed groups
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public Changes<FullGroup> getGroupChanges(HueResourceTracker<FullGroup> tracker) throws IOException, ApiException {
+        JsonObject groups = getJsonObject("groups");
+
+        String allGroupId = getAllGroup().getId();
+        if (!groups.has(allGroupId)) {
+            // Group 0 is not returned, we add it as in fact it exists
+            try {
+                groups.add(allGroupId, getJsonObject("groups/" + enc(allGroupId)));
+            } catch (FileNotFoundException e) {
+                // deCONZ may not have a group "0", see getGroups()
+                logger.debug("Cannot find AllGroup with id \"0\" on Hue Bridge. Skipping it.");
+            }
+        }
+
+        return getChanges(tracker, groups);
+    }
+
     /**
      * Creates a new group and returns it.
      * Due to API limitations, the name of the returned object
@@ -1045,6 +1104,28 @@ public class HueBridge {
         return Objects.requireNonNull(fullConfig);
     }
 
+    private JsonObject getJsonObject(String path) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL(path));
+
+        handleErrors(result);
+
+        JsonElement json = safeParse(result.getBody());
+        if (!json.isJsonObject()) {
+            throw new ApiException("API returned unexpected result: " + json);
+        }
+        return json.getAsJsonObject();
+    }
+
+    private <T> Changes<T> getChanges(HueResourceTracker<T> tracker, JsonObject json) throws ApiException {
+        try {
+            return tracker.update(json, gson);
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+    }
+
     // Used as assert in requests that require authentication
     private void requireAuthentication() {
         if (this.username == null) {
@@ -1069,6 +1150,14 @@ public class HueBridge {
         }
     }
 
+    private JsonElement safeParse(String json) throws ApiException {
+        try {
+            return new JsonParser().parse(json);
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+    }
+
     // Used as assert in all requests to elegantly catch common errors
     public void handleErrors(Result result) throws IOException, ApiException {
         if (result.getResponseCode() != 200) {
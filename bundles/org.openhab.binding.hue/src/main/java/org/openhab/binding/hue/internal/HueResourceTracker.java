@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+/**
+ * Keeps the JSON of the resources of one type (lights, groups or sensors) from the last poll of the bridge.
+ * A poll result is compared resource by resource with the last one and only resources whose JSON has changed are
+ * deserialized and reported, so unchanged resources are neither bound to objects nor dispatched to their handlers.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueResourceTracker<T> {
+
+    private final Class<T> type;
+    private final BiConsumer<T, String> idSetter;
+    private final Map<String, JsonElement> resources = new ConcurrentHashMap<>();
+
+    HueResourceTracker(Class<T> type, BiConsumer<T, String> idSetter) {
+        this.type = type;
+        this.idSetter = idSetter;
+    }
+
+    public static HueResourceTracker<FullLight> forLights() {
+        return new HueResourceTracker<>(FullLight.class, FullLight::setId);
+    }
+
+    public static HueResourceTracker<FullGroup> forGroups() {
+        return new HueResourceTracker<>(FullGroup.class, FullGroup::setId);
+    }
+
+    public static HueResourceTracker<FullSensor> forSensors() {
+        return new HueResourceTracker<>(FullSensor.class, FullSensor::setId);
+    }
+
+    /**
+     * Compares the resources of a poll with the resources of the last poll.
+     *
+     * @param json the resources returned by the bridge, mapped by their id
+     * @param gson the {@link Gson} instance used to deserialize the changed resources
+     * @return the added or changed resources and the ids of the removed resources
+     * @throws JsonParseException if a changed resource can't be deserialized
+     */
+    public Changes<T> update(JsonObject json, Gson gson) {
+        Changes<T> changes = new Changes<>();
+        Map<String, JsonElement> changedResources = new HashMap<>();
+        for (Entry<String, JsonElement> entry : json.entrySet()) {
+            String id = entry.getKey();
+            JsonElement element = entry.getValue();
+            // JsonElement implements a deep equals, the comparison stops at the first difference
+            if (element.isJsonObject() && !element.equals(resources.get(id))) {
+                T resource = gson.fromJson(element, type);
+                idSetter.accept(resource, id);
+                changes.changed.add(resource);
+                changedResources.put(id, element);
+            }
+        }
+        // only remember the new state once all changed resources have been deserialized successfully
+        resources.putAll(changedResources);
+        for (Iterator<String> iterator = resources.keySet().iterator(); iterator.hasNext();) {
+            String id = iterator.next();
+            JsonElement element = json.get(id);
+            if (element == null || !element.isJsonObject()) {
+                iterator.remove();
+                changes.removedIds.add(id);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Forgets the last state of the resource, so it is reported as changed by the next poll, e.g. if its handler
+     * didn't accept the last update or if its state depends on other resources which have changed.
+     */
+    public void invalidate(String id) {
+        resources.computeIfPresent(id, (key, element) -> JsonNull.INSTANCE);
+    }
+
+    /**
+     * Forgets the last state of all resources, so all of them are reported as changed by the next poll. Removed
+     * resources are still detected.
+     */
+    public void invalidateAll() {
+        resources.replaceAll((key, element) -> JsonNull.INSTANCE);
+    }
+
+    /**
+     * Returns the number of tracked resources.
+     */
+    public int size() {
+        return resources.size();
+    }
+
+    /**
+     * Result of the comparison of a poll with the last one.
+     */
+    public static class Changes<T> {
+        private final List<T> changed = new ArrayList<>();
+        private final List<String> removedIds = new ArrayList<>();
+
+        /**
+         * Returns the resources which have been added or changed since the last poll.
+         */
+        public List<T> getChanged() {
+            return changed;
+        }
+
+        /**
+         * Returns the ids of the resources which have been removed since the last poll.
+         */
+        public List<String> getRemovedIds() {
+            return removedIds;
+        }
+
+        public boolean isEmpty() {
+            return changed.isEmpty() && removedIds.isEmpty();
+        }
+    }
+}
@@ -19,7 +19,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,7 +32,6 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.hue.internal.ApiVersionUtils;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
@@ -42,6 +40,8 @@ import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.FullSensor;
 import org.openhab.binding.hue.internal.HueBridge;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
+import org.openhab.binding.hue.internal.HueResourceTracker;
+import org.openhab.binding.hue.internal.HueResourceTracker.Changes;
 import org.openhab.binding.hue.internal.Scene;
 import org.openhab.binding.hue.internal.State;
 import org.openhab.binding.hue.internal.StateUpdate;
@@ -103,6 +103,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, FullSensor> lastSensorStates = new ConcurrentHashMap<>();
     private final Map<String, FullGroup> lastGroupStates = new ConcurrentHashMap<>();
 
+    private final HueResourceTracker<FullLight> lightTracker = HueResourceTracker.forLights();
+    private final HueResourceTracker<FullSensor> sensorTracker = HueResourceTracker.forSensors();
+    private final HueResourceTracker<FullGroup> groupTracker = HueResourceTracker.forGroups();
+    private final Map<String, List<String>> lightIdsByGroupId = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> groupIdsByLightId = new ConcurrentHashMap<>();
+
     private @Nullable HueDeviceDiscoveryService discoveryService;
     private final Map<String, LightStatusListener> lightStatusListeners = new ConcurrentHashMap<>();
     private final Map<String, SensorStatusListener> sensorStatusListeners = new ConcurrentHashMap<>();
@@ -182,18 +188,18 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+            Changes<FullSensor> changes = hueBridge.getSensorChanges(sensorTracker);
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            for (final FullSensor sensor : changes.getChanged()) {
                 String sensorId = sensor.getId();
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
                 if (sensorStatusListener == null) {
                     logger.trace("Hue sensor '{}' added.", sensorId);
 
-                    if (discovery != null && !lastSensorStateCopy.containsKey(sensorId)) {
+                    if (discovery != null && !lastSensorStates.containsKey(sensorId)) {
                         discovery.addSensorDiscovery(sensor);
                     }
 
@@ -201,15 +207,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (sensorStatusListener.onSensorStateChanged(sensor)) {
                         lastSensorStates.put(sensorId, sensor);
+                    } else {
+                        // the update was bypassed, pass the sensor to the listener again with the next poll
+                        sensorTracker.invalidate(sensorId);
                     }
                 }
-                lastSensorStateCopy.remove(sensorId);
             }
 
             // Check for removed sensors
-            lastSensorStateCopy.forEach((sensorId, sensor) -> {
+            for (final String sensorId : changes.getRemovedIds()) {
                 logger.trace("Hue sensor '{}' removed.", sensorId);
-                lastSensorStates.remove(sensorId);
+                final @Nullable FullSensor sensor = lastSensorStates.remove(sensorId);
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
                 if (sensorStatusListener != null) {
@@ -219,7 +227,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 if (discovery != null && sensor != null) {
                     discovery.removeSensorDiscovery(sensor);
                 }
-            });
+            }
         }
     };
 
@@ -231,25 +239,18 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
 
         private void updateLights() throws IOException, ApiException {
-            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
-
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
-            }
+            Changes<FullLight> changes = hueBridge.getLightChanges(lightTracker);
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullLight fullLight : lights) {
+            for (final FullLight fullLight : changes.getChanged()) {
                 final String lightId = fullLight.getId();
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener == null) {
                     logger.trace("Hue light '{}' added.", lightId);
 
-                    if (discovery != null && !lastLightStateCopy.containsKey(lightId)) {
+                    if (discovery != null && !lastLightStates.containsKey(lightId)) {
                         discovery.addLightDiscovery(fullLight);
                     }
 
@@ -257,15 +258,19 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                    } else {
+                        // the update was bypassed, pass the light to the listener again with the next poll
+                        lightTracker.invalidate(lightId);
                     }
                 }
-                lastLightStateCopy.remove(lightId);
+                invalidateGroupsOfLight(lightId);
             }
 
             // Check for removed lights
-            lastLightStateCopy.forEach((lightId, light) -> {
+            for (final String lightId : changes.getRemovedIds()) {
                 logger.trace("Hue light '{}' removed.", lightId);
-                lastLightStates.remove(lightId);
+                final @Nullable FullLight light = lastLightStates.remove(lightId);
+                invalidateGroupsOfLight(lightId);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener != null) {
@@ -275,17 +280,28 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 if (discovery != null && light != null) {
                     discovery.removeLightDiscovery(light);
                 }
-            });
+            }
         }
 
-        private void updateGroups() throws IOException, ApiException {
-            Map<String, FullGroup> lastGroupStateCopy = new HashMap<>(lastGroupStates);
+        /**
+         * The state of a group is calculated from the state of its lights, so the groups of a changed light have to
+         * be updated even if the group itself has not changed.
+         */
+        private void invalidateGroupsOfLight(String lightId) {
+            final @Nullable Set<String> groupIds = groupIdsByLightId.get(lightId);
+            if (groupIds != null) {
+                groupIds.forEach(groupTracker::invalidate);
+            }
+        }
 
-            List<FullGroup> groups = hueBridge.getGroups();
+        private void updateGroups() throws IOException, ApiException {
+            Changes<FullGroup> changes = hueBridge.getGroupChanges(groupTracker);
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullGroup fullGroup : groups) {
+            for (final FullGroup fullGroup : changes.getChanged()) {
+                indexGroupLights(fullGroup.getId(), fullGroup.getLightIds());
+
                 State groupState = new State();
                 boolean on = false;
                 int sumBri = 0;
@@ -339,7 +355,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     logger.trace("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
                             fullGroup.getLightIds().size());
 
-                    if (discovery != null && !lastGroupStateCopy.containsKey(groupId)) {
+                    if (discovery != null && !lastGroupStates.containsKey(groupId)) {
                         discovery.addGroupDiscovery(fullGroup);
                     }
 
@@ -347,15 +363,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (groupStatusListener.onGroupStateChanged(fullGroup)) {
                         lastGroupStates.put(groupId, fullGroup);
+                    } else {
+                        groupTracker.invalidate(groupId);
                     }
                 }
-                lastGroupStateCopy.remove(groupId);
             }
 
             // Check for removed groups
-            lastGroupStateCopy.forEach((groupId, group) -> {
+            for (final String groupId : changes.getRemovedIds()) {
                 logger.trace("Hue group '{}' removed.", groupId);
-                lastGroupStates.remove(groupId);
+                final @Nullable FullGroup group = lastGroupStates.remove(groupId);
+                indexGroupLights(groupId, List.of());
 
                 final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
                 if (groupStatusListener != null) {
@@ -365,7 +383,36 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 if (discovery != null && group != null) {
                     discovery.removeGroupDiscovery(group);
                 }
-            });
+            }
+        }
+
+        /**
+         * Updates the index of the groups of each light with the current lights of the group.
+         */
+        private void indexGroupLights(String groupId, List<String> lightIds) {
+            final @Nullable List<String> previousLightIds = lightIdsByGroupId.get(groupId);
+            if (lightIds.equals(previousLightIds)) {
+                return;
+            }
+            if (previousLightIds != null) {
+                for (String lightId : previousLightIds) {
+                    final @Nullable Set<String> groupIds = groupIdsByLightId.get(lightId);
+                    if (groupIds != null) {
+                        groupIds.remove(groupId);
+                        if (groupIds.isEmpty()) {
+                            groupIdsByLightId.remove(lightId);
+                        }
+                    }
+                }
+            }
+            if (lightIds.isEmpty()) {
+                lightIdsByGroupId.remove(groupId);
+            } else {
+                lightIdsByGroupId.put(groupId, List.copyOf(lightIds));
+                for (String lightId : lightIds) {
+                    groupIdsByLightId.computeIfAbsent(lightId, id -> ConcurrentHashMap.newKeySet()).add(groupId);
+                }
+            }
         }
     };
 
@@ -716,6 +763,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
      */
     public void onConnectionLost() {
         logger.debug("Bridge connection lost. Updating thing status to OFFLINE.");
+        // pass all resources to their listeners again as soon as the connection has been resumed
+        lightTracker.invalidateAll();
+        sensorTracker.invalidateAll();
+        groupTracker.invalidateAll();
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE, "@text/offline.bridge-connection-lost");
     }
 
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.HueResourceTracker.Changes;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueResourceTrackerTest {
+
+    private static final int LIGHTS = 180;
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void unchangedLightsAreNotReported() {
+        HueResourceTracker<FullLight> tracker = HueResourceTracker.forLights();
+
+        Changes<FullLight> changes = tracker.update(parse(createLightsResponse(-1)), gson);
+        assertThat(changes.getChanged().size(), is(LIGHTS));
+        assertThat(changes.getRemovedIds().isEmpty(), is(true));
+
+        // every poll parses a new response
+        for (int i = 0; i < 10; i++) {
+            assertThat(tracker.update(parse(createLightsResponse(-1)), gson).isEmpty(), is(true));
+        }
+    }
+
+    @Test
+    public void changedLightIsReported() {
+        HueResourceTracker<FullLight> tracker = HueResourceTracker.forLights();
+        tracker.update(parse(createLightsResponse(-1)), gson);
+
+        Changes<FullLight> changes = tracker.update(parse(createLightsResponse(42)), gson);
+        assertThat(changes.getChanged().size(), is(1));
+        assertThat(changes.getChanged().get(0).getId(), is("42"));
+        assertThat(changes.getChanged().get(0).getState().getBrightness(), is(254));
+        assertThat(changes.getChanged().get(0).getName(), is("Hue Lamp 42"));
+
+        // the light keeps its new state
+        assertThat(tracker.update(parse(createLightsResponse(42)), gson).isEmpty(), is(true));
+        changes = tracker.update(parse(createLightsResponse(-1)), gson);
+        assertThat(changes.getChanged().size(), is(1));
+        assertThat(changes.getChanged().get(0).getState().getBrightness(), is(144));
+    }
+
+    @Test
+    public void removedLightIsReported() {
+        HueResourceTracker<FullLight> tracker = HueResourceTracker.forLights();
+        tracker.update(parse(createLightsResponse(-1)), gson);
+
+        JsonObject lights = parse(createLightsResponse(-1));
+        lights.remove("7");
+        Changes<FullLight> changes = tracker.update(lights, gson);
+        assertThat(changes.getChanged().isEmpty(), is(true));
+        assertThat(changes.getRemovedIds(), is(List.of("7")));
+        assertThat(tracker.size(), is(LIGHTS - 1));
+    }
+
+    @Test
+    public void invalidatedLightIsReportedAgain() {
+        HueResourceTracker<FullLight> tracker = HueResourceTracker.forLights();
+        tracker.update(parse(createLightsResponse(-1)), gson);
+
+        tracker.invalidate("3");
+        tracker.invalidate("unknown");
+        Changes<FullLight> changes = tracker.update(parse(createLightsResponse(-1)), gson);
+        assertThat(changes.getChanged().size(), is(1));
+        assertThat(changes.getChanged().get(0).getId(), is("3"));
+        assertThat(tracker.size(), is(LIGHTS));
+    }
+
+    @Test
+    public void removedLightIsReportedAfterInvalidateAll() {
+        HueResourceTracker<FullLight> tracker = HueResourceTracker.forLights();
+        tracker.update(parse(createLightsResponse(-1)), gson);
+
+        tracker.invalidateAll();
+        JsonObject lights = parse(createLightsResponse(-1));
+        lights.remove("1");
+        Changes<FullLight> changes = tracker.update(lights, gson);
+        assertThat(changes.getChanged().size(), is(LIGHTS - 1));
+        assertThat(changes.getRemovedIds(), is(List.of("1")));
+    }
+
+    @Test
+    public void groupsAreDeserializedWithTheirLights() {
+        HueResourceTracker<FullGroup> tracker = HueResourceTracker.forGroups();
+        String response = "{\"1\": {\"name\": \"Living room\", \"lights\": [\"1\", \"2\"], \"type\": \"Room\", "
+                + "\"action\": {\"on\": true, \"bri\": 254}}, \"2\": null}";
+
+        Changes<FullGroup> changes = tracker.update(parse(response), gson);
+        assertThat(changes.getChanged().size(), is(1));
+        assertThat(changes.getChanged().get(0).getId(), is("1"));
+        assertThat(changes.getChanged().get(0).getLightIds(), is(List.of("1", "2")));
+        assertThat(tracker.update(parse(response), gson).isEmpty(), is(true));
+    }
+
+    private static JsonObject parse(String json) {
+        return new JsonParser().parse(json).getAsJsonObject();
+    }
+
+    /**
+     * Creates a response of the lights resource as recorded from a bridge, with one light at full brightness.
+     */
+    private static String createLightsResponse(int brightLightId) {
+        return IntStream.rangeClosed(1, LIGHTS)
+                .mapToObj(id -> createLightJson(id, id == brightLightId ? 254 : 144))
+                .collect(Collectors.joining(",", "{", "\n}"));
+    }
+
+    private static String createLightJson(int id, int brightness) {
+        // Sample response for getting lights taken from hue API documentation.
+        String template = "" + //
+                "    \"%d\": {\n" + //
+                "        \"state\": {\n" + //
+                "            \"on\": true,\n" + //
+                "            \"bri\": %d,\n" + //
+                "            \"hue\": 13088,\n" + //
+                "            \"sat\": 212,\n" + //
+                "            \"effect\": \"none\",\n" + //
+                "            \"xy\": [0.5128, 0.4147],\n" + //
+                "            \"ct\": 467,\n" + //
+                "            \"alert\": \"none\",\n" + //
+                "            \"colormode\": \"xy\",\n" + //
+                "            \"mode\": \"homeautomation\",\n" + //
+                "            \"reachable\": true\n" + //
+                "        },\n" + //
+                "        \"swupdate\": {\"state\": \"noupdates\", \"lastinstall\": \"2018-12-13T20:46:31\"},\n" + //
+                "        \"type\": \"Extended color light\",\n" + //
+                "        \"name\": \"Hue Lamp %d\",\n" + //
+                "        \"modelid\": \"LCT001\",\n" + //
+                "        \"manufacturername\": \"Signify Netherlands B.V.\",\n" + //
+                "        \"productname\": \"Hue color lamp\",\n" + //
+                "        \"uniqueid\": \"00:17:88:01:00:bd:c7:%02x-0b\",\n" + //
+                "        \"swversion\": \"5.105.0.21169\"\n" + //
+                "    }";
+        return String.format(template, id, brightness, id, id % 256);
+    }
+}
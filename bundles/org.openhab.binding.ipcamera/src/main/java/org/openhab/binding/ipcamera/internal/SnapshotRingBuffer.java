@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The {@link SnapshotRingBuffer} keeps the recent jpgs of a camera in RAM, so a GIF can be created from the snapshots
+ * BEFORE it was triggered and an alarm can use a snapshot without fetching a new one from the camera. The snapshots
+ * are decimated to one per interval, the last snapshot of each interval is kept. Old snapshots are dropped once they
+ * are older than the time budget or the buffer exceeds its size budget.
+ *
+ * The buffer holds a retained duplicate of each jpg, the jpg itself is never copied.
+ *
+ * @author agent - Initial contribution
+ */
+
+@NonNullByDefault
+public class SnapshotRingBuffer {
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private final long interval;
+    private final long maxBytes;
+    private long maxAge;
+    private long bytes = 0;
+
+    /**
+     * @param interval milliseconds between two kept snapshots
+     * @param maxAge milliseconds a snapshot is kept for
+     * @param maxBytes maximum size of all kept snapshots, the newest snapshot is always kept
+     */
+    public SnapshotRingBuffer(long interval, long maxAge, long maxBytes) {
+        this.interval = interval;
+        this.maxAge = maxAge;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Changes the time budget, e.g. when a longer GIF is requested.
+     */
+    public synchronized void setMaxAge(long maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Adds a snapshot, it replaces the newest snapshot if both are in the same interval.
+     *
+     * @param jpg the jpg, it is not released so the caller keeps its reference
+     * @param now the time the jpg was received
+     */
+    public synchronized void add(ByteBuf jpg, long now) {
+        Frame newest = frames.peekLast();
+        if (newest != null && (newest.time / interval) == (now / interval)) {
+            frames.removeLast();
+            release(newest);
+        }
+        frames.addLast(new Frame(jpg.retainedDuplicate(), now));
+        bytes += jpg.readableBytes();
+
+        Frame oldest = frames.peekFirst();
+        while (oldest != null && frames.size() > 1 && (bytes > maxBytes || now - oldest.time > maxAge)) {
+            frames.removeFirst();
+            release(oldest);
+            oldest = frames.peekFirst();
+        }
+    }
+
+    /**
+     * Gets the newest snapshot if it is recent enough.
+     *
+     * @param maxAge milliseconds the snapshot may be old
+     * @param now the current time
+     * @return a retained duplicate of the jpg the caller has to release, or null if there is no recent snapshot
+     */
+    public synchronized @Nullable ByteBuf getNewest(long maxAge, long now) {
+        Frame newest = frames.peekLast();
+        if (newest == null || now - newest.time > maxAge) {
+            return null;
+        }
+        return newest.jpg.retainedDuplicate();
+    }
+
+    /**
+     * Gets all snapshots received since the given time, oldest first.
+     *
+     * @param since the time of the oldest snapshot to return
+     * @return retained duplicates of the jpgs the caller has to release
+     */
+    public synchronized List<ByteBuf> getSnapshots(long since) {
+        List<ByteBuf> snapshots = new ArrayList<>(frames.size());
+        for (Frame frame : frames) {
+            if (frame.time >= since) {
+                snapshots.add(frame.jpg.retainedDuplicate());
+            }
+        }
+        return snapshots;
+    }
+
+    public synchronized int size() {
+        return frames.size();
+    }
+
+    public synchronized void clear() {
+        frames.forEach(frame -> frame.jpg.release());
+        frames.clear();
+        bytes = 0;
+    }
+
+    private void release(Frame frame) {
+        bytes -= frame.jpg.readableBytes();
+        frame.jpg.release();
+    }
+
+    private static class Frame {
+        private final ByteBuf jpg;
+        private final long time;
+
+        private Frame(ByteBuf jpg, long time) {
+            this.jpg = jpg;
+            this.time = time;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
@@ -57,9 +58,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
     private IpCameraHandler ipCameraHandler;
     private boolean handlingMjpeg = false; // used to remove ctx from group when handler is removed.
     private boolean handlingSnapshotStream = false; // used to remove ctx from group when handler is removed.
-    private byte[] incomingJpeg = new byte[0];
+    private ByteBuf incomingJpeg = Unpooled.EMPTY_BUFFER;
     private String whiteList = "";
-    private int recievedBytes = 0;
     private boolean updateSnapshot = false;
     private boolean onvifEvent = false;
 
@@ -120,7 +120,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                             if (!ipCameraHandler.snapshotPolling && ipCameraHandler.snapshotUri != "") {
                                 ipCameraHandler.sendHttpGET(ipCameraHandler.snapshotUri);
                             }
-                            if (ipCameraHandler.currentSnapshot.length == 1) {
+                            if (!ipCameraHandler.hasSnapshot()) {
                                 logger.warn("ipcamera.jpg was requested but there is no jpg in ram to send.");
                                 return;
                             }
@@ -159,6 +159,10 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                             return;
                     }
                 } else if ("POST".equalsIgnoreCase(httpRequest.method().toString())) {
+                    // pooled buffer for the posted content, sized by the Content-Length if there is one
+                    incomingJpeg.release();
+                    int contentLength = (int) HttpUtil.getContentLength(httpRequest, 0L);
+                    incomingJpeg = contentLength > 0 ? ctx.alloc().buffer(contentLength) : ctx.alloc().buffer();
                     switch (httpRequest.uri()) {
                         case "/ipcamera.jpg":
                             break;
@@ -176,27 +180,30 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
             }
             if (msg instanceof HttpContent) {
                 HttpContent content = (HttpContent) msg;
-                if (recievedBytes == 0) {
-                    incomingJpeg = new byte[content.content().readableBytes()];
-                    content.content().getBytes(0, incomingJpeg, 0, content.content().readableBytes());
-                } else {
-                    byte[] temp = incomingJpeg;
-                    incomingJpeg = new byte[recievedBytes + content.content().readableBytes()];
-                    System.arraycopy(temp, 0, incomingJpeg, 0, temp.length);
-                    content.content().getBytes(0, incomingJpeg, temp.length, content.content().readableBytes());
+                if (content.content().isReadable()) {
+                    if (incomingJpeg == Unpooled.EMPTY_BUFFER) {
+                        incomingJpeg = ctx.alloc().buffer();
+                    }
+                    incomingJpeg.writeBytes(content.content());
                 }
-                recievedBytes = incomingJpeg.length;
                 if (content instanceof LastHttpContent) {
-                    if (updateSnapshot) {
-                        ipCameraHandler.processSnapshot(incomingJpeg);
-                    } else if (onvifEvent) {
-                        ipCameraHandler.onvifCamera.eventRecieved(new String(incomingJpeg, StandardCharsets.UTF_8));
-                    } else { // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
-                        if (recievedBytes > 1000) {
-                            ipCameraHandler.sendMjpegFrame(incomingJpeg, ipCameraHandler.mjpegChannelGroup);
+                    ByteBuf received = incomingJpeg;
+                    incomingJpeg = Unpooled.EMPTY_BUFFER;
+                    if (updateSnapshot && received.isReadable()) {
+                        // the camera handler keeps the buffer as its current snapshot
+                        ipCameraHandler.processSnapshot(received);
+                    } else {
+                        try {
+                            if (onvifEvent) {
+                                ipCameraHandler.onvifCamera.eventRecieved(received.toString(StandardCharsets.UTF_8));
+                            } else if (received.readableBytes() > 1000) {
+                                // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
+                                ipCameraHandler.sendMjpegFrame(received, ipCameraHandler.mjpegChannelGroup);
+                            }
+                        } finally {
+                            received.release();
                         }
                     }
-                    recievedBytes = 0;
                 }
             }
         } finally {
@@ -206,22 +213,17 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
 
     private void sendSnapshotImage(ChannelHandlerContext ctx, String contentType) {
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        ipCameraHandler.lockCurrentSnapshot.lock();
-        try {
-            ByteBuf snapshotData = Unpooled.copiedBuffer(ipCameraHandler.currentSnapshot);
-            response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
-            response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
-            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-            response.headers().add(HttpHeaderNames.CONTENT_LENGTH, snapshotData.readableBytes());
-            response.headers().add("Access-Control-Allow-Origin", "*");
-            response.headers().add("Access-Control-Expose-Headers", "*");
-            ctx.channel().write(response);
-            ctx.channel().write(snapshotData);
-            ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-            ctx.channel().writeAndFlush(footerBbuf);
-        } finally {
-            ipCameraHandler.lockCurrentSnapshot.unlock();
-        }
+        // shares the buffer of the current snapshot, the write releases it
+        ByteBuf snapshotData = ipCameraHandler.getSnapshot();
+        response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
+        response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
+        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, snapshotData.readableBytes());
+        response.headers().add("Access-Control-Allow-Origin", "*");
+        response.headers().add("Access-Control-Expose-Headers", "*");
+        ctx.channel().write(response);
+        ctx.channel().write(snapshotData);
+        ctx.channel().writeAndFlush(IpCameraHandler.MJPEG_FOOTER.duplicate());
     }
 
     private void sendFile(ChannelHandlerContext ctx, String fileUri, String contentType) throws IOException {
@@ -280,6 +282,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void handlerRemoved(@Nullable ChannelHandlerContext ctx) {
+        incomingJpeg.release();
+        incomingJpeg = Unpooled.EMPTY_BUFFER;
         if (ctx == null) {
             return;
         }
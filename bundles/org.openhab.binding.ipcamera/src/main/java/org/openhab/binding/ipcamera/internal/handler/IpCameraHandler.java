@@ -26,7 +26,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -55,6 +54,7 @@ import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
+import org.openhab.binding.ipcamera.internal.SnapshotRingBuffer;
 import org.openhab.binding.ipcamera.internal.StreamServerHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.core.library.types.DecimalType;
@@ -78,6 +78,7 @@ import org.slf4j.LoggerFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
@@ -125,6 +126,9 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 
 @NonNullByDefault
 public class IpCameraHandler extends BaseThingHandler {
+    // shared by all responses, duplicate() it for every write
+    public static final ByteBuf MJPEG_FOOTER = Unpooled
+            .unreleasableBuffer(Unpooled.copiedBuffer("\r\n", StandardCharsets.US_ASCII));
     public final Logger logger = LoggerFactory.getLogger(getClass());
     public final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
     private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(4);
@@ -148,6 +152,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private @Nullable ScheduledFuture<?> cameraConnectionJob = null;
     private @Nullable ScheduledFuture<?> pollCameraJob = null;
     private @Nullable ScheduledFuture<?> snapshotJob = null;
+    private @Nullable ScheduledFuture<?> gifJob = null;
     private @Nullable Bootstrap mainBootstrap;
     private @Nullable ServerBootstrap serverBootstrap;
 
@@ -163,8 +168,8 @@ public class IpCameraHandler extends BaseThingHandler {
     private String mp4Filename = "ipcamera";
     private int mp4RecordTime;
     private int gifRecordTime = 5;
-    private LinkedList<byte[]> fifoSnapshotBuffer = new LinkedList<byte[]>();
-    private int snapCount;
+    // the snapshots of the last seconds for the GIF preroll, one per second as the GIF is created with 1 fps
+    private SnapshotRingBuffer snapshotRingBuffer = new SnapshotRingBuffer(1000, 0, 0);
     private boolean updateImageChannel = false;
     private boolean updateAutoFps = false;
     private byte lowPriorityCounter = 0;
@@ -180,7 +185,8 @@ public class IpCameraHandler extends BaseThingHandler {
     public String mjpegUri = "";
     private @Nullable ChannelFuture serverFuture = null;
     private Object firstStreamedMsg = new Object();
-    public byte[] currentSnapshot = new byte[] { (byte) 0x00 };
+    // pooled buffer of the last jpg, shared read only with all streams by retainedDuplicate()
+    private ByteBuf currentSnapshot = Unpooled.EMPTY_BUFFER;
     public ReentrantLock lockCurrentSnapshot = new ReentrantLock();
     public String rtspUri = "";
     public boolean audioAlarmUpdateSnapshot = false;
@@ -203,7 +209,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private class CommonCameraHandler extends ChannelDuplexHandler {
         private int bytesToRecieve = 0;
         private int bytesAlreadyRecieved = 0;
-        private byte[] incomingJpeg = new byte[0];
+        private ByteBuf incomingJpeg = Unpooled.EMPTY_BUFFER;
         private String incomingMessage = "";
         private String contentType = "empty";
         private Object reply = new Object();
@@ -258,10 +264,12 @@ public class IpCameraHandler extends BaseThingHandler {
                                 }
                             } else if (contentType.contains("image/jp")) {
                                 if (bytesToRecieve == 0) {
-                                    bytesToRecieve = 768000; // 0.768 Mbyte when no Content-Length is sent
-                                    logger.debug("Camera has no Content-Length header, we have to guess how much RAM.");
+                                    logger.debug("Camera has no Content-Length header, the buffer grows as needed.");
                                 }
-                                incomingJpeg = new byte[bytesToRecieve];
+                                // pooled buffer, sized by the Content-Length so the jpg is never reallocated
+                                incomingJpeg.release();
+                                incomingJpeg = bytesToRecieve > 0 ? ctx.alloc().buffer(bytesToRecieve)
+                                        : ctx.alloc().buffer();
                             }
                         }
                     }
@@ -275,11 +283,15 @@ public class IpCameraHandler extends BaseThingHandler {
                         HttpContent content = (HttpContent) msg;
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
                         if (contentType.contains("image/jp")) {
-                            for (int i = 0; i < content.content().capacity(); i++) {
-                                incomingJpeg[bytesAlreadyRecieved++] = content.content().getByte(i);
+                            if (incomingJpeg == Unpooled.EMPTY_BUFFER) {
+                                incomingJpeg = ctx.alloc().buffer();
                             }
+                            incomingJpeg.writeBytes(content.content());
+                            bytesAlreadyRecieved = incomingJpeg.readableBytes();
                             if (content instanceof LastHttpContent) {
+                                // the buffer is handed over, it is released when replaced by the next snapshot
                                 processSnapshot(incomingJpeg);
+                                incomingJpeg = Unpooled.EMPTY_BUFFER;
                                 // testing next line and if works need to do a full cleanup of this function.
                                 closeConnection = true;
                                 if (closeConnection) {
@@ -344,6 +356,8 @@ public class IpCameraHandler extends BaseThingHandler {
 
         @Override
         public void handlerRemoved(@Nullable ChannelHandlerContext ctx) {
+            incomingJpeg.release();
+            incomingJpeg = Unpooled.EMPTY_BUFFER;
         }
 
         @Override
@@ -617,41 +631,81 @@ public class IpCameraHandler extends BaseThingHandler {
                 });
     }
 
-    public void processSnapshot(byte[] incommingSnapshot) {
+    /**
+     * Takes over a jpg received from the camera or FFmpeg. The buffer is kept as the current snapshot and written to
+     * all streams without copying it, it is released when the next snapshot arrives.
+     *
+     * @param incommingSnapshot pooled buffer with the jpg, the caller passes its reference on
+     */
+    public void processSnapshot(ByteBuf incommingSnapshot) {
+        ByteBuf previousSnapshot;
         lockCurrentSnapshot.lock();
         try {
+            previousSnapshot = currentSnapshot;
             currentSnapshot = incommingSnapshot;
+            // once unlocked the next snapshot may release the reference passed on by the caller
+            incommingSnapshot.retain();
             if (cameraConfig.getGifPreroll() > 0) {
-                fifoSnapshotBuffer.add(incommingSnapshot);
-                if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
-                    fifoSnapshotBuffer.removeFirst();
-                }
+                // added under the lock, so the ring buffer keeps the same order as the current snapshot
+                snapshotRingBuffer.add(incommingSnapshot, System.currentTimeMillis());
             }
         } finally {
             lockCurrentSnapshot.unlock();
         }
+        try {
+            // streams that are still writing the previous snapshot hold their own reference to it
+            previousSnapshot.release();
 
-        if (streamingSnapshotMjpeg) {
-            sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
-        }
-        if (streamingAutoFps) {
-            if (motionDetected) {
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-            } else if (updateAutoFps) {
-                // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-                updateAutoFps = false;
+            if (streamingSnapshotMjpeg) {
+                sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
             }
+            if (streamingAutoFps) {
+                if (motionDetected) {
+                    sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
+                } else if (updateAutoFps) {
+                    // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
+                    sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
+                    updateAutoFps = false;
+                }
+            }
+
+            if (updateImageChannel) {
+                updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
+            } else if (firstMotionAlarm || motionAlarmUpdateSnapshot) {
+                updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
+                firstMotionAlarm = motionAlarmUpdateSnapshot = false;
+            } else if (firstAudioAlarm || audioAlarmUpdateSnapshot) {
+                updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
+                firstAudioAlarm = audioAlarmUpdateSnapshot = false;
+            }
+        } finally {
+            incommingSnapshot.release();
         }
+    }
 
-        if (updateImageChannel) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
-        } else if (firstMotionAlarm || motionAlarmUpdateSnapshot) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
-            firstMotionAlarm = motionAlarmUpdateSnapshot = false;
-        } else if (firstAudioAlarm || audioAlarmUpdateSnapshot) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
-            firstAudioAlarm = audioAlarmUpdateSnapshot = false;
+    /**
+     * @return true if a jpg has been received from the camera
+     */
+    public boolean hasSnapshot() {
+        lockCurrentSnapshot.lock();
+        try {
+            return currentSnapshot.isReadable();
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
+    }
+
+    /**
+     * Gets the current snapshot without copying it.
+     *
+     * @return a read only view of the current snapshot, the caller has to release it or pass it on to a write
+     */
+    public ByteBuf getSnapshot() {
+        lockCurrentSnapshot.lock();
+        try {
+            return currentSnapshot.retainedDuplicate();
+        } finally {
+            lockCurrentSnapshot.unlock();
         }
     }
 
@@ -707,22 +761,22 @@ public class IpCameraHandler extends BaseThingHandler {
             sendMjpegFirstPacket(ctx);
             if (auto) {
                 autoSnapshotMjpegChannelGroup.add(ctx.channel());
-                lockCurrentSnapshot.lock();
+                ByteBuf snapshot = getSnapshot();
                 try {
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    sendMjpegFrame(snapshot, autoSnapshotMjpegChannelGroup);
                     // iOS uses a FIFO? and needs two frames to display a pic
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    sendMjpegFrame(snapshot, autoSnapshotMjpegChannelGroup);
                 } finally {
-                    lockCurrentSnapshot.unlock();
+                    snapshot.release();
                 }
                 streamingAutoFps = true;
             } else {
                 snapshotMjpegChannelGroup.add(ctx.channel());
-                lockCurrentSnapshot.lock();
+                ByteBuf snapshot = getSnapshot();
                 try {
-                    sendMjpegFrame(currentSnapshot, snapshotMjpegChannelGroup);
+                    sendMjpegFrame(snapshot, snapshotMjpegChannelGroup);
                 } finally {
-                    lockCurrentSnapshot.unlock();
+                    snapshot.release();
                 }
                 streamingSnapshotMjpeg = true;
                 startSnapshotPolling();
@@ -835,17 +889,25 @@ public class IpCameraHandler extends BaseThingHandler {
         ctx.channel().writeAndFlush(response);
     }
 
-    public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
+    /**
+     * Writes a jpg as the next part of the mjpeg streams of a group. The frame is wrapped together with its part
+     * header into one composite buffer, the group writes a retained duplicate of it to each channel, so the jpg is
+     * never copied however many clients are streaming.
+     *
+     * @param jpg the jpg, it is not released so the caller keeps its reference
+     * @param channelGroup the streams to write to
+     */
+    public void sendMjpegFrame(ByteBuf jpg, ChannelGroup channelGroup) {
+        if (channelGroup.isEmpty()) {
+            return;
+        }
         final String boundary = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
-        int length = imageByteBuf.readableBytes();
+        int length = jpg.readableBytes();
         String header = "--" + boundary + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
                 + "\r\n\r\n";
-        ByteBuf headerBbuf = Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        streamToGroup(headerBbuf, channelGroup, false);
-        streamToGroup(imageByteBuf, channelGroup, false);
-        streamToGroup(footerBbuf, channelGroup, true);
+        ByteBuf headerBbuf = Unpooled.copiedBuffer(header, StandardCharsets.US_ASCII);
+        streamToGroup(Unpooled.wrappedBuffer(headerBbuf, jpg.retainedDuplicate(), MJPEG_FOOTER.duplicate()),
+                channelGroup, true);
     }
 
     public void streamToGroup(Object msg, ChannelGroup channelGroup, boolean flush) {
@@ -855,27 +917,30 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
-    private void storeSnapshots() {
+    /**
+     * Writes the snapshots of the preroll and the recording time as the input for FFmpeg.
+     *
+     * @return the number of snapshots written
+     */
+    private int storeSnapshots() {
         int count = 0;
-        // Need to lock as fifoSnapshotBuffer is not thread safe and new snapshots can be incoming.
-        lockCurrentSnapshot.lock();
-        try {
-            for (byte[] foo : fifoSnapshotBuffer) {
-                File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
+        long since = System.currentTimeMillis() - (cameraConfig.getGifPreroll() + gifRecordTime + 1) * 1000L;
+        for (ByteBuf foo : snapshotRingBuffer.getSnapshots(since)) {
+            File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
+            try {
+                OutputStream fos = new FileOutputStream(file);
+                foo.getBytes(foo.readerIndex(), fos, foo.readableBytes());
+                fos.close();
                 count++;
-                try {
-                    OutputStream fos = new FileOutputStream(file);
-                    fos.write(foo);
-                    fos.close();
-                } catch (FileNotFoundException e) {
-                    logger.warn("FileNotFoundException {}", e.getMessage());
-                } catch (IOException e) {
-                    logger.warn("IOException {}", e.getMessage());
-                }
+            } catch (FileNotFoundException e) {
+                logger.warn("FileNotFoundException {}", e.getMessage());
+            } catch (IOException e) {
+                logger.warn("IOException {}", e.getMessage());
+            } finally {
+                foo.release();
             }
-        } finally {
-            lockCurrentSnapshot.unlock();
         }
+        return count;
     }
 
     public void setupFfmpegFormat(FFmpegFormat format) {
@@ -884,7 +949,8 @@ public class IpCameraHandler extends BaseThingHandler {
             logger.warn("The camera tried to use a FFmpeg feature when the output folder is not set.");
             return;
         }
-        if (rtspUri.isEmpty()) {
+        // a GIF with preroll is created from the snapshots in RAM and needs no stream
+        if (rtspUri.isEmpty() && !(format == FFmpegFormat.GIF && cameraConfig.getGifPreroll() > 0)) {
             logger.warn("The camera tried to use a FFmpeg feature when no valid input for FFmpeg is provided.");
             return;
         }
@@ -922,10 +988,15 @@ public class IpCameraHandler extends BaseThingHandler {
                 break;
             case GIF:
                 if (cameraConfig.getGifPreroll() > 0) {
+                    // FFmpeg is only started to encode the snapshots, they are collected in RAM
+                    int frames = storeSnapshots();
+                    if (frames == 0) {
+                        logger.warn("No snapshots were received from the camera to create the GIF from.");
+                        return;
+                    }
                     ffmpegGIF = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(),
                             "-y -r 1 -hide_banner -loglevel warning", cameraConfig.getFfmpegOutput() + "snapshot%d.jpg",
-                            "-frames:v " + (cameraConfig.getGifPreroll() + gifRecordTime) + " "
-                                    + cameraConfig.getGifOutOptions(),
+                            "-frames:v " + frames + " " + cameraConfig.getGifOutOptions(),
                             cameraConfig.getFfmpegOutput() + gifFilename + ".gif", cameraConfig.getUser(),
                             cameraConfig.getPassword());
                 } else {
@@ -938,9 +1009,6 @@ public class IpCameraHandler extends BaseThingHandler {
                             cameraConfig.getGifOutOptions(), cameraConfig.getFfmpegOutput() + gifFilename + ".gif",
                             cameraConfig.getUser(), cameraConfig.getPassword());
                 }
-                if (cameraConfig.getGifPreroll() > 0) {
-                    storeSnapshots();
-                }
                 Ffmpeg localGIF = ffmpegGIF;
                 if (localGIF != null) {
                     localGIF.startConverting();
@@ -1086,7 +1154,7 @@ public class IpCameraHandler extends BaseThingHandler {
             startSnapshotPolling();
         }
         if (cameraConfig.getUpdateImageWhen().contains("2")) {
-            if (!firstMotionAlarm) {
+            if (!firstMotionAlarm && !updateImageFromSnapshotBuffer()) {
                 if (!snapshotUri.isEmpty()) {
                     sendHttpGET(snapshotUri);
                 }
@@ -1104,7 +1172,7 @@ public class IpCameraHandler extends BaseThingHandler {
     public void audioDetected() {
         updateState(CHANNEL_AUDIO_ALARM, OnOffType.ON);
         if (cameraConfig.getUpdateImageWhen().contains("3")) {
-            if (!firstAudioAlarm) {
+            if (!firstAudioAlarm && !updateImageFromSnapshotBuffer()) {
                 if (!snapshotUri.isEmpty()) {
                     sendHttpGET(snapshotUri);
                 }
@@ -1116,6 +1184,25 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Updates the image channel with the newest snapshot in RAM, if it was polled within the last poll period it is as
+     * recent as a snapshot fetched now.
+     *
+     * @return false if there is no recent snapshot and a new one has to be fetched
+     */
+    private boolean updateImageFromSnapshotBuffer() {
+        ByteBuf jpg = snapshotRingBuffer.getNewest(cameraConfig.getPollTime(), System.currentTimeMillis());
+        if (jpg == null) {
+            return false;
+        }
+        try {
+            updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(jpg), "image/jpeg"));
+        } finally {
+            jpg.release();
+        }
+        return true;
+    }
+
     public void noAudioDetected() {
         setChannelState(CHANNEL_AUDIO_ALARM, OnOffType.OFF);
         firstAudioAlarm = false;
@@ -1133,7 +1220,13 @@ public class IpCameraHandler extends BaseThingHandler {
         gifFilename = filename;
         gifRecordTime = seconds;
         if (cameraConfig.getGifPreroll() > 0) {
-            snapCount = seconds;
+            // keep the snapshots of the preroll and the recording, the GIF is created once they are all in RAM
+            snapshotRingBuffer.setMaxAge((cameraConfig.getGifPreroll() + seconds + 1) * 1000L);
+            Future<?> localFuture = gifJob;
+            if (localFuture != null) {
+                localFuture.cancel(false);
+            }
+            gifJob = threadPool.schedule(() -> setupFfmpegFormat(FFmpegFormat.GIF), seconds, TimeUnit.SECONDS);
         } else {
             setupFfmpegFormat(FFmpegFormat.GIF);
         }
@@ -1506,11 +1599,6 @@ public class IpCameraHandler extends BaseThingHandler {
     void snapshotRunnable() {
         // Snapshot should be first to keep consistent time between shots
         sendHttpGET(snapshotUri);
-        if (snapCount > 0) {
-            if (--snapCount == 0) {
-                setupFfmpegFormat(FFmpegFormat.GIF);
-            }
-        }
     }
 
     public void stopSnapshotPolling() {
@@ -1624,6 +1712,9 @@ public class IpCameraHandler extends BaseThingHandler {
     @Override
     public void initialize() {
         cameraConfig = getConfigAs(CameraConfig.class);
+        snapshotRingBuffer.clear();
+        snapshotRingBuffer = new SnapshotRingBuffer(1000, (cameraConfig.getGifPreroll() + gifRecordTime + 1) * 1000L,
+                cameraConfig.getSnapshotBufferSize() * 1024L * 1024L);
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
         mjpegUri = getCorrectUrlFormat(cameraConfig.getMjpegUrl());
         rtspUri = cameraConfig.getFfmpegInput();
@@ -1726,6 +1817,10 @@ public class IpCameraHandler extends BaseThingHandler {
         if (localFuture != null) {
             localFuture.cancel(true);
         }
+        localFuture = gifJob;
+        if (localFuture != null) {
+            localFuture.cancel(true);
+        }
         localFuture = cameraConnectionJob;
         if (localFuture != null) {
             localFuture.cancel(true);
@@ -1769,6 +1864,15 @@ public class IpCameraHandler extends BaseThingHandler {
             localFfmpeg.stopConverting();
         }
         channelTrackingMap.clear();
+
+        snapshotRingBuffer.clear();
+        lockCurrentSnapshot.lock();
+        try {
+            currentSnapshot.release();
+            currentSnapshot = Unpooled.EMPTY_BUFFER;
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
     }
 
     public void setStreamServerHandler(StreamServerHandler streamServerHandler2) {
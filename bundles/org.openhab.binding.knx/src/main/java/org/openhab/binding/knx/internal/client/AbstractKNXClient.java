@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -23,6 +25,8 @@ import java.util.function.Consumer;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.KNXTypeMapper;
+import org.openhab.binding.knx.internal.dpt.DPTCodec;
+import org.openhab.binding.knx.internal.dpt.DPTCodecs;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
 import org.openhab.binding.knx.internal.handler.GroupAddressListener;
 import org.openhab.core.thing.ThingStatus;
@@ -38,9 +42,12 @@ import tuwien.auto.calimero.FrameEvent;
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.IndividualAddress;
 import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXIllegalArgumentException;
 import tuwien.auto.calimero.datapoint.CommandDP;
 import tuwien.auto.calimero.datapoint.Datapoint;
 import tuwien.auto.calimero.device.ProcessCommunicationResponder;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
 import tuwien.auto.calimero.link.KNXNetworkLink;
 import tuwien.auto.calimero.link.NetworkLinkListener;
 import tuwien.auto.calimero.mgmt.Destination;
@@ -85,8 +92,10 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    // group addresses of each registered listener, as they were indexed
+    private final Map<GroupAddressListener, Set<GroupAddress>> groupAddressListeners = new HashMap<>();
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+    private final ReadDatapointScheduler readDatapoints;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -132,6 +141,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
+        this.readDatapoints = new ReadDatapointScheduler(readingPause);
     }
 
     public void initialize() {
@@ -252,10 +262,43 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
+        Set<GroupAddressListener> listeners = getGroupAddressListeners(destination);
+        if (listeners.isEmpty()) {
+            return;
+        }
+        knxScheduler.schedule(() -> {
+            for (GroupAddressListener listener : listeners) {
+                try {
+                    action.apply(listener, source, destination, asdu);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to process a {} telegram to '{}'", task, destination, e);
+                }
             }
+        }, 0, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get the listeners which are interested in telegrams to a group address.
+     *
+     * @param destination the group address
+     * @return the listeners, empty if no listener is interested in the group address
+     */
+    Set<GroupAddressListener> getGroupAddressListeners(GroupAddress destination) {
+        return listenersByGroupAddress.getOrDefault(destination, Set.of());
+    }
+
+    private void indexGroupAddresses(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByGroupAddress.computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+    }
+
+    private void unindexGroupAddresses(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByGroupAddress.computeIfPresent(groupAddress, (ga, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
         }
     }
 
@@ -280,18 +323,24 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
+        ReadDatapoint datapoint = readDatapoints.poll(System.currentTimeMillis());
         if (datapoint != null) {
             datapoint.incrementRetries();
+            long start = System.currentTimeMillis();
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
                 processCommunicator.read(datapoint.getDatapoint());
+                long end = System.currentTimeMillis();
+                readDatapoints.readCompleted(end, end - start, true);
             } catch (KNXException e) {
+                long end = System.currentTimeMillis();
+                readDatapoints.readCompleted(end, end - start, false);
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                    readDatapoints.retry(datapoint);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
+                    readDatapoints.drop();
                     logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
                             datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
                 }
@@ -367,23 +416,32 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readDatapoints.add(datapoint, readRetriesLimit, priority);
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        synchronized (groupAddressListeners) {
+            Set<GroupAddress> groupAddresses = Set.copyOf(listener.getGroupAddresses());
+            Set<GroupAddress> previous = groupAddressListeners.put(listener, groupAddresses);
+            if (previous != null) {
+                unindexGroupAddresses(listener, previous);
+            }
+            indexGroupAddresses(listener, groupAddresses);
+            return previous == null;
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (groupAddressListeners) {
+            Set<GroupAddress> previous = groupAddressListeners.remove(listener);
+            if (previous != null) {
+                unindexGroupAddresses(listener, previous);
+            }
+            return previous != null;
+        }
     }
 
     @Override
@@ -446,17 +504,23 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
 
         Datapoint datapoint = new CommandDP(groupAddress, thingUID.toString(), 0, dpt);
-        String mappedValue = toDPTValue(type, dpt);
+        DPTXlator translator = toTranslator(type, dpt);
+        String mappedValue = translator != null ? null : toDPTValue(type, dpt);
 
-        logger.trace("sendToKNX mappedValue: '{}' groupAddress: '{}'", mappedValue, groupAddress);
+        logger.trace("sendToKNX mappedValue: '{}' groupAddress: '{}'", translator != null ? translator : mappedValue,
+                groupAddress);
 
-        if (mappedValue == null) {
+        if (translator == null && mappedValue == null) {
             logger.debug("Value '{}' cannot be mapped to datapoint '{}'", type, datapoint);
             return;
         }
         for (int i = 0; i < MAX_SEND_ATTEMPTS; i++) {
             try {
-                communicator.write(datapoint, mappedValue);
+                if (translator != null) {
+                    communicator.write(groupAddress, translator);
+                } else if (mappedValue != null) {
+                    communicator.write(datapoint, mappedValue);
+                }
                 logger.debug("Wrote value '{}' to datapoint '{}' ({}. attempt).", type, datapoint, i);
                 break;
             } catch (KNXException e) {
@@ -471,4 +535,27 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             }
         }
     }
+
+    /**
+     * Creates a translator holding the given value, if the datapoint type has a {@link DPTCodec}.
+     *
+     * @param type the {@link Type} to transform
+     * @param dpt the datapoint type to which should be converted
+     * @return the translator or {@code null} if the value has to be mapped by the type mapper
+     */
+    private @Nullable DPTXlator toTranslator(Type type, String dpt) {
+        DPTCodec codec = DPTCodecs.forDPT(dpt);
+        byte[] data = codec != null ? codec.encode(type) : null;
+        if (data == null) {
+            return null;
+        }
+        try {
+            DPTXlator translator = TranslatorTypes.createTranslator(0, dpt);
+            translator.setData(data);
+            return translator;
+        } catch (KNXException | KNXIllegalArgumentException e) {
+            logger.debug("Cannot create a translator for datapoint type '{}': {}", dpt, e.getMessage());
+            return null;
+        }
+    }
 }
@@ -63,6 +63,9 @@ public interface KNXClient {
     /**
      * Register the given listener to be informed on KNX bus traffic.
      *
+     * The listener is only informed about telegrams to its current {@link GroupAddressListener#getGroupAddresses()}.
+     * Registering an already registered listener again updates its group addresses.
+     *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
      */
@@ -79,9 +82,12 @@ public interface KNXClient {
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * A data point which is already scheduled is not read twice; it is moved up if the given priority is higher.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus.
+ *
+ * Read requests are de-duplicated by group address and served by {@link ReadPriority}, first come first served within
+ * a priority. Requesting a queued datapoint again with a higher priority moves it up.
+ *
+ * The pause between two reads adapts to the bus: it follows the average time the bus takes to answer a read, but never
+ * falls below the configured reading pause, and it is doubled whenever a read fails.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointScheduler {
+
+    private static final long MAX_PAUSE_MILLIS = 5000;
+
+    /**
+     * Weight of a new latency sample in the average latency
+     */
+    private static final double LATENCY_WEIGHT = 0.125;
+
+    private final Logger logger = LoggerFactory.getLogger(ReadDatapointScheduler.class);
+
+    private final long readingPause;
+    private final long maxPause;
+
+    private final Map<GroupAddress, ReadDatapoint> queued = new HashMap<>();
+    // one queue per priority, indexed by ordinal; may contain stale entries, which have been moved up to a higher
+    // priority or already been read
+    private final List<Deque<ReadDatapoint>> queues = new ArrayList<>();
+
+    private long pause;
+    private double averageLatency;
+    private long nextReadMillis;
+
+    private long requestCount;
+    private long duplicateCount;
+    private long readCount;
+    private long failedCount;
+    private long droppedCount;
+
+    /**
+     * @param readingPause minimum pause in milliseconds between two reads
+     */
+    public ReadDatapointScheduler(long readingPause) {
+        this.readingPause = readingPause;
+        this.maxPause = Math.max(readingPause, MAX_PAUSE_MILLIS);
+        this.pause = readingPause;
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queue a datapoint to be read.
+     *
+     * @param datapoint the datapoint
+     * @param limit maximum number of attempts to read the datapoint
+     * @param priority priority of the request
+     * @return {@code true} if the datapoint wasn't queued before
+     */
+    public synchronized boolean add(Datapoint datapoint, int limit, ReadPriority priority) {
+        requestCount++;
+        GroupAddress address = datapoint.getMainAddress();
+        ReadDatapoint existing = queued.get(address);
+        if (existing != null) {
+            duplicateCount++;
+            if (priority.compareTo(existing.getPriority()) < 0) {
+                existing.setPriority(priority);
+                queues.get(priority.ordinal()).add(existing);
+            }
+            return false;
+        }
+        ReadDatapoint readDatapoint = new ReadDatapoint(datapoint, limit, priority);
+        queued.put(address, readDatapoint);
+        queues.get(priority.ordinal()).add(readDatapoint);
+        return true;
+    }
+
+    /**
+     * Take the next datapoint to read, if the pause after the previous read is over.
+     *
+     * @param nowMillis current time in milliseconds
+     * @return the datapoint or {@code null} if there is nothing to read right now
+     */
+    public synchronized @Nullable ReadDatapoint poll(long nowMillis) {
+        if (queued.isEmpty() || nowMillis < nextReadMillis) {
+            return null;
+        }
+        for (ReadPriority priority : ReadPriority.values()) {
+            Deque<ReadDatapoint> queue = queues.get(priority.ordinal());
+            ReadDatapoint readDatapoint;
+            while ((readDatapoint = queue.poll()) != null) {
+                GroupAddress address = readDatapoint.getDatapoint().getMainAddress();
+                if (readDatapoint.getPriority() == priority && queued.get(address) == readDatapoint) {
+                    queued.remove(address);
+                    if (queued.isEmpty()) {
+                        queues.forEach(Deque::clear);
+                    }
+                    return readDatapoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queue a datapoint again after a failed read, unless it has been requested again in the meantime.
+     *
+     * @param readDatapoint the datapoint
+     */
+    public synchronized void retry(ReadDatapoint readDatapoint) {
+        GroupAddress address = readDatapoint.getDatapoint().getMainAddress();
+        if (queued.putIfAbsent(address, readDatapoint) == null) {
+            queues.get(readDatapoint.getPriority().ordinal()).add(readDatapoint);
+        }
+    }
+
+    /**
+     * Record that a datapoint has been given up after the maximum number of attempts.
+     */
+    public synchronized void drop() {
+        droppedCount++;
+    }
+
+    /**
+     * Record the outcome of a read and adapt the pause until the next one.
+     *
+     * The caller is expected to wait the reading pause between two calls of {@link #poll(long)}, so only the pause
+     * exceeding the reading pause delays the next read.
+     *
+     * @param nowMillis time in milliseconds the read has completed
+     * @param latencyMillis time in milliseconds the read took
+     * @param success whether the bus has answered the read
+     */
+    public synchronized void readCompleted(long nowMillis, long latencyMillis, boolean success) {
+        readCount++;
+        if (success) {
+            averageLatency = averageLatency == 0 ? latencyMillis
+                    : averageLatency + (latencyMillis - averageLatency) * LATENCY_WEIGHT;
+            long target = Math.max(readingPause, Math.min(maxPause, Math.round(averageLatency)));
+            pause = Math.max(target, (pause + target) / 2);
+        } else {
+            failedCount++;
+            pause = Math.min(maxPause, pause * 2);
+        }
+        nextReadMillis = nowMillis + pause - readingPause;
+        if (queued.isEmpty()) {
+            logger.debug("Read queue is empty after {} reads ({} failed, {} given up, {} duplicate requests)",
+                    readCount, failedCount, droppedCount, duplicateCount);
+        } else {
+            logger.trace("{} datapoints left to read, pausing {}ms between reads", queued.size(), pause);
+        }
+    }
+
+    /**
+     * Remove all queued datapoints.
+     */
+    public synchronized void clear() {
+        queued.clear();
+        queues.forEach(Deque::clear);
+        pause = readingPause;
+        nextReadMillis = 0;
+    }
+
+    /**
+     * @return number of datapoints waiting to be read
+     */
+    public synchronized int getBacklog() {
+        return queued.size();
+    }
+
+    /**
+     * @param priority priority class
+     * @return number of datapoints of the given priority waiting to be read
+     */
+    public synchronized int getBacklog(ReadPriority priority) {
+        return (int) queued.values().stream().filter(readDatapoint -> readDatapoint.getPriority() == priority)
+                .count();
+    }
+
+    /**
+     * @return number of read requests, including duplicates
+     */
+    public synchronized long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return number of read requests for datapoints which were already queued
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * @return number of reads sent to the bus
+     */
+    public synchronized long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * @return number of reads which have failed
+     */
+    public synchronized long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return number of datapoints given up after the maximum number of attempts
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * @return current pause in milliseconds between two reads
+     */
+    public synchronized long getPause() {
+        return pause;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+/**
+ * Priority class of a read request, in descending priority.
+ *
+ * @author agent - Initial contribution
+ */
+public enum ReadPriority {
+    /**
+     * Explicitly requested read, e.g. a REFRESH command
+     */
+    ON_DEMAND,
+    /**
+     * First read of a datapoint after a thing has been attached to the bus
+     */
+    INITIAL,
+    /**
+     * Periodic read of a datapoint
+     */
+    REFRESH
+}
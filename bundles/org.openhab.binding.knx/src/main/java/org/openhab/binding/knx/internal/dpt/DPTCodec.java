@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.Type;
+
+/**
+ * Converts between the ASDU of a datapoint type and openHAB types without going through Calimero's string
+ * representation.
+ *
+ * A codec is resolved once for a datapoint type id by {@link DPTCodecs#forDPT(String)}. It returns {@code null} for
+ * anything it does not handle, in which case the caller falls back to the {@link KNXCoreTypeMapper}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface DPTCodec {
+
+    /**
+     * Converts the ASDU of a telegram into an openHAB type.
+     *
+     * @param asdu the ASDU, see {@link tuwien.auto.calimero.process.ProcessEvent#getASDU()}
+     * @return the command or state, or {@code null} if the data can't be handled by this codec
+     */
+    @Nullable
+    Type decode(byte[] asdu);
+
+    /**
+     * Converts an openHAB type into the data of a telegram.
+     *
+     * @param type the command or state
+     * @return the data in the format of a Calimero translator, or {@code null} if the type can't be handled by this
+     *         codec
+     */
+    byte @Nullable [] encode(Type type);
+}
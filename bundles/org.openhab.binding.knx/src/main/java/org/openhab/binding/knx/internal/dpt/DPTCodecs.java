@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StopMoveType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.Type;
+
+/**
+ * Provides the {@link DPTCodec}s of the most common datapoint types: 1.x (boolean), 5.x (8-bit unsigned), 9.x (2-byte
+ * float), 14.x (4-byte float) and 232.600 (RGB).
+ *
+ * The codecs map the same openHAB types as {@link KNXCoreTypeMapper}. Float values are converted into the exact
+ * decimal they represent, e.g. 21.37 instead of 21.3700008392334.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class DPTCodecs {
+
+    private static final Map<String, Optional<DPTCodec>> CODECS = new ConcurrentHashMap<>();
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal MAX_BYTE = BigDecimal.valueOf(255);
+
+    private DPTCodecs() {
+        // prevent instantiation
+    }
+
+    /**
+     * Returns the codec of a datapoint type.
+     *
+     * @param dptId the datapoint type id, e.g. "9.001"
+     * @return the codec or {@code null} if the datapoint type has no codec
+     */
+    public static @Nullable DPTCodec forDPT(String dptId) {
+        return CODECS.computeIfAbsent(dptId, id -> Optional.ofNullable(create(id))).orElse(null);
+    }
+
+    private static @Nullable DPTCodec create(String dptId) {
+        int separator = dptId.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        int mainNumber;
+        int subNumber;
+        try {
+            mainNumber = Integer.parseInt(dptId.substring(0, separator));
+            subNumber = Integer.parseInt(dptId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        switch (mainNumber) {
+            case 1:
+                return (subNumber >= 1 && subNumber <= 23) || subNumber == 100 ? new BooleanCodec(subNumber) : null;
+            case 5:
+                return subNumber == 1 || (subNumber >= 3 && subNumber <= 6) || subNumber == 10
+                        ? new Unsigned8BitCodec(subNumber)
+                        : null;
+            case 9:
+                return (subNumber >= 1 && subNumber <= 11) || (subNumber >= 20 && subNumber <= 28)
+                        ? new Float2ByteCodec(subNumber)
+                        : null;
+            case 14:
+                return subNumber >= 0 && subNumber <= 79 ? new Float4ByteCodec() : null;
+            case 232:
+                return subNumber == 600 ? new RGBCodec() : null;
+            default:
+                return null;
+        }
+    }
+
+    private static class BooleanCodec implements DPTCodec {
+        private final int subNumber;
+
+        BooleanCodec(int subNumber) {
+            this.subNumber = subNumber;
+        }
+
+        @Override
+        public @Nullable Type decode(byte[] asdu) {
+            if (asdu.length < 1) {
+                return null;
+            }
+            boolean value = (asdu[0] & 0x01) != 0;
+            switch (subNumber) {
+                case 8:
+                    return value ? UpDownType.DOWN : UpDownType.UP;
+                case 9:
+                case 19:
+                    return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                case 10:
+                    return value ? StopMoveType.MOVE : StopMoveType.STOP;
+                case 22:
+                    return new DecimalType(value ? 1 : 0);
+                default:
+                    return value ? OnOffType.ON : OnOffType.OFF;
+            }
+        }
+
+        @Override
+        public byte @Nullable [] encode(Type type) {
+            boolean value;
+            if (type instanceof OnOffType) {
+                value = type == OnOffType.ON;
+            } else if (type instanceof UpDownType) {
+                value = type == UpDownType.DOWN;
+            } else if (type instanceof OpenClosedType) {
+                value = type == OpenClosedType.OPEN;
+            } else if (type instanceof StopMoveType) {
+                value = type == StopMoveType.MOVE;
+            } else {
+                return null;
+            }
+            return new byte[] { (byte) (value ? 1 : 0) };
+        }
+    }
+
+    private static class Unsigned8BitCodec implements DPTCodec {
+        private final int subNumber;
+
+        Unsigned8BitCodec(int subNumber) {
+            this.subNumber = subNumber;
+        }
+
+        @Override
+        public @Nullable Type decode(byte[] asdu) {
+            if (asdu.length < 1) {
+                return null;
+            }
+            int value = asdu[0] & 0xFF;
+            switch (subNumber) {
+                case 1: // scaling, 0...100 %
+                    return new PercentType((int) Math.round(value * 100.0 / 255));
+                case 3: // angle, 0...360 °
+                    return new DecimalType(Math.round(value * 360.0 / 255));
+                case 4: // percent, 0...255 %
+                    return value <= 100 ? new PercentType(value) : null;
+                default:
+                    return new DecimalType(value);
+            }
+        }
+
+        @Override
+        public byte @Nullable [] encode(Type type) {
+            BigDecimal value;
+            if (type instanceof HSBType) {
+                value = subNumber == 3 ? ((HSBType) type).getHue().toBigDecimal()
+                        : ((HSBType) type).getBrightness().toBigDecimal();
+            } else if (type instanceof PercentType) {
+                value = BigDecimal.valueOf(((PercentType) type).intValue());
+            } else if (type instanceof DecimalType) {
+                value = ((DecimalType) type).toBigDecimal();
+            } else {
+                return null;
+            }
+            long data;
+            switch (subNumber) {
+                case 1:
+                    if (value.signum() < 0 || value.compareTo(HUNDRED) > 0) {
+                        return null;
+                    }
+                    data = Math.round(value.doubleValue() * 255 / 100);
+                    break;
+                case 3:
+                    if (value.signum() < 0 || value.compareTo(BigDecimal.valueOf(360)) > 0) {
+                        return null;
+                    }
+                    data = Math.round(value.doubleValue() * 255 / 360);
+                    break;
+                default:
+                    if (value.signum() < 0 || value.compareTo(MAX_BYTE) > 0
+                            || value.stripTrailingZeros().scale() > 0) {
+                        return null;
+                    }
+                    data = value.longValue();
+                    break;
+            }
+            return new byte[] { (byte) data };
+        }
+    }
+
+    private static class Float2ByteCodec implements DPTCodec {
+        // range of values which can be represented: -2048 * 2^15 / 100 ... 2047 * 2^15 / 100
+        private static final double MIN_VALUE = -671088.64;
+        private static final double MAX_VALUE = 670760.96;
+        private static final int INVALID_DATA = 0x7FFF;
+
+        private final int subNumber;
+
+        Float2ByteCodec(int subNumber) {
+            this.subNumber = subNumber;
+        }
+
+        @Override
+        public @Nullable Type decode(byte[] asdu) {
+            if (asdu.length < 2) {
+                return null;
+            }
+            int raw = (asdu[0] & 0xFF) << 8 | (asdu[1] & 0xFF);
+            if (raw == INVALID_DATA) {
+                return null;
+            }
+            int exponent = (raw >> 11) & 0x0F;
+            int mantissa = raw & 0x07FF;
+            if ((raw & 0x8000) != 0) {
+                mantissa -= 0x0800;
+            }
+            BigDecimal value = BigDecimal.valueOf((long) mantissa << exponent, 2).stripTrailingZeros();
+            if (value.scale() < 0) {
+                value = value.setScale(0);
+            }
+            if (subNumber == 7) { // humidity, 0...100 %
+                long percent = Math.round(value.doubleValue());
+                return percent >= 0 && percent <= 100 ? new PercentType(BigDecimal.valueOf(percent)) : null;
+            }
+            return new DecimalType(value);
+        }
+
+        @Override
+        public byte @Nullable [] encode(Type type) {
+            double value;
+            if (type instanceof HSBType) {
+                return null;
+            } else if (type instanceof PercentType) {
+                value = ((PercentType) type).intValue();
+            } else if (type instanceof DecimalType) {
+                value = ((DecimalType) type).doubleValue();
+            } else {
+                return null;
+            }
+            if (Double.isNaN(value) || value < MIN_VALUE || value > MAX_VALUE) {
+                return null;
+            }
+            double scaled = value * 100;
+            int exponent = 0;
+            while (scaled < -2048 || scaled > 2047) {
+                scaled /= 2;
+                exponent++;
+            }
+            long mantissa = Math.round(scaled);
+            if (exponent > 15) {
+                return null;
+            }
+            int raw = (mantissa < 0 ? 0x8000 : 0) | exponent << 11 | (int) (mantissa & 0x07FF);
+            if (raw == INVALID_DATA) {
+                return null;
+            }
+            return new byte[] { (byte) (raw >> 8), (byte) raw };
+        }
+    }
+
+    private static class Float4ByteCodec implements DPTCodec {
+        @Override
+        public @Nullable Type decode(byte[] asdu) {
+            if (asdu.length < 4) {
+                return null;
+            }
+            int bits = (asdu[0] & 0xFF) << 24 | (asdu[1] & 0xFF) << 16 | (asdu[2] & 0xFF) << 8 | (asdu[3] & 0xFF);
+            float value = Float.intBitsToFloat(bits);
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                return null;
+            }
+            return new DecimalType(new BigDecimal(Float.toString(value)));
+        }
+
+        @Override
+        public byte @Nullable [] encode(Type type) {
+            float value;
+            if (type instanceof HSBType) {
+                return null;
+            } else if (type instanceof PercentType) {
+                value = ((PercentType) type).intValue();
+            } else if (type instanceof DecimalType) {
+                value = ((DecimalType) type).floatValue();
+            } else {
+                return null;
+            }
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                return null;
+            }
+            int bits = Float.floatToIntBits(value);
+            return new byte[] { (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8), (byte) bits };
+        }
+    }
+
+    private static class RGBCodec implements DPTCodec {
+        @Override
+        public @Nullable Type decode(byte[] asdu) {
+            if (asdu.length < 3) {
+                return null;
+            }
+            return HSBType.fromRGB(asdu[0] & 0xFF, asdu[1] & 0xFF, asdu[2] & 0xFF);
+        }
+
+        @Override
+        public byte @Nullable [] encode(Type type) {
+            if (!(type instanceof HSBType)) {
+                return null;
+            }
+            HSBType hsb = (HSBType) type;
+            return new byte[] { toByte(hsb.getRed()), toByte(hsb.getGreen()), toByte(hsb.getBlue()) };
+        }
+
+        // same conversion as KNXCoreTypeMapper.convertPercentToByte()
+        private static byte toByte(PercentType percent) {
+            return (byte) percent.toBigDecimal().multiply(MAX_BYTE).divide(HUNDRED, 2, RoundingMode.HALF_UP)
+                    .intValue();
+        }
+    }
+}
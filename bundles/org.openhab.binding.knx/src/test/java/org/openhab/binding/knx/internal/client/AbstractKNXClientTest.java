@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openhab.core.thing.ThingUID;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+
+/**
+ * Tests the index of the {@link GroupAddressListener}s by group address of the {@link AbstractKNXClient}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AbstractKNXClientTest {
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 1);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 2);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA_UNKNOWN = new GroupAddress(7, 7, 7);
+
+    private final AbstractKNXClient client = new AbstractKNXClient(0, new ThingUID("knx", "ip", "bridge"), 10, 50, 3,
+            mock(ScheduledExecutorService.class), mock(StatusUpdateCallback.class)) {
+        @Override
+        protected KNXNetworkLink establishConnection() throws KNXException, InterruptedException {
+            throw new KNXException("Not connected in tests");
+        }
+    };
+
+    /**
+     * A listener like a thing handler, whose group addresses change when its channels are reconfigured.
+     */
+    private static class TestListener implements GroupAddressListener {
+        private Set<GroupAddress> groupAddresses;
+
+        TestListener(GroupAddress... groupAddresses) {
+            this.groupAddresses = Set.of(groupAddresses);
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+    }
+
+    @Test
+    public void testListenerWithSeveralAddresses() {
+        TestListener first = new TestListener(GA_1, GA_2);
+        TestListener second = new TestListener(GA_2);
+
+        assertTrue(client.registerGroupAddressListener(first));
+        assertTrue(client.registerGroupAddressListener(second));
+
+        assertEquals(Set.of(first), client.getGroupAddressListeners(GA_1));
+        assertEquals(Set.of(first, second), client.getGroupAddressListeners(GA_2));
+        assertTrue(client.getGroupAddressListeners(GA_3).isEmpty());
+    }
+
+    @Test
+    public void testUnregister() {
+        TestListener first = new TestListener(GA_1, GA_2);
+        TestListener second = new TestListener(GA_2);
+        client.registerGroupAddressListener(first);
+        client.registerGroupAddressListener(second);
+
+        assertTrue(client.unregisterGroupAddressListener(first));
+
+        assertTrue(client.getGroupAddressListeners(GA_1).isEmpty());
+        assertEquals(Set.of(second), client.getGroupAddressListeners(GA_2));
+
+        assertTrue(client.unregisterGroupAddressListener(second));
+        assertFalse(client.unregisterGroupAddressListener(second));
+        assertTrue(client.getGroupAddressListeners(GA_2).isEmpty());
+    }
+
+    @Test
+    public void testReconfiguredListener() {
+        TestListener listener = new TestListener(GA_1, GA_2);
+        client.registerGroupAddressListener(listener);
+
+        // the channels have been reconfigured, the listener is registered again
+        listener.groupAddresses = Set.of(GA_2, GA_3);
+        assertFalse(client.registerGroupAddressListener(listener));
+
+        assertTrue(client.getGroupAddressListeners(GA_1).isEmpty());
+        assertEquals(Set.of(listener), client.getGroupAddressListeners(GA_2));
+        assertEquals(Set.of(listener), client.getGroupAddressListeners(GA_3));
+
+        // the addresses which were indexed are removed, even if the listener has changed in the meantime
+        listener.groupAddresses = Set.of(GA_1);
+        assertTrue(client.unregisterGroupAddressListener(listener));
+        assertTrue(client.getGroupAddressListeners(GA_2).isEmpty());
+        assertTrue(client.getGroupAddressListeners(GA_3).isEmpty());
+    }
+
+    @Test
+    public void testUnknownAddress() {
+        client.registerGroupAddressListener(new TestListener(GA_1));
+
+        assertTrue(client.getGroupAddressListeners(GA_UNKNOWN).isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ReadDatapointSchedulerTest {
+
+    private static final int READING_PAUSE = 50;
+
+    private final ReadDatapointScheduler scheduler = new ReadDatapointScheduler(READING_PAUSE);
+
+    private static Datapoint datapoint(int address) {
+        return new CommandDP(new GroupAddress(address), "test", 0, "1.001");
+    }
+
+    private @Nullable GroupAddress pollAddress(long now) {
+        ReadDatapoint readDatapoint = scheduler.poll(now);
+        return readDatapoint == null ? null : readDatapoint.getDatapoint().getMainAddress();
+    }
+
+    @Test
+    public void testDuplicatesAreQueuedOnce() {
+        assertTrue(scheduler.add(datapoint(1), 3, ReadPriority.INITIAL));
+        assertFalse(scheduler.add(datapoint(1), 3, ReadPriority.INITIAL));
+        assertFalse(scheduler.add(datapoint(1), 3, ReadPriority.REFRESH));
+
+        assertEquals(1, scheduler.getBacklog());
+        assertEquals(3, scheduler.getRequestCount());
+        assertEquals(2, scheduler.getDuplicateCount());
+        assertEquals(new GroupAddress(1), pollAddress(0));
+        assertNull(scheduler.poll(0));
+        assertEquals(0, scheduler.getBacklog());
+    }
+
+    @Test
+    public void testPriorities() {
+        scheduler.add(datapoint(1), 3, ReadPriority.REFRESH);
+        scheduler.add(datapoint(2), 3, ReadPriority.INITIAL);
+        scheduler.add(datapoint(3), 3, ReadPriority.REFRESH);
+        scheduler.add(datapoint(4), 3, ReadPriority.ON_DEMAND);
+        // moves the queued refresh up
+        scheduler.add(datapoint(3), 3, ReadPriority.ON_DEMAND);
+
+        assertEquals(2, scheduler.getBacklog(ReadPriority.ON_DEMAND));
+        assertEquals(new GroupAddress(4), pollAddress(0));
+        assertEquals(new GroupAddress(3), pollAddress(0));
+        assertEquals(new GroupAddress(2), pollAddress(0));
+        assertEquals(new GroupAddress(1), pollAddress(0));
+        assertNull(scheduler.poll(0));
+    }
+
+    @Test
+    public void testRetry() {
+        scheduler.add(datapoint(1), 3, ReadPriority.INITIAL);
+        scheduler.add(datapoint(2), 3, ReadPriority.INITIAL);
+
+        ReadDatapoint first = scheduler.poll(0);
+        assertNotNull(first);
+        scheduler.retry(first);
+        assertEquals(new GroupAddress(2), pollAddress(0));
+        assertSame(first, scheduler.poll(0));
+
+        // requested again in the meantime, the retry is not needed anymore
+        scheduler.add(datapoint(1), 3, ReadPriority.ON_DEMAND);
+        scheduler.retry(first);
+        assertEquals(1, scheduler.getBacklog());
+        ReadDatapoint again = scheduler.poll(0);
+        assertNotNull(again);
+        assertEquals(ReadPriority.ON_DEMAND, again.getPriority());
+    }
+
+    @Test
+    public void testPauseAdaptsToLatency() {
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(datapoint(i), 3, ReadPriority.INITIAL);
+        }
+        assertNotNull(scheduler.poll(0));
+        scheduler.readCompleted(1000, 10, true);
+        assertEquals(READING_PAUSE, scheduler.getPause());
+        // the caller waits the reading pause itself
+        assertNotNull(scheduler.poll(1000));
+
+        scheduler.readCompleted(2000, 10, false);
+        assertEquals(2 * READING_PAUSE, scheduler.getPause());
+        assertNull(scheduler.poll(2000 + READING_PAUSE - 1));
+        assertNotNull(scheduler.poll(2000 + READING_PAUSE));
+
+        // slow answers slow the reads down
+        scheduler.readCompleted(3000, 1000, true);
+        assertTrue(scheduler.getPause() > 2 * READING_PAUSE);
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.readCompleted(4000, 10, true);
+        }
+        assertEquals(READING_PAUSE, scheduler.getPause());
+        assertEquals(103, scheduler.getReadCount());
+        assertEquals(1, scheduler.getFailedCount());
+    }
+
+    @Test
+    public void testClear() {
+        scheduler.add(datapoint(1), 3, ReadPriority.INITIAL);
+        scheduler.readCompleted(1000, 10, false);
+        scheduler.clear();
+
+        assertEquals(0, scheduler.getBacklog());
+        assertEquals(READING_PAUSE, scheduler.getPause());
+        assertTrue(scheduler.add(datapoint(1), 3, ReadPriority.INITIAL));
+        assertNotNull(scheduler.poll(0));
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StopMoveType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Verifies the {@link DPTCodecs} against the {@link KNXCoreTypeMapper}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DPTCodecsTest {
+
+    private final KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+
+    private static DPTCodec codec(String dpt) {
+        DPTCodec codec = DPTCodecs.forDPT(dpt);
+        assertNotNull(codec);
+        return codec;
+    }
+
+    private Type mapperType(String dpt, byte[] asdu) {
+        Type type = mapper.toType(new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt), asdu);
+        assertNotNull(type);
+        return type;
+    }
+
+    private byte[] mapperData(String dpt, Type type) throws KNXException {
+        String value = mapper.toDPTValue(type, dpt);
+        assertNotNull(value);
+        DPTXlator translator = TranslatorTypes.createTranslator(0, dpt);
+        translator.setValue(value);
+        return translator.getData();
+    }
+
+    private void assertSameDecoding(String dpt, byte[] asdu) {
+        Type expected = mapperType(dpt, asdu);
+        Type actual = codec(dpt).decode(asdu);
+        assertNotNull(actual);
+        assertEquals(expected.getClass(), actual.getClass(), dpt);
+        if (expected instanceof DecimalType && !(expected instanceof PercentType)) {
+            // the mapper goes through float values, the codecs decode the exact value
+            double value = ((DecimalType) expected).doubleValue();
+            assertEquals(value, ((DecimalType) actual).doubleValue(), Math.abs(value) * 1e-6 + 1e-9, dpt);
+        } else {
+            assertEquals(expected, actual, dpt);
+        }
+    }
+
+    private void assertSameEncoding(String dpt, Type type) throws KNXException {
+        assertArrayEquals(mapperData(dpt, type), codec(dpt).encode(type), dpt + " " + type);
+    }
+
+    @Test
+    public void testUnsupportedDPT() {
+        assertNull(DPTCodecs.forDPT("7.001"));
+        assertNull(DPTCodecs.forDPT("232.601"));
+        assertNull(DPTCodecs.forDPT("invalid"));
+        assertSame(DPTCodecs.forDPT("9.001"), DPTCodecs.forDPT("9.001"));
+    }
+
+    @Test
+    public void testBoolean() throws KNXException {
+        for (String dpt : new String[] { "1.001", "1.008", "1.009", "1.010", "1.019", "1.022" }) {
+            assertSameDecoding(dpt, new byte[] { 0 });
+            assertSameDecoding(dpt, new byte[] { 1 });
+        }
+        assertSameEncoding("1.001", OnOffType.ON);
+        assertSameEncoding("1.001", OnOffType.OFF);
+        assertSameEncoding("1.008", UpDownType.UP);
+        assertSameEncoding("1.008", UpDownType.DOWN);
+        assertSameEncoding("1.009", OpenClosedType.OPEN);
+        assertSameEncoding("1.019", OpenClosedType.CLOSED);
+        assertSameEncoding("1.010", StopMoveType.MOVE);
+    }
+
+    @Test
+    public void testUnsigned8Bit() throws KNXException {
+        for (int i = 0; i < 256; i++) {
+            byte[] asdu = new byte[] { (byte) i };
+            assertSameDecoding("5.001", asdu);
+            assertSameDecoding("5.003", asdu);
+            assertSameDecoding("5.010", asdu);
+        }
+        for (int percent : new int[] { 0, 1, 33, 50, 99, 100 }) {
+            assertSameEncoding("5.001", new PercentType(percent));
+        }
+        assertSameEncoding("5.001", new HSBType("120,50,75"));
+        assertSameEncoding("5.003", new HSBType("120,50,75"));
+        assertSameEncoding("5.010", new DecimalType(200));
+        assertNull(codec("5.010").encode(new DecimalType(256)));
+        assertNull(codec("5.001").encode(OnOffType.ON));
+    }
+
+    @Test
+    public void testFloat2Byte() throws KNXException {
+        for (int i = 0; i < 0x10000; i += 7) {
+            if (i != 0x7FFF) {
+                assertSameDecoding("9.002", new byte[] { (byte) (i >> 8), (byte) i });
+            }
+        }
+        assertSameDecoding("9.007", new byte[] { 0x0C, 0x1A });
+        assertEquals(new DecimalType("21.5"), codec("9.001").decode(new byte[] { 0x0C, 0x33 }));
+        for (String value : new String[] { "0", "0.01", "21.5", "-10", "1000", "-273" }) {
+            assertSameEncoding("9.001", new DecimalType(value));
+        }
+        assertNull(codec("9.001").encode(new DecimalType(700000)));
+    }
+
+    @Test
+    public void testFloat4Byte() throws KNXException {
+        for (String value : new String[] { "0", "21.37", "-1.5", "123456.7", "3.0E20" }) {
+            byte[] data = codec("14.019").encode(new DecimalType(value));
+            assertNotNull(data);
+            assertSameDecoding("14.019", data);
+            assertSameEncoding("14.019", new DecimalType(value));
+        }
+        byte[] data = codec("14.019").encode(new DecimalType("21.37"));
+        assertNotNull(data);
+        assertEquals(new DecimalType("21.37"), codec("14.019").decode(data));
+    }
+
+    @Test
+    public void testRGB() throws KNXException {
+        assertSameDecoding("232.600", new byte[] { (byte) 255, 0, 0 });
+        assertSameDecoding("232.600", new byte[] { 12, (byte) 200, 99 });
+        assertSameEncoding("232.600", new HSBType("0,100,100"));
+        assertSameEncoding("232.600", new HSBType("200,40,60"));
+        assertNull(codec("232.600").encode(new PercentType(50)));
+    }
+}
@@ -59,13 +59,13 @@ public abstract class AbstractLogFileReader implements LogFileReader {
     }
 
     /**
-     * Send read log line to all registered listeners.
+     * Send a batch of read log lines to all registered listeners.
      *
      */
-    public void sendLineToListeners(String line) {
+    public void sendLinesToListeners(List<String> lines) {
         for (FileReaderListener fileReaderListener : fileReaderListeners) {
             try {
-                fileReaderListener.handle(line);
+                fileReaderListener.handle(lines);
             } catch (Exception e) {
                 // catch all exceptions give all handlers a fair chance of handling the messages
                 logger.debug("An exception occurred while calling the FileReaderListener. ", e);
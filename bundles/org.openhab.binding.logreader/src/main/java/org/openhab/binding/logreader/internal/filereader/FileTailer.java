@@ -12,13 +12,29 @@
  */
 package org.openhab.binding.logreader.internal.filereader;
 
-import java.io.File;
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
-import org.apache.commons.io.input.TailerListenerAdapter;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
@@ -26,46 +42,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Apache Tailer based log file reader implementation.
+ * NIO based log file reader implementation.
+ *
+ * The file is read with large buffers through a {@link FileChannel} and the lines of each buffer are sent to the
+ * listeners as one batch. A {@link WatchService} on the log directory wakes the reader up as soon as the file is
+ * modified, the refresh rate is only the maximum delay if the file system doesn't deliver notifications.
  *
  * @author Pauli Anttila - Initial contribution
  */
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
-    private Tailer tailer;
     private ExecutorService executor;
-
-    TailerListener logListener = new TailerListenerAdapter() {
-
-        @Override
-        public void handle(@Nullable String line) {
-            sendLineToListeners(line);
-        }
-
-        @Override
-        public void fileNotFound() {
-            sendFileNotFoundToListeners();
-        }
-
-        @Override
-        public void handle(@Nullable Exception e) {
-            sendExceptionToListeners(e);
-        }
-
-        @Override
-        public void fileRotated() {
-            sendFileRotationToListeners();
-        }
-    };
+    private volatile boolean running;
 
     @Override
     public void start(String filePath, long refreshRate) throws FileReaderException {
-        tailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
         executor = Executors.newSingleThreadExecutor();
+        running = true;
         try {
             logger.debug("Start executor");
+            Tailer tailer = new Tailer(Paths.get(filePath).toAbsolutePath(), refreshRate);
             executor.execute(tailer);
             logger.debug("Executor started");
         } catch (Exception e) {
@@ -76,12 +77,270 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
     @Override
     public void stop() {
         logger.debug("Shutdown");
-        if (tailer != null) {
-            tailer.stop();
-        }
+        running = false;
         if (executor != null) {
-            executor.shutdown();
+            executor.shutdownNow();
+        }
+        logger.debug("Shutdown complete");
+    }
+
+    /**
+     * Read the attributes of the log file. Package-private, so tests can emulate file systems without file keys.
+     */
+    BasicFileAttributes readAttributes(Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class);
+    }
+
+    private class Tailer implements Runnable {
+        private final Path path;
+        private final long refreshRate;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        private @Nullable FileChannel channel;
+        private @Nullable Object fileKey;
+        // false until a file has been opened and after a rotation, i.e. the position doesn't refer to the file
+        private boolean positionValid = false;
+        private long position;
+        private boolean fileFound = true;
+
+        // bytes of an incomplete line at the end of the last read
+        private byte[] partialLine = new byte[256];
+        private int partialLength = 0;
+
+        Tailer(Path path, long refreshRate) {
+            this.path = path;
+            this.refreshRate = refreshRate;
+        }
+
+        @Override
+        public void run() {
+            WatchService watcher = createWatcher();
+            try {
+                open(true);
+                while (running) {
+                    if (!waitForChange(watcher)) {
+                        break;
+                    }
+                    tail();
+                }
+            } catch (RuntimeException e) {
+                sendExceptionToListeners(e);
+            } finally {
+                close();
+                if (watcher != null) {
+                    try {
+                        watcher.close();
+                    } catch (IOException e) {
+                        logger.debug("Failed to close watch service: {}", e.getMessage());
+                    }
+                }
+            }
+        }
+
+        private @Nullable WatchService createWatcher() {
+            Path dir = path.getParent();
+            if (dir == null) {
+                return null;
+            }
+            WatchService watcher = null;
+            try {
+                watcher = FileSystems.getDefault().newWatchService();
+                dir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return watcher;
+            } catch (IOException | UnsupportedOperationException e) {
+                // e.g. the directory does not exist yet, fall back to polling the file
+                logger.debug("Cannot watch directory '{}', polling the file instead: {}", dir, e.getMessage());
+                if (watcher != null) {
+                    try {
+                        watcher.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+                return null;
+            }
+        }
+
+        /**
+         * Wait until the file system reports a change in the log directory or the refresh rate has elapsed.
+         *
+         * @return false if the reader has been stopped
+         */
+        private boolean waitForChange(@Nullable WatchService watcher) {
+            try {
+                if (watcher == null) {
+                    Thread.sleep(refreshRate);
+                    return running;
+                }
+                WatchKey key = watcher.poll(refreshRate, TimeUnit.MILLISECONDS);
+                // drain all pending notifications, they are handled by one read
+                while (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                    key = watcher.poll();
+                }
+                return running;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ClosedWatchServiceException e) {
+                return false;
+            }
+        }
+
+        private void tail() {
+            if (channel == null && !open(false)) {
+                return;
+            }
+            try {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = readAttributes(path);
+                } catch (NoSuchFileException e) {
+                    // the file has been moved away, read what has been written to it so far and wait for the new file
+                    read();
+                    return;
+                }
+                Object key = attributes.fileKey();
+                if (fileKey != null && key != null && !fileKey.equals(key)) {
+                    // the file has been moved away and replaced by a new one
+                    read();
+                    flushPartialLine();
+                    close();
+                    positionValid = false;
+                    sendFileRotationToListeners();
+                    open(false);
+                } else if (attributes.size() < position) {
+                    // the file has been truncated
+                    partialLength = 0;
+                    position = 0;
+                    sendFileRotationToListeners();
+                }
+                read();
+            } catch (IOException e) {
+                sendExceptionToListeners(e);
+                close();
+            }
+        }
+
+        /**
+         * Open the log file.
+         *
+         * @param atEnd true: only lines written after opening a new file are read
+         * @return true if the file has been opened
+         */
+        private boolean open(boolean atEnd) {
+            try {
+                FileChannel newChannel = FileChannel.open(path, StandardOpenOption.READ);
+                try {
+                    Object key = readAttributes(path).fileKey();
+                    if (!positionValid || (key != null && !key.equals(fileKey))) {
+                        position = atEnd ? newChannel.size() : 0;
+                        partialLength = 0;
+                    }
+                    // else the same file is opened again after an error, continue where reading stopped. Without file
+                    // keys (e.g. on Windows) a replaced file is only detected by tail() if it is smaller.
+                    fileKey = key;
+                    positionValid = true;
+                } catch (IOException e) {
+                    newChannel.close();
+                    throw e;
+                }
+                channel = newChannel;
+                fileFound = true;
+                return true;
+            } catch (NoSuchFileException e) {
+                if (fileFound) {
+                    fileFound = false;
+                    sendFileNotFoundToListeners();
+                }
+            } catch (IOException e) {
+                sendExceptionToListeners(e);
+            }
+            return false;
+        }
+
+        private void close() {
+            FileChannel oldChannel = channel;
+            channel = null;
+            if (oldChannel != null) {
+                try {
+                    oldChannel.close();
+                } catch (IOException e) {
+                    logger.debug("Failed to close log file: {}", e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Read everything written to the file since the last read, each buffer is sent as one batch of lines.
+         */
+        private void read() throws IOException {
+            FileChannel currentChannel = channel;
+            if (currentChannel == null) {
+                return;
+            }
+            while (running) {
+                buffer.clear();
+                int count = currentChannel.read(buffer, position);
+                if (count <= 0) {
+                    break;
+                }
+                position += count;
+                List<String> lines = splitLines(buffer.array(), count);
+                if (!lines.isEmpty()) {
+                    sendLinesToListeners(lines);
+                }
+            }
+        }
+
+        private List<String> splitLines(byte[] bytes, int length) {
+            List<String> lines = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] == '\n') {
+                    if (partialLength > 0) {
+                        appendPartialLine(bytes, start, i - start);
+                        lines.add(decode(partialLine, 0, partialLength));
+                        partialLength = 0;
+                    } else {
+                        lines.add(decode(bytes, start, i - start));
+                    }
+                    start = i + 1;
+                }
+            }
+            if (start < length) {
+                appendPartialLine(bytes, start, length - start);
+                if (partialLength > MAX_LINE_LENGTH) {
+                    // don't buffer unlimited data if the file doesn't contain line breaks
+                    lines.add(decode(partialLine, 0, partialLength));
+                    partialLength = 0;
+                }
+            }
+            return lines;
+        }
+
+        private void appendPartialLine(byte[] bytes, int offset, int length) {
+            if (partialLength + length > partialLine.length) {
+                partialLine = Arrays.copyOf(partialLine, Math.max(partialLine.length * 2, partialLength + length));
+            }
+            System.arraycopy(bytes, offset, partialLine, partialLength, length);
+            partialLength += length;
+        }
+
+        private void flushPartialLine() {
+            if (partialLength > 0) {
+                sendLinesToListeners(List.of(decode(partialLine, 0, partialLength)));
+                partialLength = 0;
+            }
+        }
+
+        private String decode(byte[] bytes, int offset, int length) {
+            // UTF-8 never contains a '\n' or '\r' byte within a multi-byte character, so the bytes can be split first
+            int end = offset + length;
+            if (end > offset && bytes[end - 1] == '\r') {
+                end--;
+            }
+            return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
         }
-        logger.debug("Shutdown complite");
     }
 }
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.logreader.internal.filereader.api;
 
+import java.util.List;
+
 /**
  * Interface for file reader listeners.
  *
@@ -31,11 +33,11 @@ public interface FileReaderListener {
     void fileRotated();
 
     /**
-     * This method is called when new line is detected.
+     * This method is called when new lines are detected.
      *
-     * @param line the line.
+     * @param lines the lines in the order they have been written, never empty.
      */
-    void handle(String line);
+    void handle(List<String> lines);
 
     /**
      * This method is called when exception has occurred.
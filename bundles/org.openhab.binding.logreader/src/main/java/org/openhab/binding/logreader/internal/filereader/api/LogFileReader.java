@@ -39,7 +39,7 @@ public interface LogFileReader {
      * Start log file reader.
      *
      * @param filePath file to read.
-     * @param refreshRate how often file is read.
+     * @param refreshRate how often file is read if no file change notification is received.
      * @throws FileReaderException
      */
     void start(String filePath, long refreshRate) throws FileReaderException;
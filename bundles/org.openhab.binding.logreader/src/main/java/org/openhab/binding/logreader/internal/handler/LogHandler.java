@@ -15,6 +15,8 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.PatternSyntaxException;
 
 import org.openhab.binding.logreader.internal.config.LogReaderConfiguration;
@@ -43,6 +45,8 @@ import org.slf4j.LoggerFactory;
  * @author Pauli Anttila - Rewrite
  */
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
+    private static final long STATISTICS_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
 
     private LogReaderConfiguration configuration;
@@ -53,6 +57,9 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private SearchEngine warningEngine;
     private SearchEngine customEngine;
 
+    private long statisticsStart;
+    private long statisticsLines;
+
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
         this.fileReader = fileReader;
@@ -98,7 +105,7 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
             errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
             customEngine = new SearchEngine(configuration.customPatterns, configuration.customBlacklistingPatterns);
-
+            clearStatistics(System.nanoTime());
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
@@ -171,8 +178,8 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     }
 
     @Override
-    public void handle(String line) {
-        if (line == null) {
+    public void handle(List<String> lines) {
+        if (lines.isEmpty()) {
             return;
         }
 
@@ -180,23 +187,60 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
-        if (errorEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
-            triggerChannel(CHANNEL_NEWERROR, line);
+        search(lines, errorEngine, CHANNEL_ERRORS, CHANNEL_LASTERROR, CHANNEL_NEWERROR);
+        search(lines, warningEngine, CHANNEL_WARNINGS, CHANNEL_LASTWARNING, CHANNEL_NEWWARNING);
+        search(lines, customEngine, CHANNEL_CUSTOMEVENTS, CHANNEL_LASTCUSTOMEVENT, CHANNEL_NEWCUSTOM);
+
+        updateStatistics(lines.size());
+    }
+
+    /**
+     * Search a batch of lines. Every matching line is triggered, the counter and last event channels are only updated
+     * once per batch.
+     */
+    private void search(List<String> lines, SearchEngine engine, String countChannel, String lastEventChannel,
+            String triggerChannel) {
+        String lastMatch = null;
+        for (String line : lines) {
+            String pattern = engine.getMatchingPattern(line);
+            if (pattern != null) {
+                logger.trace("Pattern '{}' found in line '{}'", pattern, line);
+                triggerChannel(triggerChannel, line);
+                lastMatch = line;
+            }
         }
-        if (warningEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
-            triggerChannel(CHANNEL_NEWWARNING, line);
+        if (lastMatch != null) {
+            updateChannelIfLinked(countChannel, new DecimalType(engine.getMatchCount()));
+            updateChannelIfLinked(lastEventChannel, new StringType(lastMatch));
         }
-        if (customEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
-            triggerChannel(CHANNEL_NEWCUSTOM, line);
+    }
+
+    private void updateStatistics(int lines) {
+        long now = System.nanoTime();
+        statisticsLines += lines;
+        long elapsed = now - statisticsStart;
+        if (elapsed >= STATISTICS_INTERVAL) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Read {} lines/s, match rate errors {}%, warnings {}%, custom events {}%",
+                        String.format("%.1f", statisticsLines * 1e9 / elapsed), formatRate(errorEngine),
+                        formatRate(warningEngine), formatRate(customEngine));
+            }
+            clearStatistics(now);
         }
     }
 
+    private String formatRate(SearchEngine engine) {
+        return String.format("%.2f", engine.getMatchRate() * 100);
+    }
+
+    private void clearStatistics(long now) {
+        statisticsStart = now;
+        statisticsLines = 0;
+        errorEngine.clearStatistics();
+        warningEngine.clearStatistics();
+        customEngine.clearStatistics();
+    }
+
     @Override
     public void handle(Exception ex) {
         final String msg = ex != null ? ex.getMessage() : "";
@@ -12,8 +12,6 @@
  */
 package org.openhab.binding.logreader.internal.searchengine;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -23,14 +21,19 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * This class implements logic for regular expression based searching.
  *
+ * The search patterns are combined into one alternation, so each line is scanned once for all patterns. Every pattern
+ * is wrapped into a capturing group to identify which one has matched.
+ *
  * @author Pauli Anttila - Initial contribution
  */
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private final PatternSet matchers;
+    private final PatternSet blacklistingMatchers;
 
     private long matchCount;
+    private long searchedLines;
+    private long matchedLines;
 
     /**
      * Initialize search patterns.
@@ -40,8 +43,8 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        matchers = new PatternSet(patterns);
+        blacklistingMatchers = new PatternSet(blacklistingPatterns);
     }
 
     /**
@@ -51,13 +54,24 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
-            if (notBlacklisted(data)) {
-                matchCount++;
-                return true;
-            }
+        return getMatchingPattern(data) != null;
+    }
+
+    /**
+     * Get the search pattern the data is matching to.
+     *
+     * @param data data against search will be done.
+     * @return the first search pattern found, or null if no search pattern is found or the data is blacklisted.
+     */
+    public @Nullable String getMatchingPattern(String data) {
+        searchedLines++;
+        int index = matchers.find(data);
+        if (index >= 0 && blacklistingMatchers.find(data) < 0) {
+            matchCount++;
+            matchedLines++;
+            return matchers.patterns[index];
         }
-        return false;
+        return null;
     }
 
     public long getMatchCount() {
@@ -73,38 +87,111 @@ public class SearchEngine {
     }
 
     /**
-     * Split pattern string and precompile search patterns.
+     * @return number of searched lines since the statistics have been cleared.
+     */
+    public long getSearchedLines() {
+        return searchedLines;
+    }
+
+    /**
+     * @return share of the searched lines which have been matching, between 0 and 1.
+     */
+    public double getMatchRate() {
+        return searchedLines > 0 ? (double) matchedLines / searchedLines : 0;
+    }
+
+    public void clearStatistics() {
+        searchedLines = 0;
+        matchedLines = 0;
+    }
+
+    /**
+     * Precompiled search patterns.
      *
-     * @param patterns patterns which will handled.
-     * @return list of precompiled patterns. If pattern parameter is null, empty list is returned.
+     * Patterns containing back references are not added to the alternation, because the additional groups would
+     * change their group numbers. They are searched separately, as well as all patterns if the alternation can't be
+     * compiled (e.g. because of a comment in a pattern using the COMMENTS flag).
      */
-    private List<Pattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
-        List<Pattern> patternsList = new ArrayList<>();
-
-        if (patterns != null && !patterns.isEmpty()) {
-            String list[] = patterns.split("\\|");
-            if (list.length > 0) {
-                for (String patternStr : list) {
-                    patternsList.add(Pattern.compile(patternStr));
+    private static class PatternSet {
+        private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
+        private final String[] patterns;
+        private final @Nullable Pattern combined;
+        // group of each pattern in the alternation, or -1 if it is searched separately
+        private final int[] groups;
+        private final @Nullable Pattern[] separate;
+
+        /**
+         * Split pattern string and precompile search patterns.
+         *
+         * @param patterns patterns which will handled. If pattern parameter is null, nothing is matching.
+         */
+        PatternSet(@Nullable String patterns) throws PatternSyntaxException {
+            this.patterns = patterns != null && !patterns.isEmpty() ? patterns.split("\\|") : new String[0];
+            Pattern[] compiled = new Pattern[this.patterns.length];
+            groups = new int[this.patterns.length];
+            separate = new Pattern[this.patterns.length];
+
+            StringBuilder alternation = new StringBuilder();
+            int group = 1;
+            for (int i = 0; i < this.patterns.length; i++) {
+                // compile each pattern on its own first, so a syntax error refers to the configured pattern
+                compiled[i] = Pattern.compile(this.patterns[i]);
+                if (BACK_REFERENCE.matcher(this.patterns[i]).find()) {
+                    groups[i] = -1;
+                    separate[i] = compiled[i];
+                } else {
+                    if (alternation.length() > 0) {
+                        alternation.append('|');
+                    }
+                    alternation.append('(').append(this.patterns[i]).append(')');
+                    groups[i] = group;
+                    group += 1 + compiled[i].matcher("").groupCount();
                 }
             }
-        }
-        return patternsList;
-    }
 
-    private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
-    }
+            Pattern pattern = null;
+            if (alternation.length() > 0) {
+                try {
+                    pattern = Pattern.compile(alternation.toString());
+                    if (pattern.matcher("").groupCount() != group - 1) {
+                        pattern = null;
+                    }
+                } catch (PatternSyntaxException e) {
+                    pattern = null;
+                }
+                if (pattern == null) {
+                    for (int i = 0; i < this.patterns.length; i++) {
+                        groups[i] = -1;
+                        separate[i] = compiled[i];
+                    }
+                }
+            }
+            combined = pattern;
+        }
 
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
-        if (patterns != null) {
-            for (Pattern pattern : patterns) {
+        /**
+         * @return index of the first pattern found in data, or -1 if no pattern is found.
+         */
+        int find(String data) {
+            Pattern pattern = combined;
+            if (pattern != null) {
                 Matcher matcher = pattern.matcher(data);
                 if (matcher.find()) {
-                    return true;
+                    for (int i = 0; i < groups.length; i++) {
+                        if (groups[i] > 0 && matcher.start(groups[i]) >= 0) {
+                            return i;
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < separate.length; i++) {
+                Pattern separatePattern = separate[i];
+                if (separatePattern != null && separatePattern.matcher(data).find()) {
+                    return i;
                 }
             }
+            return -1;
         }
-        return false;
     }
 }
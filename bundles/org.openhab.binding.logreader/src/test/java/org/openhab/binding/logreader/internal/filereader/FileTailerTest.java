@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests the {@link FileTailer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FileTailerTest {
+    private static final long REFRESH_RATE = 20;
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private @TempDir @NonNullByDefault({}) Path folder;
+    private @NonNullByDefault({}) Path file;
+
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private final List<Exception> exceptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger notFound = new AtomicInteger();
+    private final AtomicInteger rotations = new AtomicInteger();
+
+    private final FileReaderListener listener = new FileReaderListener() {
+        @Override
+        public void fileNotFound() {
+            notFound.incrementAndGet();
+        }
+
+        @Override
+        public void fileRotated() {
+            rotations.incrementAndGet();
+        }
+
+        @Override
+        public void handle(List<String> newLines) {
+            lines.addAll(newLines);
+        }
+
+        @Override
+        public void handle(Exception ex) {
+            exceptions.add(ex);
+        }
+    };
+
+    private @Nullable FileTailer tailer;
+
+    /**
+     * Emulates a file system without file keys, which can fail to read the attributes on demand.
+     */
+    private static class NoFileKeyTailer extends FileTailer {
+        private volatile boolean fail;
+
+        @Override
+        BasicFileAttributes readAttributes(Path path) throws IOException {
+            if (fail) {
+                fail = false;
+                throw new IOException("Emulated read error");
+            }
+            BasicFileAttributes attributes = super.readAttributes(path);
+            return new BasicFileAttributes() {
+                @Override
+                public @Nullable Object fileKey() {
+                    return null;
+                }
+
+                @Override
+                public long size() {
+                    return attributes.size();
+                }
+
+                @Override
+                public FileTime lastModifiedTime() {
+                    return attributes.lastModifiedTime();
+                }
+
+                @Override
+                public FileTime lastAccessTime() {
+                    return attributes.lastAccessTime();
+                }
+
+                @Override
+                public FileTime creationTime() {
+                    return attributes.creationTime();
+                }
+
+                @Override
+                public boolean isRegularFile() {
+                    return attributes.isRegularFile();
+                }
+
+                @Override
+                public boolean isDirectory() {
+                    return attributes.isDirectory();
+                }
+
+                @Override
+                public boolean isSymbolicLink() {
+                    return attributes.isSymbolicLink();
+                }
+
+                @Override
+                public boolean isOther() {
+                    return attributes.isOther();
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        file = folder.resolve("openhab.log");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        FileTailer tailer = this.tailer;
+        if (tailer != null) {
+            tailer.stop();
+        }
+    }
+
+    /**
+     * Start tailing the log file, which doesn't exist yet. The file is created after the reader has noticed that it
+     * is missing, so everything written to it is read.
+     */
+    private void start(FileTailer tailer) throws FileReaderException {
+        this.tailer = tailer;
+        tailer.registerListener(listener);
+        tailer.start(file.toString(), REFRESH_RATE);
+        waitFor(() -> notFound.get() == 1);
+    }
+
+    private void append(String text) throws IOException {
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void waitForLines(String... expected) {
+        waitFor(() -> lines.size() >= expected.length);
+        assertEquals(List.of(expected), lines);
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long end = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end) {
+                fail("Timeout");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    @Test
+    public void testExistingContentIsSkipped() throws IOException, FileReaderException {
+        append("old line\n");
+        FileTailer tailer = new FileTailer();
+        this.tailer = tailer;
+        tailer.registerListener(listener);
+        tailer.start(file.toString(), REFRESH_RATE);
+
+        // the file is opened asynchronously, so write new lines until one has been read
+        waitFor(() -> {
+            try {
+                append("new line\n");
+            } catch (IOException e) {
+                fail(e);
+            }
+            return !lines.isEmpty();
+        });
+        assertEquals("new line", lines.get(0));
+        assertFalse(lines.contains("old line"));
+    }
+
+    @Test
+    public void testLines() throws IOException, FileReaderException {
+        start(new FileTailer());
+
+        append("first\nsecond\n\nfourth\n");
+        waitForLines("first", "second", "", "fourth");
+        assertEquals(0, rotations.get());
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testPartialLine() throws IOException, FileReaderException {
+        start(new FileTailer());
+
+        append("first\nsec");
+        waitForLines("first");
+        append("ond");
+        append("\nthird\n");
+        waitForLines("first", "second", "third");
+    }
+
+    @Test
+    public void testCrLf() throws IOException, FileReaderException {
+        start(new FileTailer());
+
+        append("first\r\nsec");
+        waitForLines("first");
+        append("ond\r");
+        append("\nthi\rrd\r\n");
+        waitForLines("first", "second", "thi\rrd");
+    }
+
+    @Test
+    public void testLongLine() throws IOException, FileReaderException {
+        start(new FileTailer());
+
+        // longer than the read buffer
+        String line = "x".repeat(200 * 1024);
+        append(line + "\nnext\n");
+        waitForLines(line, "next");
+    }
+
+    @Test
+    public void testUtf8() throws IOException, FileReaderException {
+        start(new FileTailer());
+
+        append("temperature 21 \u00b0C, \u20ac 5\n");
+        waitForLines("temperature 21 \u00b0C, \u20ac 5");
+    }
+
+    @Test
+    public void testTruncation() throws IOException, FileReaderException {
+        start(new FileTailer());
+
+        append("a long first line\nanother line\n");
+        waitForLines("a long first line", "another line");
+
+        Files.write(file, "new\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+        waitForLines("a long first line", "another line", "new");
+        assertEquals(1, rotations.get());
+    }
+
+    @Test
+    public void testRotation() throws IOException, FileReaderException {
+        start(new FileTailer());
+
+        append("first\n");
+        waitForLines("first");
+
+        Files.move(file, folder.resolve("openhab.log.1"));
+        // written to the old file after the move, but before the new file is created
+        Files.write(folder.resolve("openhab.log.1"), "second\nunterminated".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        waitForLines("first", "second");
+
+        append("third line of the new file, which is longer than the old one\n");
+        waitForLines("first", "second", "unterminated", "third line of the new file, which is longer than the old one");
+        assertEquals(1, rotations.get());
+    }
+
+    @Test
+    public void testReopenWithoutFileKey() throws IOException, FileReaderException {
+        NoFileKeyTailer tailer = new NoFileKeyTailer();
+        start(tailer);
+
+        append("first\n");
+        waitForLines("first");
+
+        // the file is closed because of the error and opened again, reading continues at the same position
+        tailer.fail = true;
+        waitFor(() -> !exceptions.isEmpty());
+        append("second\n");
+        waitForLines("first", "second");
+        assertEquals(0, rotations.get());
+    }
+
+    @Test
+    public void testTruncationWithoutFileKey() throws IOException, FileReaderException {
+        start(new NoFileKeyTailer());
+
+        append("a long first line\n");
+        waitForLines("a long first line");
+
+        Files.write(file, "new\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+        waitForLines("a long first line", "new");
+        assertEquals(1, rotations.get());
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SearchEngine}, in particular that the pattern found by the combined alternation is identified
+ * correctly if the patterns contain groups themselves.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SearchEngineTest {
+
+    @Test
+    public void testPlainPatterns() {
+        SearchEngine engine = new SearchEngine("ERROR|FATAL", "");
+
+        assertEquals("ERROR", engine.getMatchingPattern("2021-01-01 [ERROR] failure"));
+        assertEquals("FATAL", engine.getMatchingPattern("2021-01-01 [FATAL] failure"));
+        assertNull(engine.getMatchingPattern("2021-01-01 [INFO ] started"));
+    }
+
+    @Test
+    public void testCapturingGroups() {
+        SearchEngine engine = new SearchEngine("(a)(b)x|c(d(e))|(f)|z", "");
+
+        assertEquals("(a)(b)x", engine.getMatchingPattern("abx"));
+        assertEquals("c(d(e))", engine.getMatchingPattern("cde"));
+        assertEquals("(f)", engine.getMatchingPattern("f"));
+        assertEquals("z", engine.getMatchingPattern("z"));
+        assertNull(engine.getMatchingPattern("ab cd"));
+    }
+
+    @Test
+    public void testGroupsWithoutNumber() {
+        SearchEngine engine = new SearchEngine("(?:ab)+c|(?<name>d)(?=e)|x(?!y)|(?i:warn)|end", "");
+
+        assertEquals("(?:ab)+c", engine.getMatchingPattern("ababc"));
+        assertEquals("(?<name>d)(?=e)", engine.getMatchingPattern("de"));
+        assertEquals("x(?!y)", engine.getMatchingPattern("xz"));
+        assertEquals("(?i:warn)", engine.getMatchingPattern("WARN"));
+        assertEquals("end", engine.getMatchingPattern("the end"));
+        assertNull(engine.getMatchingPattern("xy"));
+    }
+
+    @Test
+    public void testEscapedParentheses() {
+        SearchEngine engine = new SearchEngine("\\(a\\)|[(]b|\\Q(c\\E|(d)", "");
+
+        assertEquals("\\(a\\)", engine.getMatchingPattern("(a)"));
+        assertEquals("[(]b", engine.getMatchingPattern("(b"));
+        assertEquals("\\Q(c\\E", engine.getMatchingPattern("(c"));
+        assertEquals("(d)", engine.getMatchingPattern("d"));
+    }
+
+    @Test
+    public void testBackReferences() {
+        SearchEngine engine = new SearchEngine("(a)b|(x)\\1|(?<w>y)\\k<w>|(z)", "");
+
+        assertEquals("(a)b", engine.getMatchingPattern("ab"));
+        assertEquals("(x)\\1", engine.getMatchingPattern("xx"));
+        assertEquals("(?<w>y)\\k<w>", engine.getMatchingPattern("yy"));
+        assertEquals("(z)", engine.getMatchingPattern("z"));
+        assertNull(engine.getMatchingPattern("xy"));
+    }
+
+    @Test
+    public void testInlineFlagsDontAffectOtherPatterns() {
+        SearchEngine engine = new SearchEngine("(?i)error|warn", "");
+
+        assertEquals("(?i)error", engine.getMatchingPattern("Error"));
+        assertEquals("warn", engine.getMatchingPattern("warn"));
+        assertNull(engine.getMatchingPattern("WARN"));
+    }
+
+    @Test
+    public void testPatternsWhichCantBeCombined() {
+        // the comment would swallow the rest of the alternation
+        SearchEngine engine = new SearchEngine("(?x)a b # comment|(c)", "");
+
+        assertEquals("(?x)a b # comment", engine.getMatchingPattern("ab"));
+        assertEquals("(c)", engine.getMatchingPattern("c"));
+        assertNull(engine.getMatchingPattern("a b"));
+    }
+
+    @Test
+    public void testBlacklist() {
+        SearchEngine engine = new SearchEngine("(E)RROR|WARN", "(i)gnore|\\(x\\)");
+
+        assertEquals("(E)RROR", engine.getMatchingPattern("ERROR real problem"));
+        assertNull(engine.getMatchingPattern("ERROR ignore me"));
+        assertNull(engine.getMatchingPattern("WARN (x)"));
+        assertEquals(1, engine.getMatchCount());
+    }
+
+    @Test
+    public void testNoPatterns() {
+        SearchEngine engine = new SearchEngine("", "");
+
+        assertFalse(engine.isMatching("ERROR"));
+        assertFalse(engine.isMatching(""));
+    }
+
+    @Test
+    public void testInvalidPattern() {
+        assertThrows(PatternSyntaxException.class, () -> new SearchEngine("ERROR|(WARN", ""));
+        assertThrows(PatternSyntaxException.class, () -> new SearchEngine("ERROR", "[a"));
+    }
+
+    @Test
+    public void testStatistics() {
+        SearchEngine engine = new SearchEngine("ERROR", "ignore");
+
+        assertEquals(0, engine.getMatchRate());
+        engine.isMatching("ERROR");
+        engine.isMatching("ERROR ignore");
+        engine.isMatching("INFO");
+        engine.isMatching("ERROR again");
+        assertEquals(2, engine.getMatchCount());
+        assertEquals(4, engine.getSearchedLines());
+        assertEquals(0.5, engine.getMatchRate());
+
+        engine.clearStatistics();
+        engine.clearMatchCount();
+        assertEquals(0, engine.getMatchCount());
+        assertEquals(0, engine.getSearchedLines());
+    }
+}
@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.*;
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.measure.Unit;
 
@@ -24,10 +25,12 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.binding.modbus.handler.ModbusReadCoalescer;
 import org.openhab.binding.modbus.sunspec.internal.SunSpecConfiguration;
 import org.openhab.binding.modbus.sunspec.internal.dto.ModelBlock;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
 import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
@@ -53,10 +56,11 @@ import org.slf4j.LoggerFactory;
  *
  * - loads the configuration either from the configuration file or
  * from the properties that have been set by the auto discovery
- * - sets up a regular poller to the device
+ * - sets up a regular poller to the device, shared with the other models of the device
  * - handles incoming messages from the device:
  * - common properties are parsed and published
  * - other values are submitted to child implementations
+ * - channel updates are only published when the value has changed
  * - handles disposal of the device by removing any handlers
  * - implements some tool methods
  *
@@ -80,11 +84,26 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
      */
     private volatile @Nullable PollTask pollTask = null;
 
+    /**
+     * This is the registration used to poll the device together with the other models of the endpoint
+     */
+    private volatile ModbusReadCoalescer.@Nullable Registration coalescedPoll = null;
+
+    /**
+     * States last published per channel, used to skip updates of unchanged values
+     */
+    private final Map<ChannelUID, State> publishedStates = new ConcurrentHashMap<>();
+
     /**
      * Communication interface to the slave endpoint we're connecting to
      */
     protected volatile @Nullable ModbusCommunicationInterface comms = null;
 
+    /**
+     * Coalescer of the slave endpoint merging the reads of its models, or null if reads are not merged
+     */
+    private volatile @Nullable ModbusReadCoalescer readCoalescer = null;
+
     /**
      * This is the slave id, we store this once initialization is complete
      */
@@ -226,6 +245,7 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
     private void tearDown() {
         unregisterPollTask();
         unregisterEndpoint();
+        publishedStates.clear();
     }
 
     /**
@@ -288,6 +308,7 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
         try {
             slaveId = slaveEndpointThingHandler.getSlaveId();
             comms = slaveEndpointThingHandler.getCommunicationInterface();
+            readCoalescer = slaveEndpointThingHandler.getReadCoalescer();
         } catch (EndpointNotInitializedException e) {
             // this will be handled below as endpoint remains null
         }
@@ -308,6 +329,7 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
     private void unregisterEndpoint() {
         // Comms will be close()'d by endpoint thing handler
         comms = null;
+        readCoalescer = null;
     }
 
     /**
@@ -315,7 +337,7 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
      * This is where we set up our regular poller
      */
     private synchronized void registerPollTask(ModelBlock mainBlock) {
-        if (pollTask != null) {
+        if (pollTask != null || coalescedPoll != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             throw new IllegalStateException("pollTask should be unregistered before registering a new one!");
         }
@@ -331,14 +353,22 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
 
         ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(getSlaveId(),
                 ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, mainBlock.address, mainBlock.length, myconfig.maxTries);
-
-        long refreshMillis = myconfig.getRefreshMillis();
-        pollTask = mycomms.registerRegularPoll(request, refreshMillis, 1000, result -> {
+        ModbusReadCallback resultCallback = result -> {
             result.getRegisters().ifPresent(this::handlePolledData);
             if (getThing().getStatus() != ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
             }
-        }, this::handleError);
+        };
+
+        long refreshMillis = myconfig.getRefreshMillis();
+        @Nullable
+        ModbusReadCoalescer myReadCoalescer = readCoalescer;
+        if (myReadCoalescer != null) {
+            // all models of a device sit back to back in one register map, so the registers between them can be read
+            coalescedPoll = myReadCoalescer.register(request, refreshMillis, true, resultCallback, this::handleError);
+        } else {
+            pollTask = mycomms.registerRegularPoll(request, refreshMillis, 1000, resultCallback, this::handleError);
+        }
     }
 
     /**
@@ -367,16 +397,21 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
     private synchronized void unregisterPollTask() {
         @Nullable
         PollTask task = pollTask;
-        if (task == null) {
-            return;
+        if (task != null) {
+            logger.debug("Unregistering polling from ModbusManager");
+            @Nullable
+            ModbusCommunicationInterface mycomms = comms;
+            if (mycomms != null) {
+                mycomms.unregisterRegularPoll(task);
+            }
+            pollTask = null;
         }
-        logger.debug("Unregistering polling from ModbusManager");
-        @Nullable
-        ModbusCommunicationInterface mycomms = comms;
-        if (mycomms != null) {
-            mycomms.unregisterRegularPoll(task);
+        ModbusReadCoalescer.@Nullable Registration registration = coalescedPoll;
+        if (registration != null) {
+            logger.debug("Unregistering polling from endpoint read coalescer");
+            registration.unregister();
+            coalescedPoll = null;
         }
-        pollTask = null;
     }
 
     /**
@@ -389,10 +424,31 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
         }
         String msg = failure.getCause().getMessage();
         String cls = failure.getCause().getClass().getName();
+        // publish all values again once the device answers
+        publishedStates.clear();
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                 String.format("Error with read: %s: %s", cls, msg));
     }
 
+    /**
+     * Publish a channel state, unless the channel already has this state.
+     * Most values of a device polled every second stay the same between polls.
+     */
+    @Override
+    protected void updateState(ChannelUID channelUID, State state) {
+        if (state.equals(publishedStates.put(channelUID, state))) {
+            return;
+        }
+        super.updateState(channelUID, state);
+    }
+
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        // a newly linked item needs the current value
+        publishedStates.remove(channelUID);
+        super.channelLinked(channelUID);
+    }
+
     /**
      * Returns true, if we're in a CONFIGURATION_ERROR state
      *
@@ -43,6 +43,11 @@ public class InverterHandler extends AbstractSunSpecHandler {
      */
     private final InverterModelParser parser = new InverterModelParser();
 
+    /**
+     * Block the polled data is parsed into, reused for every poll
+     */
+    private final InverterModelBlock block = new InverterModelBlock();
+
     /**
      * Logger instance
      */
@@ -63,7 +68,7 @@ public class InverterHandler extends AbstractSunSpecHandler {
     protected void handlePolledData(ModbusRegisterArray registers) {
         logger.trace("Model block received, size: {}", registers.size());
 
-        InverterModelBlock block = parser.parse(registers);
+        parser.parse(registers, block);
 
         // Device information group
         updateState(channelUID(GROUP_DEVICE_INFO, CHANNEL_CABINET_TEMPERATURE),
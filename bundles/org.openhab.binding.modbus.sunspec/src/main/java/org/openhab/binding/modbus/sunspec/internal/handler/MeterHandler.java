@@ -37,6 +37,11 @@ public class MeterHandler extends AbstractSunSpecHandler {
      */
     private final MeterModelParser parser = new MeterModelParser();
 
+    /**
+     * Block the polled data is parsed into, reused for every poll
+     */
+    private final MeterModelBlock block = new MeterModelBlock();
+
     /**
      * Logger instance
      */
@@ -53,7 +58,7 @@ public class MeterHandler extends AbstractSunSpecHandler {
     protected void handlePolledData(ModbusRegisterArray registers) {
         logger.trace("Model block received, size: {}", registers.size());
 
-        MeterModelBlock block = parser.parse(registers);
+        parser.parse(registers, block);
 
         // AC General group
         updateTotalValues(block);
@@ -28,8 +28,18 @@ public class InverterModelParser extends AbstractBaseParser implements SunspecPa
 
     @Override
     public InverterModelBlock parse(ModbusRegisterArray raw) {
-        InverterModelBlock block = new InverterModelBlock();
+        return parse(raw, new InverterModelBlock());
+    }
 
+    /**
+     * Parse an incoming register array into an existing block, so that a handler polling
+     * the same model over and over can reuse a single block instance
+     *
+     * @param raw the register array to parse
+     * @param block the block to fill, every field is overwritten
+     * @return the given block
+     */
+    public InverterModelBlock parse(ModbusRegisterArray raw, InverterModelBlock block) {
         block.phaseConfiguration = extractUInt16(raw, 0, SunSpecConstants.INVERTER_SINGLE_PHASE);
         block.length = extractUInt16(raw, 1, raw.size());
         block.acCurrentTotal = extractUInt16(raw, 2, 0);
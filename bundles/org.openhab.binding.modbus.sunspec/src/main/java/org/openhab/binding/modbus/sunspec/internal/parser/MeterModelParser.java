@@ -28,8 +28,18 @@ public class MeterModelParser extends AbstractBaseParser implements SunspecParse
 
     @Override
     public MeterModelBlock parse(ModbusRegisterArray raw) {
-        MeterModelBlock block = new MeterModelBlock();
+        return parse(raw, new MeterModelBlock());
+    }
 
+    /**
+     * Parse an incoming register array into an existing block, so that a handler polling
+     * the same model over and over can reuse a single block instance
+     *
+     * @param raw the register array to parse
+     * @param block the block to fill, every field is overwritten
+     * @return the given block
+     */
+    public MeterModelBlock parse(ModbusRegisterArray raw, MeterModelBlock block) {
         block.sunspecDID = extractUInt16(raw, 0, SunSpecConstants.METER_SINGLE_PHASE);
         block.length = extractUInt16(raw, 1, raw.size());
         block.acCurrentTotal = extractInt16(raw, 2, (short) 0);
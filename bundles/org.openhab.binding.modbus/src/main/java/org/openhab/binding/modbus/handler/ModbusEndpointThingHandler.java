@@ -14,6 +14,7 @@ package org.openhab.binding.modbus.handler;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.core.common.registry.Identifiable;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.thing.ThingUID;
@@ -50,4 +51,22 @@ public interface ModbusEndpointThingHandler extends Identifiable<ThingUID> {
      * @return boolean true if the discovery is enabled
      */
     public boolean isDiscoveryEnabled();
+
+    /**
+     * Get the coalescer merging the regular polls of this endpoint
+     *
+     * @return coalescer, or <code>null</code> in case the pollers should poll on their own
+     */
+    public default @Nullable ModbusReadCoalescer getReadCoalescer() {
+        return null;
+    }
+
+    /**
+     * Get the coalescer merging the writes of this endpoint
+     *
+     * @return coalescer, or <code>null</code> in case writes should be submitted one by one
+     */
+    public default @Nullable ModbusWriteCoalescer getWriteCoalescer() {
+        return null;
+    }
 }
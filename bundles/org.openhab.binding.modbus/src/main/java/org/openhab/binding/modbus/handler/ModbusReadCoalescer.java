@@ -0,0 +1,417 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges regular polls of one endpoint into as few Modbus transactions as possible.
+ *
+ * Polls are compatible when they share unit id, function code and poll interval. Compatible polls with overlapping or
+ * adjacent address ranges are read with a single request, as long as the merged request stays within the protocol
+ * limits. By default gaps are never bridged, so only addresses that some poller asked for are read. Pollers of devices
+ * that allow reading any address in between, like the consecutive model blocks of SunSpec devices, can allow bridging
+ * gaps when registering. Such polls are only merged with each other. Results and errors of the merged request are
+ * sliced back to the original requests and passed to the callbacks of each poller.
+ *
+ * When polls are registered or unregistered, only the transactions whose range changed are rescheduled. New
+ * transactions are scheduled in the phase of the other transactions with the same poll interval, so registering many
+ * pollers at startup does not cause a burst of reads.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadCoalescer {
+
+    /**
+     * Handle of a registered poll
+     */
+    public interface Registration {
+        /**
+         * Stop polling for the registered request
+         */
+        void unregister();
+    }
+
+    private static class GroupKey {
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+        private final boolean bridgeGaps;
+
+        GroupKey(ModbusReadRequestBlueprint request, long pollPeriodMillis, boolean bridgeGaps) {
+            this.unitId = request.getUnitID();
+            this.functionCode = request.getFunctionCode();
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.bridgeGaps = bridgeGaps;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(unitId, functionCode, pollPeriodMillis, bridgeGaps);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return unitId == other.unitId && functionCode == other.functionCode
+                    && pollPeriodMillis == other.pollPeriodMillis && bridgeGaps == other.bridgeGaps;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("GroupKey(unitId=%d, functionCode=%s, pollPeriodMillis=%d, bridgeGaps=%b)", unitId,
+                    functionCode, pollPeriodMillis, bridgeGaps);
+        }
+    }
+
+    private class Member implements Registration {
+        private final GroupKey key;
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        Member(GroupKey key, ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.key = key;
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        int start() {
+            return request.getReference();
+        }
+
+        int end() {
+            return request.getReference() + request.getDataLength();
+        }
+
+        @Override
+        public void unregister() {
+            ModbusReadCoalescer.this.unregister(this);
+        }
+    }
+
+    /**
+     * One merged transaction, polled regularly on behalf of its members
+     */
+    private class Block implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private volatile List<Member> members;
+        private @Nullable PollTask pollTask;
+
+        Block(ModbusReadRequestBlueprint request, List<Member> members) {
+            this.request = request;
+            this.members = members;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            List<Member> members = this.members;
+            countTransaction(members.size());
+            result.getRegisters().ifPresent(registers -> {
+                byte[] bytes = registers.getBytes();
+                for (Member member : members) {
+                    int from = Math.min(bytes.length, (member.start() - request.getReference()) * 2);
+                    int to = Math.min(bytes.length, from + member.request.getDataLength() * 2);
+                    deliver(member, new AsyncModbusReadResult(member.request,
+                            new ModbusRegisterArray(Arrays.copyOfRange(bytes, from, to))));
+                }
+            });
+            result.getBits().ifPresent(bits -> {
+                for (Member member : members) {
+                    int offset = member.start() - request.getReference();
+                    boolean[] slice = new boolean[Math.max(0,
+                            Math.min(member.request.getDataLength(), bits.size() - offset))];
+                    for (int i = 0; i < slice.length; i++) {
+                        slice[i] = bits.getBit(offset + i);
+                    }
+                    deliver(member, new AsyncModbusReadResult(member.request, new BitArray(slice)));
+                }
+            });
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            List<Member> members = this.members;
+            countTransaction(members.size());
+            for (Member member : members) {
+                try {
+                    member.failureCallback.handle(new AsyncModbusFailure<>(member.request, failure.getCause()));
+                } catch (RuntimeException e) {
+                    logger.warn("Poller callback failed to handle error of {}", member.request, e);
+                }
+            }
+        }
+
+        private void deliver(Member member, AsyncModbusReadResult result) {
+            try {
+                member.resultCallback.handle(result);
+            } catch (RuntimeException e) {
+                logger.warn("Poller callback failed to handle result of {}", member.request, e);
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusReadCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final LongSupplier clock;
+    private final Map<GroupKey, List<Member>> members = new HashMap<>();
+    private final Map<GroupKey, List<Block>> blocks = new HashMap<>();
+    // time in milliseconds the first transaction of a group was scheduled at, the others are scheduled in its phase
+    private final Map<GroupKey, Long> phases = new HashMap<>();
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong savedTransactions = new AtomicLong();
+
+    public ModbusReadCoalescer(ModbusCommunicationInterface comms) {
+        this(comms, System::currentTimeMillis);
+    }
+
+    ModbusReadCoalescer(ModbusCommunicationInterface comms, LongSupplier clock) {
+        this.comms = comms;
+        this.clock = clock;
+    }
+
+    /**
+     * Register a regular poll. The request might be merged with requests of other pollers.
+     *
+     * @param request request of the poller
+     * @param pollPeriodMillis poll interval in milliseconds
+     * @param resultCallback callback receiving the results for exactly the registered request
+     * @param failureCallback callback receiving errors for exactly the registered request
+     * @return handle to unregister the poll again
+     */
+    public Registration register(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        return register(request, pollPeriodMillis, false, resultCallback, failureCallback);
+    }
+
+    /**
+     * Register a regular poll. The request might be merged with requests of other pollers.
+     *
+     * @param request request of the poller
+     * @param pollPeriodMillis poll interval in milliseconds
+     * @param bridgeGaps true if the addresses between this request and other requests that allow bridging gaps can be
+     *            read safely, so they can be merged even if they are not adjacent
+     * @param resultCallback callback receiving the results for exactly the registered request
+     * @param failureCallback callback receiving errors for exactly the registered request
+     * @return handle to unregister the poll again
+     */
+    public synchronized Registration register(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            boolean bridgeGaps, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        GroupKey key = new GroupKey(request, pollPeriodMillis, bridgeGaps);
+        Member member = new Member(key, request, resultCallback, failureCallback);
+        members.computeIfAbsent(key, k -> new ArrayList<>()).add(member);
+        replan(key);
+        return member;
+    }
+
+    private synchronized void unregister(Member member) {
+        List<Member> group = members.get(member.key);
+        if (group == null || !group.remove(member)) {
+            return;
+        }
+        if (group.isEmpty()) {
+            members.remove(member.key);
+        }
+        replan(member.key);
+    }
+
+    /**
+     * Stop all polls registered through this coalescer
+     */
+    public synchronized void close() {
+        blocks.values().forEach(this::unregisterBlocks);
+        blocks.clear();
+        members.clear();
+        phases.clear();
+    }
+
+    /**
+     * @return number of transactions executed on behalf of the registered pollers
+     */
+    public long getTransactionCount() {
+        return transactions.get();
+    }
+
+    /**
+     * @return number of transactions the registered pollers would have needed additionally without merging
+     */
+    public long getSavedTransactionCount() {
+        return savedTransactions.get();
+    }
+
+    /**
+     * @return number of regularly polled (merged) requests
+     */
+    public synchronized int getBlockCount() {
+        return blocks.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void countTransaction(int memberCount) {
+        transactions.incrementAndGet();
+        savedTransactions.addAndGet(memberCount - 1);
+    }
+
+    /**
+     * Plan the transactions of a group again. Transactions whose request did not change keep polling, only their
+     * members are updated. Removed transactions are unregistered, and new ones are registered in the phase of the
+     * group.
+     */
+    private void replan(GroupKey key) {
+        List<Block> stale = new ArrayList<>(blocks.getOrDefault(key, List.of()));
+        List<Member> group = members.get(key);
+        if (group == null) {
+            unregisterBlocks(stale);
+            blocks.remove(key);
+            phases.remove(key);
+            return;
+        }
+        List<Block> planned = new ArrayList<>();
+        List<Block> added = new ArrayList<>();
+        for (List<Member> merged : plan(group, maxLength(key.functionCode), key.bridgeGaps)) {
+            ModbusReadRequestBlueprint request = mergedRequest(merged);
+            Block block = takeBlock(stale, request);
+            if (block == null) {
+                block = new Block(request, merged);
+                added.add(block);
+            } else {
+                block.members = merged;
+            }
+            planned.add(block);
+        }
+        unregisterBlocks(stale);
+        blocks.put(key, planned);
+
+        long now = clock.getAsLong();
+        long phase = phases.computeIfAbsent(key, k -> now);
+        long initialDelay = key.pollPeriodMillis > 0 ? Math.floorMod(phase - now, key.pollPeriodMillis) : 0;
+        for (Block block : added) {
+            block.pollTask = comms.registerRegularPoll(block.request, key.pollPeriodMillis, initialDelay, block,
+                    block);
+        }
+        logger.debug("Planned {} transaction(s) for {} poller(s) of {}, {} rescheduled", planned.size(), group.size(),
+                key, added.size());
+    }
+
+    /**
+     * Remove the block polling exactly the given request from the list.
+     *
+     * @return the block, or null if no block polls the request
+     */
+    private static @Nullable Block takeBlock(List<Block> candidates, ModbusReadRequestBlueprint request) {
+        for (int i = 0; i < candidates.size(); i++) {
+            ModbusReadRequestBlueprint candidate = candidates.get(i).request;
+            if (candidate.getUnitID() == request.getUnitID() && candidate.getFunctionCode() == request.getFunctionCode()
+                    && candidate.getReference() == request.getReference()
+                    && candidate.getDataLength() == request.getDataLength()
+                    && candidate.getMaxTries() == request.getMaxTries()) {
+                return candidates.remove(i);
+            }
+        }
+        return null;
+    }
+
+    private void unregisterBlocks(List<Block> group) {
+        for (Block block : group) {
+            PollTask task = block.pollTask;
+            if (task != null) {
+                comms.unregisterRegularPoll(task);
+            }
+        }
+    }
+
+    private ModbusReadRequestBlueprint mergedRequest(List<Member> merged) {
+        if (merged.size() == 1) {
+            return merged.get(0).request;
+        }
+        ModbusReadRequestBlueprint first = merged.get(0).request;
+        int start = merged.stream().mapToInt(Member::start).min().getAsInt();
+        int end = merged.stream().mapToInt(Member::end).max().getAsInt();
+        int maxTries = merged.stream().mapToInt(m -> m.request.getMaxTries()).max().getAsInt();
+        return new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), start, end - start,
+                maxTries);
+    }
+
+    private static int maxLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    /**
+     * Split compatible members into merged transactions. Members are sorted by start address and merged greedily
+     * while they overlap or touch the current transaction, or gaps may be bridged, and the transaction length stays
+     * within the limit.
+     */
+    private static List<List<Member>> plan(List<Member> group, int maxLength, boolean bridgeGaps) {
+        List<Member> sorted = new ArrayList<>(group);
+        sorted.sort(Comparator.comparingInt(Member::start).thenComparingInt(Member::end));
+        List<List<Member>> result = new ArrayList<>();
+        @Nullable
+        List<Member> current = null;
+        int currentStart = 0;
+        int currentEnd = 0;
+        for (Member member : sorted) {
+            if (current != null && (bridgeGaps || member.start() <= currentEnd)
+                    && Math.max(currentEnd, member.end()) - currentStart <= maxLength) {
+                current.add(member);
+                currentEnd = Math.max(currentEnd, member.end());
+            } else {
+                current = new ArrayList<>();
+                current.add(member);
+                result.add(current);
+                currentStart = member.start();
+                currentEnd = member.end();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,393 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the writes of one endpoint for a short window and merges writes to contiguous holding registers into a
+ * single FC16 request, and writes to contiguous coils into a single FC15 request.
+ *
+ * Writes are executed one transaction at a time, in the order they were submitted. Writes within a window are only
+ * reordered when they address disjoint registers; as soon as a write touches a register written earlier in the same
+ * window, the earlier writes are executed first. Result and failure of a merged transaction are reported to the
+ * callbacks of every original write, with the original request attached.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusWriteCoalescer {
+
+    private static class PendingWrite {
+        private final ModbusWriteRequestBlueprint request;
+        private final ModbusWriteCallback resultCallback;
+        private final ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback;
+
+        PendingWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+                ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        boolean isCoil() {
+            return request instanceof ModbusWriteCoilRequestBlueprint;
+        }
+
+        int start() {
+            return request.getReference();
+        }
+
+        int end() {
+            return request.getReference() + length(request);
+        }
+
+        // Writes of the same unit and the same kind can be merged
+        long mergeKey() {
+            return ((long) request.getUnitID() << 1) | (isCoil() ? 1 : 0);
+        }
+    }
+
+    /**
+     * One transaction, carrying one or more original writes
+     */
+    private class Transaction {
+        private final ModbusWriteRequestBlueprint request;
+        private final List<PendingWrite> writes;
+
+        Transaction(ModbusWriteRequestBlueprint request, List<PendingWrite> writes) {
+            this.request = request;
+            this.writes = writes;
+        }
+
+        void onResult(AsyncModbusWriteResult result) {
+            for (PendingWrite write : writes) {
+                try {
+                    write.resultCallback.handle(new AsyncModbusWriteResult(write.request, result.getResponse()));
+                } catch (RuntimeException e) {
+                    logger.warn("Write callback failed to handle result of {}", write.request, e);
+                }
+            }
+            submitNext();
+        }
+
+        void onFailure(AsyncModbusFailure<ModbusWriteRequestBlueprint> failure) {
+            fail(writes, failure.getCause());
+            submitNext();
+        }
+    }
+
+    private static final String DISPOSED = "Endpoint has been disposed";
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusWriteCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+
+    private List<PendingWrite> pending = new ArrayList<>();
+    private final Deque<Transaction> transactions = new ArrayDeque<>();
+    private boolean transactionInFlight;
+    private @Nullable ScheduledFuture<?> flushFuture;
+    private boolean closed;
+
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong transactionCount = new AtomicLong();
+
+    /**
+     * @param comms communication interface of the endpoint
+     * @param scheduler scheduler to realize the window
+     * @param windowMillis time in milliseconds writes are collected before they are sent
+     */
+    public ModbusWriteCoalescer(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler,
+            long windowMillis) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Queue a write. It is sent at the end of the current window, possibly merged with other writes.
+     *
+     * @param request write request
+     * @param resultCallback callback receiving the result, with the given request attached
+     * @param failureCallback callback receiving the error, with the given request attached
+     */
+    public void submit(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+            ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+        PendingWrite write = new PendingWrite(request, resultCallback, failureCallback);
+        boolean start = false;
+        boolean rejected = false;
+        synchronized (this) {
+            if (closed) {
+                rejected = true;
+            } else {
+                writeCount.incrementAndGet();
+                if (length(request) != 0) {
+                    pending.add(write);
+                    if (flushFuture == null) {
+                        flushFuture = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                    }
+                    return;
+                }
+                // Not a plain coil or register write, nothing to merge. It is queued behind the pending writes.
+                cancelFlush();
+                queuePending();
+                transactions.add(new Transaction(request, List.of(write)));
+                start = claimIdle();
+            }
+        }
+        if (rejected) {
+            fail(List.of(write), new IllegalStateException(DISPOSED));
+        } else if (start) {
+            submitNext();
+        }
+    }
+
+    /**
+     * Stop the coalescer. Writes that have not been sent yet are failed.
+     */
+    public void close() {
+        List<PendingWrite> dropped = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            cancelFlush();
+            dropped.addAll(pending);
+            pending = new ArrayList<>();
+            transactions.forEach(transaction -> dropped.addAll(transaction.writes));
+            transactions.clear();
+        }
+        fail(dropped, new IllegalStateException(DISPOSED));
+    }
+
+    /**
+     * @return number of writes submitted to this coalescer
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * @return number of transactions used for the submitted writes
+     */
+    public long getTransactionCount() {
+        return transactionCount.get();
+    }
+
+    void flush() {
+        synchronized (this) {
+            flushFuture = null;
+            if (closed || pending.isEmpty()) {
+                return;
+            }
+            queuePending();
+            if (!claimIdle()) {
+                return;
+            }
+        }
+        submitNext();
+    }
+
+    /**
+     * Mark a transaction as in flight if none is, must be called while holding the lock
+     *
+     * @return true if the caller has to call {@link #submitNext()}
+     */
+    private boolean claimIdle() {
+        if (transactionInFlight) {
+            return false;
+        }
+        transactionInFlight = true;
+        return true;
+    }
+
+    private void cancelFlush() {
+        ScheduledFuture<?> localFlushFuture = flushFuture;
+        if (localFlushFuture != null) {
+            localFlushFuture.cancel(false);
+        }
+        flushFuture = null;
+    }
+
+    /**
+     * Turn the pending writes into transactions, must be called while holding the lock
+     */
+    private void queuePending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<PendingWrite> writes = pending;
+        pending = new ArrayList<>();
+        int queued = transactions.size();
+        for (List<PendingWrite> epoch : epochs(writes)) {
+            for (List<PendingWrite> run : runs(epoch)) {
+                transactions.add(new Transaction(mergedRequest(run), run));
+            }
+        }
+        logger.debug("Merged {} write(s) into {} transaction(s)", writes.size(), transactions.size() - queued);
+    }
+
+    /**
+     * Submit the next transaction. Only called by the owner of the in flight mark, which is released when there is
+     * nothing left to submit.
+     */
+    private void submitNext() {
+        while (true) {
+            Transaction transaction;
+            synchronized (this) {
+                transaction = closed ? null : transactions.poll();
+                if (transaction == null) {
+                    transactionInFlight = false;
+                    return;
+                }
+                transactionCount.incrementAndGet();
+            }
+            try {
+                comms.submitOneTimeWrite(transaction.request, transaction::onResult, transaction::onFailure);
+                return;
+            } catch (RuntimeException e) {
+                // continue with the next transaction, callbacks are called without holding the lock
+                fail(transaction.writes, e);
+            }
+        }
+    }
+
+    private void fail(List<PendingWrite> writes, Exception cause) {
+        for (PendingWrite write : writes) {
+            try {
+                write.failureCallback.handle(new AsyncModbusFailure<>(write.request, cause));
+            } catch (RuntimeException e) {
+                logger.warn("Write callback failed to handle error of {}", write.request, e);
+            }
+        }
+    }
+
+    /**
+     * Split writes, in submission order, into groups without overlapping addresses. The writes of one group can be
+     * reordered freely; the groups themselves are executed in order.
+     */
+    private static List<List<PendingWrite>> epochs(List<PendingWrite> writes) {
+        List<List<PendingWrite>> epochs = new ArrayList<>();
+        List<PendingWrite> current = new ArrayList<>();
+        Map<Long, BitSet> written = new HashMap<>();
+        for (PendingWrite write : writes) {
+            BitSet addresses = written.computeIfAbsent(write.mergeKey(), k -> new BitSet());
+            if (addresses.get(write.start(), write.end()).isEmpty()) {
+                addresses.set(write.start(), write.end());
+            } else {
+                epochs.add(current);
+                current = new ArrayList<>();
+                written.clear();
+                written.computeIfAbsent(write.mergeKey(), k -> new BitSet()).set(write.start(), write.end());
+            }
+            current.add(write);
+        }
+        epochs.add(current);
+        return epochs;
+    }
+
+    /**
+     * Merge the writes of an epoch into runs of contiguous addresses
+     */
+    private static List<List<PendingWrite>> runs(List<PendingWrite> epoch) {
+        List<PendingWrite> sorted = new ArrayList<>(epoch);
+        sorted.sort(Comparator.comparingLong(PendingWrite::mergeKey).thenComparingInt(PendingWrite::start));
+        List<List<PendingWrite>> runs = new ArrayList<>();
+        @Nullable
+        List<PendingWrite> current = null;
+        PendingWrite first = sorted.get(0);
+        int currentEnd = 0;
+        for (PendingWrite write : sorted) {
+            int maxLength = write.isCoil() ? ModbusConstants.MAX_BITS_WRITE_COUNT
+                    : ModbusConstants.MAX_REGISTERS_WRITE_COUNT;
+            if (current != null && write.mergeKey() == first.mergeKey() && write.start() == currentEnd
+                    && write.end() - first.start() <= maxLength) {
+                current.add(write);
+            } else {
+                current = new ArrayList<>();
+                current.add(write);
+                runs.add(current);
+                first = write;
+            }
+            currentEnd = write.end();
+        }
+        return runs;
+    }
+
+    private static ModbusWriteRequestBlueprint mergedRequest(List<PendingWrite> run) {
+        ModbusWriteRequestBlueprint first = run.get(0).request;
+        if (run.size() == 1) {
+            return first;
+        }
+        int maxTries = run.stream().mapToInt(w -> w.request.getMaxTries()).max().getAsInt();
+        int length = run.stream().mapToInt(w -> length(w.request)).sum();
+        if (first instanceof ModbusWriteCoilRequestBlueprint) {
+            boolean[] coils = new boolean[length];
+            int index = 0;
+            for (PendingWrite write : run) {
+                BitArray bits = ((ModbusWriteCoilRequestBlueprint) write.request).getCoils();
+                for (int i = 0; i < bits.size(); i++) {
+                    coils[index++] = bits.getBit(i);
+                }
+            }
+            return new ModbusWriteCoilRequestBlueprint(first.getUnitID(), first.getReference(), new BitArray(coils),
+                    true, maxTries);
+        } else {
+            byte[] bytes = new byte[length * 2];
+            int index = 0;
+            for (PendingWrite write : run) {
+                byte[] registerBytes = ((ModbusWriteRegisterRequestBlueprint) write.request).getRegisters().getBytes();
+                System.arraycopy(registerBytes, 0, bytes, index, registerBytes.length);
+                index += registerBytes.length;
+            }
+            return new ModbusWriteRegisterRequestBlueprint(first.getUnitID(), first.getReference(),
+                    new ModbusRegisterArray(bytes), true, maxTries);
+        }
+    }
+
+    private static int length(ModbusWriteRequestBlueprint request) {
+        if (request instanceof ModbusWriteCoilRequestBlueprint) {
+            return ((ModbusWriteCoilRequestBlueprint) request).getCoils().size();
+        } else if (request instanceof ModbusWriteRegisterRequestBlueprint) {
+            return ((ModbusWriteRegisterRequestBlueprint) request).getRegisters().size();
+        }
+        return 0;
+    }
+}
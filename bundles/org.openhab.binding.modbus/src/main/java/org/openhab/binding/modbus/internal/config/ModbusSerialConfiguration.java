@@ -38,6 +38,8 @@ public class ModbusSerialConfiguration {
     private int connectMaxTries;
     private int connectTimeoutMillis;
     private boolean enableDiscovery;
+    private boolean coalesceReads;
+    private long writeCoalescingMillis;
 
     public @Nullable String getPort() {
         return port;
@@ -158,4 +160,20 @@ public class ModbusSerialConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    public long getWriteCoalescingMillis() {
+        return writeCoalescingMillis;
+    }
+
+    public void setWriteCoalescingMillis(long writeCoalescingMillis) {
+        this.writeCoalescingMillis = writeCoalescingMillis;
+    }
 }
@@ -16,7 +16,9 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.binding.modbus.handler.ModbusReadCoalescer;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -48,6 +50,8 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @Nullable EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusReadCoalescer readCoalescer;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +80,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    readCoalescer = isReadCoalescingEnabled() ? new ModbusReadCoalescer(comms) : null;
+                    long writeCoalescingMillis = getWriteCoalescingMillis();
+                    writeCoalescer = writeCoalescingMillis > 0
+                            ? new ModbusWriteCoalescer(comms, scheduler, writeCoalescingMillis)
+                            : null;
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +102,16 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ModbusReadCoalescer localCoalescer = readCoalescer;
+        readCoalescer = null;
+        if (localCoalescer != null) {
+            localCoalescer.close();
+        }
+        ModbusWriteCoalescer localWriteCoalescer = writeCoalescer;
+        writeCoalescer = null;
+        if (localWriteCoalescer != null) {
+            localWriteCoalescer.close();
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -110,6 +129,16 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    @Override
+    public @Nullable ModbusReadCoalescer getReadCoalescer() {
+        return readCoalescer;
+    }
+
+    @Override
+    public @Nullable ModbusWriteCoalescer getWriteCoalescer() {
+        return writeCoalescer;
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -123,6 +152,16 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
      */
     protected abstract void configure() throws ModbusConfigurationException;
 
+    /**
+     * Whether regular polls of the pollers of this endpoint should be merged
+     */
+    protected abstract boolean isReadCoalescingEnabled();
+
+    /**
+     * Time in milliseconds writes are collected and merged before they are sent, zero to disable merging
+     */
+    protected abstract long getWriteCoalescingMillis();
+
     /**
      * Format error message in case some other endpoint has been configured with different
      * {@link EndpointPoolConfiguration}
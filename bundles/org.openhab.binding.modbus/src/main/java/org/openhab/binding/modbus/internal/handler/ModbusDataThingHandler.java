@@ -17,8 +17,8 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +34,7 @@ import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.CascadedValueTransformationImpl;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.binding.modbus.internal.SingleValueTransformation;
 import org.openhab.binding.modbus.internal.ValueTransformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
@@ -120,8 +121,41 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         CHANNEL_ID_TO_ACCEPTED_TYPES.put(ModbusBindingConstantsInternal.CHANNEL_ROLLERSHUTTER,
                 new RollershutterItem("").getAcceptedDataTypes());
     }
-    // data channels + 4 for read/write last error/success
-    private static final int NUMER_OF_CHANNELS_HINT = CHANNEL_ID_TO_ACCEPTED_TYPES.size() + 4;
+
+    /**
+     * Precomputed update of a single linked data channel. The plan of all linked channels is compiled on the first
+     * poll after initialization or link changes, so that processing polled data does not need to look up channels,
+     * links or accepted data types.
+     */
+    private static class ChannelDispatch {
+        private final String channelId;
+        private final ChannelUID uid;
+        private final List<Class<? extends State>> acceptedDataTypes;
+        // ON/OFF or OPEN/CLOSED for boolean like channels, null otherwise
+        private final @Nullable State trueState;
+        private final @Nullable State falseState;
+        // State that has been sent to the channel the last time, null if the channel should be updated regardless
+        private @Nullable State lastState;
+        private long lastUpdatedMillis;
+
+        ChannelDispatch(String channelId, ChannelUID uid, List<Class<? extends State>> acceptedDataTypes) {
+            this.channelId = channelId;
+            this.uid = uid;
+            this.acceptedDataTypes = acceptedDataTypes;
+            if (acceptedDataTypes.contains(OnOffType.class)) {
+                trueState = OnOffType.ON;
+                falseState = OnOffType.OFF;
+            } else if (acceptedDataTypes.contains(OpenClosedType.class)) {
+                trueState = OpenClosedType.OPEN;
+                falseState = OpenClosedType.CLOSED;
+            } else {
+                trueState = null;
+                falseState = null;
+            }
+        }
+    }
+
+    private static final ChannelDispatch[] EMPTY_DISPATCH_PLAN = new ChannelDispatch[0];
 
     //
     // If you change the below default/initial values, please update the corresponding values in dispose()
@@ -140,14 +174,16 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ModbusReadRequestBlueprint readRequest;
     private volatile long updateUnchangedValuesEveryMillis;
     private volatile @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
     private volatile boolean isWriteEnabled;
     private volatile boolean isReadEnabled;
     private volatile boolean writeParametersHavingTransformationOnly;
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
-    private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-    private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile ChannelDispatch[] dispatchPlan = EMPTY_DISPATCH_PLAN;
+    private volatile boolean dispatchPlanOutdated = true;
+    private volatile @Nullable ChannelUID lastReadSuccessUID;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -222,7 +258,12 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
 
         logger.trace("Submitting write task {} to endpoint {}", request, comms.getEndpoint());
-        comms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        ModbusWriteCoalescer localWriteCoalescer = writeCoalescer;
+        if (localWriteCoalescer != null) {
+            localWriteCoalescer.submit(request, this::onWriteResponse, this::handleWriteError);
+        } else {
+            comms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        }
     }
 
     /**
@@ -353,6 +394,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 ModbusEndpointThingHandler endpointHandler = (ModbusEndpointThingHandler) bridgeHandler;
                 slaveId = endpointHandler.getSlaveId();
                 comms = endpointHandler.getCommunicationInterface();
+                writeCoalescer = localConfig.isCoalesceWrites() ? endpointHandler.getWriteCoalescer() : null;
                 childOfEndpoint = true;
                 functionCode = null;
                 readRequest = null;
@@ -372,12 +414,14 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 slaveId = localReadRequest.getUnitID();
                 functionCode = localReadRequest.getFunctionCode();
                 comms = localPollerHandler.getCommunicationInterface();
+                writeCoalescer = localConfig.isCoalesceWrites() ? localPollerHandler.getWriteCoalescer() : null;
                 pollStart = localReadRequest.getReference();
                 childOfEndpoint = false;
             }
             validateAndParseReadParameters(localConfig);
             validateAndParseWriteParameters(localConfig);
             validateMustReadOrWrite();
+            dispatchPlanOutdated = true;
 
             updateStatusIfChanged(ThingStatus.ONLINE);
         } catch (ModbusConfigurationException | EndpointNotInitializedException e) {
@@ -402,6 +446,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         pollStart = 0;
         slaveId = 0;
         comms = null;
+        writeCoalescer = null;
         functionCode = null;
         readRequest = null;
         isWriteEnabled = false;
@@ -412,8 +457,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         channelCache = new HashMap<>();
         lastStatusInfoUpdate = LocalDateTime.MIN;
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
-        channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-        channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        dispatchPlan = EMPTY_DISPATCH_PLAN;
+        dispatchPlanOutdated = true;
+        lastReadSuccessUID = null;
     }
 
     @Override
@@ -646,18 +692,6 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
-    private boolean containsOnOff(List<Class<? extends State>> channelAcceptedDataTypes) {
-        return channelAcceptedDataTypes.stream().anyMatch(clz -> {
-            return clz.equals(OnOffType.class);
-        });
-    }
-
-    private boolean containsOpenClosed(List<Class<? extends State>> acceptedDataTypes) {
-        return acceptedDataTypes.stream().anyMatch(clz -> {
-            return clz.equals(OpenClosedType.class);
-        });
-    }
-
     public synchronized void onReadResult(AsyncModbusReadResult result) {
         result.getRegisters().ifPresent(registers -> onRegisters(result.getRequest(), registers));
         result.getBits().ifPresent(bits -> onBits(result.getRequest(), bits));
@@ -705,10 +739,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        processUpdatedValue(numericState, boolValue);
         logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
+                "Thing {} channels updated. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
+                thing.getUID(), readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
                 boolValue, registers, request);
     }
 
@@ -720,10 +754,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        processUpdatedValue(numericState, boolValue);
         logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+                "Thing {} channels updated. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
+                thing.getUID(), readValueType, readIndex, numericState, boolValue, bits, request);
     }
 
     private synchronized void onError(ModbusReadRequestBlueprint request, Exception error) {
@@ -817,99 +851,110 @@ public class ModbusDataThingHandler extends BaseThingHandler {
      *
      * @param numericState numeric state corresponding to polled data (or UNDEF with floating point NaN or infinity)
      * @param boolValue boolean value corresponding to polled data
-     * @return updated channel data
      */
-    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue) {
+    private void processUpdatedValue(State numericState, boolean boolValue) {
         ValueTransformation localReadTransformation = readTransformation;
         if (localReadTransformation == null) {
             // We should always have transformation available if thing is initalized properly
             logger.trace("No transformation available, aborting processUpdatedValue");
-            return Collections.emptyMap();
+            return;
         }
-        Map<ChannelUID, State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
-            ChannelUID channelUID = getChannelUID(channelId);
-            if (!isLinked(channelUID)) {
-                return;
-            }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
-            if (acceptedDataTypes.isEmpty()) {
-                return;
-            }
-
-            State boolLikeState;
-            if (containsOnOff(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OnOffType.ON : OnOffType.OFF;
-            } else if (containsOpenClosed(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-            } else {
-                boolLikeState = null;
+        synchronized (this) {
+            updateStatusIfChanged(ThingStatus.ONLINE);
+            if (dispatchPlanOutdated) {
+                compileDispatchPlan();
             }
-
-            State transformedState;
-            if (localReadTransformation.isIdentityTransform()) {
-                if (boolLikeState != null) {
+            long now = System.currentTimeMillis();
+            for (ChannelDispatch channel : dispatchPlan) {
+                State transformedState;
+                State boolLikeState = boolValue ? channel.trueState : channel.falseState;
+                if (localReadTransformation.isIdentityTransform() && boolLikeState != null) {
                     // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
                     transformedState = boolLikeState;
                 } else {
                     // Numeric states always go through transformation. This allows value of 17.5 to be
-                    // converted to
-                    // 17.5% with percent types (instead of raising error)
-                    transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                            numericState);
+                    // converted to 17.5% with percent types (instead of raising error)
+                    transformedState = localReadTransformation.transformState(bundleContext,
+                            channel.acceptedDataTypes, numericState);
                 }
-            } else {
-                transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                        numericState);
-            }
 
-            if (transformedState != null) {
-                logger.trace(
-                        "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
-                        readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
-                states.put(channelUID, transformedState);
-            } else {
-                String types = String.join(", ",
-                        acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
-                logger.warn(
-                        "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, types, numericState, readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                if (transformedState != null) {
+                    if (logger.isTraceEnabled()) {
+                        logger.trace(
+                                "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                                channel.channelId, transformedState, transformedState.getClass().getSimpleName(),
+                                numericState, readValueType, boolValue,
+                                localReadTransformation.isIdentityTransform() ? "<identity>"
+                                        : localReadTransformation);
+                    }
+                    updateExpiredChannel(now, channel, transformedState);
+                } else {
+                    // Make sure the next successful transformation is not suppressed as unchanged value
+                    channel.lastState = null;
+                    String types = String.join(", ",
+                            channel.acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
+                    logger.warn(
+                            "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                            channel.channelId, types, numericState, readValueType, boolValue,
+                            localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                }
             }
-        });
 
-        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
-        if (isLinked(lastReadSuccessUID)) {
-            states.put(lastReadSuccessUID, new DateTimeType());
-        }
-        updateExpiredChannels(states);
-        return states;
-    }
-
-    private void updateExpiredChannels(Map<ChannelUID, State> states) {
-        synchronized (this) {
-            updateStatusIfChanged(ThingStatus.ONLINE);
-            long now = System.currentTimeMillis();
-            // Update channels that have not been updated in a while, or when their values has changed
-            states.forEach((uid, state) -> updateExpiredChannel(now, uid, state));
-            channelLastState = states;
+            ChannelUID localLastReadSuccessUID = lastReadSuccessUID;
+            if (localLastReadSuccessUID != null) {
+                tryUpdateState(localLastReadSuccessUID, new DateTimeType());
+            }
         }
     }
 
-    // since lastState can be null, and "lastState == null" in conditional is not useless
-    @SuppressWarnings("null")
-    private void updateExpiredChannel(long now, ChannelUID uid, State state) {
+    // Update channels that have not been updated in a while, or when their values has changed
+    private void updateExpiredChannel(long now, ChannelDispatch channel, State state) {
         @Nullable
-        State lastState = channelLastState.get(uid);
-        long lastUpdatedMillis = channelLastUpdated.getOrDefault(uid, 0L);
-        long millisSinceLastUpdate = now - lastUpdatedMillis;
-        if (lastUpdatedMillis <= 0L || lastState == null || updateUnchangedValuesEveryMillis <= 0L
+        State lastState = channel.lastState;
+        long millisSinceLastUpdate = now - channel.lastUpdatedMillis;
+        if (channel.lastUpdatedMillis <= 0L || lastState == null || updateUnchangedValuesEveryMillis <= 0L
                 || millisSinceLastUpdate > updateUnchangedValuesEveryMillis || !lastState.equals(state)) {
-            tryUpdateState(uid, state);
-            channelLastUpdated.put(uid, now);
+            tryUpdateState(channel.uid, state);
+            channel.lastUpdatedMillis = now;
         }
+        channel.lastState = state;
+    }
+
+    /**
+     * Compile the list of linked data channels that are updated with polled data
+     */
+    private synchronized void compileDispatchPlan() {
+        // Cleared before links are queried, so that concurrent link changes cause another compilation
+        dispatchPlanOutdated = false;
+        Map<ChannelUID, ChannelDispatch> previous = new HashMap<>();
+        for (ChannelDispatch channel : dispatchPlan) {
+            previous.put(channel.uid, channel);
+        }
+        List<ChannelDispatch> plan = new ArrayList<>(CHANNEL_ID_TO_ACCEPTED_TYPES.size());
+        CHANNEL_ID_TO_ACCEPTED_TYPES.forEach((channelId, acceptedDataTypes) -> {
+            ChannelUID channelUID = getChannelUID(channelId);
+            if (acceptedDataTypes.isEmpty() || !isLinked(channelUID)) {
+                return;
+            }
+            // Keep track of the last update of channels that stay linked
+            ChannelDispatch channel = previous.get(channelUID);
+            plan.add(channel != null ? channel : new ChannelDispatch(channelId, channelUID, acceptedDataTypes));
+        });
+        dispatchPlan = plan.toArray(EMPTY_DISPATCH_PLAN);
+        ChannelUID localLastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        lastReadSuccessUID = isLinked(localLastReadSuccessUID) ? localLastReadSuccessUID : null;
+    }
+
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        dispatchPlanOutdated = true;
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        dispatchPlanOutdated = true;
+        super.channelUnlinked(channelUID);
     }
 
     private void tryUpdateState(ChannelUID uid, State state) {
@@ -85,6 +85,18 @@ public class ModbusSerialThingHandler
         }
     }
 
+    @Override
+    protected boolean isReadCoalescingEnabled() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig != null && localConfig.isCoalesceReads();
+    }
+
+    @Override
+    protected long getWriteCoalescingMillis() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig != null ? localConfig.getWriteCoalescingMillis() : 0;
+    }
+
     @SuppressWarnings("null") // Since endpoint in Optional.map cannot be null
     @Override
     protected String formatConflictingParameterError() {
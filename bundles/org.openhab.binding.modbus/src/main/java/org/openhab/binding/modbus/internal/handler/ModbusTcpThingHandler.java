@@ -98,6 +98,18 @@ public class ModbusTcpThingHandler
         }
     }
 
+    @Override
+    protected boolean isReadCoalescingEnabled() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig != null && localConfig.isCoalesceReads();
+    }
+
+    @Override
+    protected long getWriteCoalescingMillis() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig != null ? localConfig.getWriteCoalescingMillis() : 0;
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Collections.singleton(ModbusEndpointDiscoveryService.class);
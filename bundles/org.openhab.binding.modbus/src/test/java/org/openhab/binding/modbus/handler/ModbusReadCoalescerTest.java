@@ -0,0 +1,317 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.handler;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadCoalescerTest {
+
+    private static class Poller implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        final List<AsyncModbusReadResult> results = new ArrayList<>();
+        final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            failures.add(failure);
+        }
+    }
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private @NonNullByDefault({}) ModbusReadCoalescer coalescer;
+    private long now;
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> mock(PollTask.class));
+        coalescer = new ModbusReadCoalescer(comms, () -> now);
+    }
+
+    private static ModbusReadRequestBlueprint registers(int start, int length) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, 3);
+    }
+
+    private ModbusReadRequestBlueprint lastPolledRequest() {
+        ArgumentCaptor<ModbusReadRequestBlueprint> captor = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(captor.capture(), anyLong(), anyLong(), any(), any());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings({ "unchecked", "null" })
+    private ModbusReadCallback lastResultCallback() {
+        ArgumentCaptor<ModbusReadCallback> captor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(any(), anyLong(), anyLong(), captor.capture(), any());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings({ "unchecked", "null" })
+    private ModbusFailureCallback<ModbusReadRequestBlueprint> lastFailureCallback() {
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> captor = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(any(), anyLong(), anyLong(), any(), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testAdjacentRequestsAreMerged() {
+        Poller first = new Poller();
+        Poller second = new Poller();
+        coalescer.register(registers(0, 2), 1000, first, first);
+        coalescer.register(registers(2, 3), 1000, second, second);
+
+        assertThat(coalescer.getBlockCount(), is(equalTo(1)));
+        ModbusReadRequestBlueprint merged = lastPolledRequest();
+        assertThat(merged.getReference(), is(equalTo(0)));
+        assertThat(merged.getDataLength(), is(equalTo(5)));
+
+        lastResultCallback().handle(new AsyncModbusReadResult(merged, new ModbusRegisterArray(10, 11, 12, 13, 14)));
+
+        assertThat(first.results.size(), is(equalTo(1)));
+        assertThat(first.results.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(first.results.get(0).getRegisters().get().getRegister(1), is(equalTo(11)));
+        assertThat(first.results.get(0).getRegisters().get().size(), is(equalTo(2)));
+        assertThat(second.results.size(), is(equalTo(1)));
+        assertThat(second.results.get(0).getRequest().getReference(), is(equalTo(2)));
+        assertThat(second.results.get(0).getRegisters().get().getRegister(0), is(equalTo(12)));
+        assertThat(second.results.get(0).getRegisters().get().size(), is(equalTo(3)));
+
+        assertThat(coalescer.getTransactionCount(), is(equalTo(1L)));
+        assertThat(coalescer.getSavedTransactionCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testOverlappingCoilsAreMerged() {
+        Poller first = new Poller();
+        Poller second = new Poller();
+        coalescer.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, 0, 4, 1), 500, first,
+                first);
+        coalescer.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, 2, 4, 1), 500, second,
+                second);
+
+        ModbusReadRequestBlueprint merged = lastPolledRequest();
+        assertThat(merged.getDataLength(), is(equalTo(6)));
+
+        lastResultCallback().handle(
+                new AsyncModbusReadResult(merged, new BitArray(false, false, true, false, false, true)));
+        assertThat(first.results.get(0).getBits().get().getBit(2), is(true));
+        assertThat(second.results.get(0).getBits().get().getBit(0), is(true));
+        assertThat(second.results.get(0).getBits().get().getBit(3), is(true));
+    }
+
+    @Test
+    public void testIncompatibleRequestsAreNotMerged() {
+        Poller poller = new Poller();
+        // gap between requests
+        coalescer.register(registers(0, 2), 1000, poller, poller);
+        coalescer.register(registers(3, 2), 1000, poller, poller);
+        // different poll interval
+        coalescer.register(registers(2, 1), 2000, poller, poller);
+        // different unit id
+        coalescer.register(new ModbusReadRequestBlueprint(2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 1, 3),
+                1000, poller, poller);
+        // different function code
+        coalescer.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 1, 3),
+                1000, poller, poller);
+
+        assertThat(coalescer.getBlockCount(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testProtocolLimitIsRespected() {
+        Poller poller = new Poller();
+        coalescer.register(registers(0, 100), 1000, poller, poller);
+        coalescer.register(registers(100, 50), 1000, poller, poller);
+
+        assertThat(coalescer.getBlockCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testGapsAreBridged() {
+        Poller first = new Poller();
+        Poller second = new Poller();
+        coalescer.register(registers(40070, 4), 1000, true, first, first);
+        coalescer.register(registers(40080, 3), 1000, true, second, second);
+
+        assertThat(coalescer.getBlockCount(), is(equalTo(1)));
+        ModbusReadRequestBlueprint merged = lastPolledRequest();
+        assertThat(merged.getReference(), is(equalTo(40070)));
+        assertThat(merged.getDataLength(), is(equalTo(13)));
+
+        lastResultCallback().handle(new AsyncModbusReadResult(merged,
+                new ModbusRegisterArray(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12)));
+
+        ModbusRegisterArray firstRegisters = first.results.get(0).getRegisters().get();
+        assertThat(firstRegisters.size(), is(equalTo(4)));
+        assertThat(firstRegisters.getRegister(0), is(equalTo(0)));
+        assertThat(firstRegisters.getRegister(3), is(equalTo(3)));
+        ModbusRegisterArray secondRegisters = second.results.get(0).getRegisters().get();
+        assertThat(second.results.get(0).getRequest().getReference(), is(equalTo(40080)));
+        assertThat(secondRegisters.size(), is(equalTo(3)));
+        assertThat(secondRegisters.getRegister(0), is(equalTo(10)));
+        assertThat(secondRegisters.getRegister(2), is(equalTo(12)));
+    }
+
+    @Test
+    public void testGapsAreOnlyBridgedBetweenBridgingRequests() {
+        Poller poller = new Poller();
+        coalescer.register(registers(0, 2), 1000, true, poller, poller);
+        coalescer.register(registers(2, 2), 1000, poller, poller);
+        coalescer.register(registers(4, 2), 1000, poller, poller);
+
+        // requests which don't allow bridging gaps are not merged with bridging ones, even if they are adjacent
+        assertThat(coalescer.getBlockCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testProtocolLimitIsRespectedWhenBridging() {
+        Poller poller = new Poller();
+        coalescer.register(registers(0, 50), 1000, true, poller, poller);
+        coalescer.register(registers(70, 50), 1000, true, poller, poller);
+        coalescer.register(registers(124, 2), 1000, true, poller, poller);
+
+        assertThat(coalescer.getBlockCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testFailureIsReportedPerRequest() {
+        Poller first = new Poller();
+        Poller second = new Poller();
+        ModbusReadRequestBlueprint firstRequest = registers(0, 2);
+        ModbusReadRequestBlueprint secondRequest = registers(2, 2);
+        coalescer.register(firstRequest, 1000, first, first);
+        coalescer.register(secondRequest, 1000, second, second);
+
+        Exception error = new Exception("timeout");
+        lastFailureCallback().handle(new AsyncModbusFailure<>(lastPolledRequest(), error));
+
+        assertThat(first.failures.get(0).getRequest(), is(sameInstance(firstRequest)));
+        assertThat(first.failures.get(0).getCause(), is(sameInstance(error)));
+        assertThat(second.failures.get(0).getRequest(), is(sameInstance(secondRequest)));
+    }
+
+    @Test
+    public void testUnregisterReplans() {
+        Poller poller = new Poller();
+        ModbusReadCoalescer.Registration first = coalescer.register(registers(0, 2), 1000, poller, poller);
+        ModbusReadCoalescer.Registration second = coalescer.register(registers(2, 2), 1000, poller, poller);
+
+        first.unregister();
+        assertThat(coalescer.getBlockCount(), is(equalTo(1)));
+        assertThat(lastPolledRequest().getReference(), is(equalTo(2)));
+
+        second.unregister();
+        assertThat(coalescer.getBlockCount(), is(equalTo(0)));
+        // every registered poll has been unregistered again
+        verify(comms, times(3)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms, times(3)).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testUnchangedBlocksKeepPolling() {
+        Poller poller = new Poller();
+        coalescer.register(registers(0, 2), 1000, poller, poller);
+        ModbusReadCoalescer.Registration second = coalescer.register(registers(10, 2), 1000, poller, poller);
+        coalescer.register(registers(20, 2), 1000, poller, poller);
+
+        assertThat(coalescer.getBlockCount(), is(equalTo(3)));
+        verify(comms, times(3)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms, never()).unregisterRegularPoll(any());
+
+        second.unregister();
+        assertThat(coalescer.getBlockCount(), is(equalTo(2)));
+        verify(comms, times(3)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms, times(1)).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testRequestWithinBlockKeepsPolling() {
+        Poller first = new Poller();
+        Poller second = new Poller();
+        coalescer.register(registers(0, 4), 1000, first, first);
+        coalescer.register(registers(1, 2), 1000, second, second);
+
+        verify(comms, times(1)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms, never()).unregisterRegularPoll(any());
+
+        // the block which keeps polling delivers the results to the new poller as well
+        lastResultCallback()
+                .handle(new AsyncModbusReadResult(lastPolledRequest(), new ModbusRegisterArray(0, 1, 2, 3)));
+        assertThat(first.results.size(), is(equalTo(1)));
+        assertThat(second.results.size(), is(equalTo(1)));
+        assertThat(second.results.get(0).getRegisters().get().getRegister(0), is(equalTo(1)));
+    }
+
+    @Test
+    public void testNewBlocksKeepPhase() {
+        Poller poller = new Poller();
+        now = 10000;
+        coalescer.register(registers(0, 2), 1000, poller, poller);
+        verify(comms).registerRegularPoll(any(), eq(1000L), eq(0L), any(), any());
+
+        now = 10300;
+        coalescer.register(registers(10, 2), 1000, poller, poller);
+        verify(comms).registerRegularPoll(any(), eq(1000L), eq(700L), any(), any());
+
+        now = 12250;
+        coalescer.register(registers(2, 2), 1000, poller, poller);
+        verify(comms).registerRegularPoll(any(), eq(1000L), eq(750L), any(), any());
+        verify(comms, times(3)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+
+        // the phase of a new group starts with its first block
+        now = 12500;
+        coalescer.register(registers(0, 2), 2000, poller, poller);
+        verify(comms, times(2)).registerRegularPoll(any(), anyLong(), eq(0L), any(), any());
+    }
+
+    @Test
+    public void testClose() {
+        Poller poller = new Poller();
+        coalescer.register(registers(0, 2), 1000, poller, poller);
+        coalescer.register(registers(10, 2), 1000, poller, poller);
+
+        coalescer.close();
+        assertThat(coalescer.getBlockCount(), is(equalTo(0)));
+        verify(comms, times(2)).unregisterRegularPoll(any());
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusResponse;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusWriteCoalescerTest {
+
+    private static class Writer implements ModbusWriteCallback, ModbusFailureCallback<ModbusWriteRequestBlueprint> {
+        final List<ModbusWriteRequestBlueprint> succeeded = new ArrayList<>();
+        final List<ModbusWriteRequestBlueprint> failed = new ArrayList<>();
+
+        @Override
+        public void handle(AsyncModbusWriteResult result) {
+            succeeded.add(result.getRequest());
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusWriteRequestBlueprint> failure) {
+            failed.add(failure.getRequest());
+        }
+    }
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) ModbusWriteCoalescer coalescer;
+    private final Writer writer = new Writer();
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        coalescer = new ModbusWriteCoalescer(comms, scheduler, 20);
+    }
+
+    private static ModbusWriteRegisterRequestBlueprint register(int address, int value) {
+        return new ModbusWriteRegisterRequestBlueprint(1, address, new ModbusRegisterArray(value), false, 3);
+    }
+
+    private void submit(ModbusWriteRequestBlueprint request) {
+        coalescer.submit(request, writer, writer);
+    }
+
+    private void endWindow() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, atLeastOnce()).schedule(captor.capture(), eq(20L), eq(TimeUnit.MILLISECONDS));
+        captor.getValue().run();
+    }
+
+    @SuppressWarnings({ "unchecked", "null" })
+    private void completeTransaction(int index, boolean success) {
+        ArgumentCaptor<ModbusWriteRequestBlueprint> request = ArgumentCaptor.forClass(ModbusWriteRequestBlueprint.class);
+        ArgumentCaptor<ModbusWriteCallback> result = ArgumentCaptor.forClass(ModbusWriteCallback.class);
+        ArgumentCaptor<ModbusFailureCallback<ModbusWriteRequestBlueprint>> failure = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms, atLeast(index + 1)).submitOneTimeWrite(request.capture(), result.capture(), failure.capture());
+        if (success) {
+            result.getAllValues().get(index)
+                    .handle(new AsyncModbusWriteResult(request.getAllValues().get(index), mock(ModbusResponse.class)));
+        } else {
+            failure.getAllValues().get(index)
+                    .handle(new AsyncModbusFailure<>(request.getAllValues().get(index), new Exception("failed")));
+        }
+    }
+
+    private List<ModbusWriteRequestBlueprint> submittedTransactions() {
+        ArgumentCaptor<ModbusWriteRequestBlueprint> request = ArgumentCaptor.forClass(ModbusWriteRequestBlueprint.class);
+        verify(comms, atLeast(0)).submitOneTimeWrite(request.capture(), any(), any());
+        return request.getAllValues();
+    }
+
+    @Test
+    public void testContiguousRegistersAreMerged() {
+        ModbusWriteRequestBlueprint second = register(11, 2);
+        submit(register(12, 3));
+        submit(register(10, 1));
+        submit(second);
+        verifyNoInteractions(comms);
+
+        endWindow();
+        List<ModbusWriteRequestBlueprint> transactions = submittedTransactions();
+        assertThat(transactions.size(), is(equalTo(1)));
+        ModbusWriteRegisterRequestBlueprint merged = (ModbusWriteRegisterRequestBlueprint) transactions.get(0);
+        assertThat(merged.getReference(), is(equalTo(10)));
+        assertThat(merged.getRegisters().size(), is(equalTo(3)));
+        assertThat(merged.getRegisters().getRegister(0), is(equalTo(1)));
+        assertThat(merged.getRegisters().getRegister(2), is(equalTo(3)));
+        assertThat(merged.isWriteMultiple(), is(true));
+
+        completeTransaction(0, true);
+        assertThat(writer.succeeded.size(), is(equalTo(3)));
+        assertThat(writer.succeeded, hasItem(sameInstance(second)));
+        assertThat(coalescer.getWriteCount(), is(equalTo(3L)));
+        assertThat(coalescer.getTransactionCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testCoilsAreMerged() {
+        submit(new ModbusWriteCoilRequestBlueprint(1, 0, true, false, 3));
+        submit(new ModbusWriteCoilRequestBlueprint(1, 1, false, false, 3));
+        submit(new ModbusWriteCoilRequestBlueprint(1, 2, true, false, 3));
+
+        endWindow();
+        List<ModbusWriteRequestBlueprint> transactions = submittedTransactions();
+        assertThat(transactions.size(), is(equalTo(1)));
+        ModbusWriteCoilRequestBlueprint merged = (ModbusWriteCoilRequestBlueprint) transactions.get(0);
+        assertThat(merged.getCoils().size(), is(equalTo(3)));
+        assertThat(merged.getCoils().getBit(0), is(true));
+        assertThat(merged.getCoils().getBit(1), is(false));
+        assertThat(merged.getCoils().getBit(2), is(true));
+    }
+
+    @Test
+    public void testDifferentUnitsAndGapsAreNotMerged() {
+        submit(register(10, 1));
+        submit(register(12, 1));
+        submit(new ModbusWriteRegisterRequestBlueprint(2, 11, new ModbusRegisterArray(1), false, 3));
+
+        endWindow();
+        // only one transaction in flight at a time
+        assertThat(submittedTransactions().size(), is(equalTo(1)));
+        completeTransaction(0, true);
+        completeTransaction(1, true);
+        completeTransaction(2, true);
+        assertThat(submittedTransactions().size(), is(equalTo(3)));
+        assertThat(writer.succeeded.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testRewriteOfSameRegisterKeepsOrder() {
+        submit(register(10, 1));
+        submit(register(11, 1));
+        submit(register(10, 2));
+
+        endWindow();
+        completeTransaction(0, true);
+        List<ModbusWriteRequestBlueprint> transactions = submittedTransactions();
+        assertThat(transactions.size(), is(equalTo(2)));
+        assertThat(((ModbusWriteRegisterRequestBlueprint) transactions.get(0)).getRegisters().size(), is(equalTo(2)));
+        assertThat(((ModbusWriteRegisterRequestBlueprint) transactions.get(1)).getRegisters().getRegister(0),
+                is(equalTo(2)));
+    }
+
+    @Test
+    public void testFailureIsReportedPerWrite() {
+        ModbusWriteRequestBlueprint first = register(10, 1);
+        ModbusWriteRequestBlueprint second = register(11, 1);
+        submit(first);
+        submit(second);
+
+        endWindow();
+        completeTransaction(0, false);
+        assertThat(writer.failed, is(equalTo(List.of(first, second))));
+        assertThat(writer.succeeded.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testClose() {
+        ModbusWriteRequestBlueprint dropped = register(10, 1);
+        submit(dropped);
+        coalescer.close();
+        endWindow();
+        verifyNoInteractions(comms);
+        assertThat(writer.failed, is(equalTo(List.of(dropped))));
+
+        submit(register(11, 1));
+        assertThat(writer.failed.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testCloseFailsQueuedTransactions() {
+        ModbusWriteRequestBlueprint queued = register(12, 1);
+        submit(register(10, 1));
+        submit(queued);
+
+        endWindow();
+        assertThat(submittedTransactions().size(), is(equalTo(1)));
+        coalescer.close();
+        assertThat(writer.failed, is(equalTo(List.of(queued))));
+
+        // the transaction in flight still reports its own result
+        completeTransaction(0, true);
+        assertThat(writer.succeeded.size(), is(equalTo(1)));
+        assertThat(submittedTransactions().size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testUnmergeableWriteIsQueuedBehindPendingWrites() {
+        ModbusWriteRequestBlueprint other = mock(ModbusWriteRequestBlueprint.class);
+        submit(register(10, 1));
+        submit(other);
+
+        List<ModbusWriteRequestBlueprint> transactions = submittedTransactions();
+        assertThat(transactions.size(), is(equalTo(1)));
+        assertThat(transactions.get(0).getReference(), is(equalTo(10)));
+
+        completeTransaction(0, true);
+        transactions = submittedTransactions();
+        assertThat(transactions.size(), is(equalTo(2)));
+        assertThat(transactions.get(1), is(sameInstance(other)));
+    }
+
+    @Test
+    public void testCallbacksAreCalledWithoutLock() {
+        List<Boolean> locked = new ArrayList<>();
+        ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback = failure -> locked
+                .add(Thread.holdsLock(coalescer));
+        coalescer.submit(register(10, 1), writer, failureCallback);
+        coalescer.close();
+        coalescer.submit(register(11, 1), writer, failureCallback);
+        assertThat(locked, is(equalTo(List.of(false, false))));
+    }
+}
@@ -26,6 +26,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.library.types.StringType;
@@ -55,6 +56,7 @@ public class ChannelState implements MqttMessageSubscriber {
 
     // Runtime variables
     private @Nullable MqttBrokerConnection connection;
+    private @Nullable MqttTopicDispatcher dispatcher;
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
@@ -243,7 +245,9 @@ public class ChannelState implements MqttMessageSubscriber {
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
         if (connection != null && StringUtils.isNotBlank(config.stateTopic)) {
-            return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+            final MqttTopicDispatcher dispatcher = this.dispatcher;
+            return (dispatcher != null ? dispatcher.unsubscribe(config.stateTopic, this)
+                    : connection.unsubscribe(config.stateTopic, this)).thenRun(this::internalStop);
         } else {
             internalStop();
             return CompletableFuture.completedFuture(null);
@@ -253,6 +257,7 @@ public class ChannelState implements MqttMessageSubscriber {
     private void internalStop() {
         logger.debug("Unsubscribed channel {} form topic: {}", this.channelUID, config.stateTopic);
         this.connection = null;
+        this.dispatcher = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
         cachedValue.resetState();
@@ -288,6 +293,22 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<@Nullable Void> start(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
+        return start(connection, null, scheduler, timeout);
+    }
+
+    /**
+     * Subscribes to the state topic on the given connection and informs about updates on the given listener.
+     *
+     * @param connection A broker connection
+     * @param dispatcher A topic dispatcher of the connection, which serves the state topic if it is below a subscribed
+     *            tree. The connection is subscribed directly if this is null.
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout A timeout in milliseconds. Can be 0 to disable the timeout and let the future return earlier.
+     * @return A future that completes with true if the subscribing worked, with false if the stateTopic is not set
+     *         and exceptionally otherwise.
+     */
+    public CompletableFuture<@Nullable Void> start(MqttBrokerConnection connection,
+            @Nullable MqttTopicDispatcher dispatcher, ScheduledExecutorService scheduler, int timeout) {
         synchronized (futureLock) {
             // if the connection is still the same, the subscription is still present, otherwise we need to renew
             if ((hasSubscribed || !future.isDone()) && connection.equals(this.connection)) {
@@ -296,6 +317,7 @@ public class ChannelState implements MqttMessageSubscriber {
             hasSubscribed = false;
 
             this.connection = connection;
+            this.dispatcher = dispatcher;
 
             if (StringUtils.isBlank(config.stateTopic)) {
                 return CompletableFuture.completedFuture(null);
@@ -303,7 +325,11 @@ public class ChannelState implements MqttMessageSubscriber {
 
             this.future = new CompletableFuture<>();
         }
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        // Trigger channels must not fire for replayed payloads
+        final CompletableFuture<Boolean> subscribeFuture = dispatcher != null
+                ? dispatcher.subscribe(config.stateTopic, this, !config.trigger)
+                : connection.subscribe(config.stateTopic, this);
+        subscribeFuture.thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
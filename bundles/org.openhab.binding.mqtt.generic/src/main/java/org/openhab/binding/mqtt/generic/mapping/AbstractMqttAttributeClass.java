@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -102,6 +103,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
     protected transient List<SubscribeFieldToMQTTtopic> subscriptions = new ArrayList<>();
     public transient WeakReference<@Nullable MqttBrokerConnection> connection = new WeakReference<>(null);
     protected transient WeakReference<@Nullable ScheduledExecutorService> scheduler = new WeakReference<>(null);
+    protected transient @Nullable MqttTopicDispatcher dispatcher;
     private final String prefix;
     private transient String basetopic = "";
     protected transient AttributeChanged attributeChangedListener = (b, c, d, e, f) -> {
@@ -131,6 +133,16 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
         prefix = (topicUsesPrefix != null) ? topicUsesPrefix.value() : "";
     }
 
+    /**
+     * Set a topic dispatcher of the connection that serves the topics of this object, if they are below a subscribed
+     * tree. The topics are subscribed on the connection directly if no dispatcher is set.
+     *
+     * @param dispatcher A topic dispatcher or null
+     */
+    public void setTopicDispatcher(@Nullable MqttTopicDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     /**
      * Unsubscribe from all topics of the managed object.
      *
@@ -145,7 +157,9 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
             return CompletableFuture.completedFuture(null);
         }
 
-        final CompletableFuture<?>[] futures = subscriptions.stream().map(m -> connection.unsubscribe(m.topic, m))
+        final MqttTopicDispatcher dispatcher = this.dispatcher;
+        final CompletableFuture<?>[] futures = subscriptions.stream()
+                .map(m -> dispatcher != null ? dispatcher.unsubscribe(m.topic, m) : connection.unsubscribe(m.topic, m))
                 .toArray(CompletableFuture[]::new);
         subscriptions.clear();
         return CompletableFuture.allOf(futures);
@@ -191,8 +205,11 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
         subscriptions = getAllFields(getFieldsOf().getClass()).stream().filter(AbstractMqttAttributeClass::filterField)
                 .map(this::mapFieldToSubscriber).collect(Collectors.toList());
 
+        final MqttTopicDispatcher dispatcher = this.dispatcher;
         final CompletableFuture<?>[] futures = subscriptions.stream()
-                .map(m -> m.subscribeAndReceive(connection, timeout)).toArray(CompletableFuture[]::new);
+                .map(m -> dispatcher != null ? m.subscribeAndReceiveVia(dispatcher, timeout)
+                        : m.subscribeAndReceive(connection, timeout))
+                .toArray(CompletableFuture[]::new);
         return CompletableFuture.allOf(startFuture, CompletableFuture.allOf(futures));
     }
 
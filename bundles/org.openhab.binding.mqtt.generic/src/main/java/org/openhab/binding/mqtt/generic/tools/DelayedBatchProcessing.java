@@ -13,11 +13,15 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -25,8 +29,15 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * Collects objects over time until a specified delay passed by.
- * Then call the user back with a list of accumulated objects and start over again.
+ * Collects objects over time and calls the user back with a list of accumulated objects.
+ * <p>
+ * A batch is delivered as soon as one of two triggers fires:
+ * <ul>
+ * <li>the maximum latency passed since the first object of the batch was received, or</li>
+ * <li>the maximum batch size has been reached.</li>
+ * </ul>
+ * In contrast to a debounce, the latency timer is armed once per batch and not rescheduled for every object.
+ * Adding objects does not take a lock, so this class can be used by many MQTT callbacks at once.
  *
  * @author David Graeff - Initial contribution
  *
@@ -34,38 +45,72 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
+    /** The default maximum number of objects delivered to the consumer at once */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    /** Batch sizes are counted in power of two buckets: 1, 2-3, 4-7, ... */
+    public static final int HISTOGRAM_BUCKETS = 16;
+
     private final int delay;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLongArray batchSizeHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+    private final Object processLock = new Object();
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
 
     /**
-     * Creates a {@link DelayedBatchProcessing}.
+     * Creates a {@link DelayedBatchProcessing} with the {@link #DEFAULT_MAX_BATCH_SIZE}.
      *
-     * @param delay A delay in milliseconds
+     * @param delay The maximum latency in milliseconds
      * @param consumer A consumer of the list of collected objects
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, DEFAULT_MAX_BATCH_SIZE, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay The maximum latency in milliseconds
+     * @param maxBatchSize The maximum amount of objects delivered to the consumer at once
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.maxBatchSize = maxBatchSize;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size need to be greater than 0!");
+        }
     }
 
     /**
-     * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * Add new object to the batch process list. The first object of a batch arms the latency timer,
+     * reaching the maximum batch size delivers the batch immediately.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+        if (queueSize.incrementAndGet() >= maxBatchSize) {
+            if (flushRequested.compareAndSet(false, true)) {
+                executor.execute(this::run);
+            }
+        } else if (armed.compareAndSet(false, true)) {
+            futureRef.set(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS));
+        }
     }
 
     /**
@@ -74,11 +119,12 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @return A list of accumulated objects
      */
     public List<T> join() {
-        cancel(futureRef.getAndSet(null));
+        disarm();
         List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+        T t;
+        while ((t = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            lqueue.add(t);
         }
         return lqueue;
     }
@@ -95,22 +141,60 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * Deliver queued items now to the target consumer.
      */
     public void forceProcessNow() {
-        cancel(futureRef.getAndSet(null));
         run();
     }
 
-    private void run() {
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+    /**
+     * Return the amount of objects waiting for delivery.
+     */
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    /**
+     * Return a snapshot of the delivered batch sizes. The element at index i counts the batches
+     * with a size between 2^i and 2^(i+1)-1. The last bucket also counts all bigger batches.
+     */
+    public long[] getBatchSizeHistogram() {
+        long[] result = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; ++i) {
+            result[i] = batchSizeHistogram.get(i);
         }
+        return result;
+    }
 
-        if (!lqueue.isEmpty()) {
-            consumer.accept(lqueue);
+    private void run() {
+        disarm();
+        flushRequested.set(false);
+        // Serialize the delivery to keep the order of the batches. Producers are never blocked by this.
+        synchronized (processLock) {
+            while (true) {
+                List<T> lqueue = new ArrayList<>(Math.min(queueSize.get(), maxBatchSize));
+                T t;
+                while (lqueue.size() < maxBatchSize && (t = queue.poll()) != null) {
+                    queueSize.decrementAndGet();
+                    lqueue.add(t);
+                }
+                if (lqueue.isEmpty()) {
+                    return;
+                }
+                recordBatchSize(lqueue.size());
+                consumer.accept(lqueue);
+            }
         }
     }
 
+    private void disarm() {
+        // Cancel before releasing the flag, otherwise a timer that was just armed by a producer could be cancelled
+        cancel(futureRef.getAndSet(null));
+        armed.set(false);
+    }
+
+    private void recordBatchSize(int size) {
+        int bucket = 31 - Integer.numberOfLeadingZeros(size);
+        batchSizeHistogram.incrementAndGet(Math.min(bucket, HISTOGRAM_BUCKETS - 1));
+    }
+
     private static void cancel(@Nullable ScheduledFuture<?> future) {
         if (future != null) {
             future.cancel(false);
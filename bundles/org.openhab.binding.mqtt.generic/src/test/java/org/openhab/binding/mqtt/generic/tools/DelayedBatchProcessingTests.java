@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests the {@link DelayedBatchProcessing} class.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DelayedBatchProcessingTests {
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private final BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void deliversAfterMaxLatency() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, batches::add, scheduler);
+        processing.accept(1);
+        processing.accept(2);
+        assertTrue(processing.isArmed());
+
+        @Nullable
+        List<Integer> batch = batches.poll(1, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertThat(batch, is(List.of(1, 2)));
+        assertThat(processing.getQueueSize(), is(0));
+        assertThat(processing.getBatchSizeHistogram()[1], is(1L));
+    }
+
+    @Test
+    public void latencyIsNotExtendedByNewElements() {
+        ScheduledExecutorService manualScheduler = mock(ScheduledExecutorService.class);
+        ScheduledFuture<?> future = mock(ScheduledFuture.class);
+        doReturn(future).when(manualScheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(100, batches::add,
+                manualScheduler);
+        for (int i = 0; i < 10; ++i) {
+            processing.accept(i);
+        }
+
+        // A debounce would have rescheduled the timer for every element
+        ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+        verify(manualScheduler, times(1)).schedule(timer.capture(), eq(100L), eq(TimeUnit.MILLISECONDS));
+        verify(future, never()).cancel(anyBoolean());
+
+        timer.getValue().run();
+        assertThat(batches.poll(), is(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+        assertNull(batches.poll());
+
+        // The next element arms a new timer for the next batch
+        processing.accept(10);
+        verify(manualScheduler, times(2)).schedule(any(Runnable.class), eq(100L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void deliversWhenMaxBatchSizeIsReached() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10000, 3, batches::add, scheduler);
+        for (int i = 0; i < 7; ++i) {
+            processing.accept(i);
+        }
+        // The first full batch is delivered long before the latency deadline
+        @Nullable
+        List<Integer> batch = batches.poll(1, TimeUnit.SECONDS);
+        List<Integer> received = new ArrayList<>();
+        while (batch != null) {
+            assertTrue(batch.size() <= 3);
+            received.addAll(batch);
+            batch = batches.poll(100, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(received.size() >= 3);
+
+        // Whatever did not fill up a batch is returned on join
+        received.addAll(processing.join());
+        assertThat(received, is(List.of(0, 1, 2, 3, 4, 5, 6)));
+        assertFalse(processing.isArmed());
+    }
+
+    @Test
+    public void forceProcessNow() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10000, batches::add, scheduler);
+        processing.accept(1);
+        processing.forceProcessNow();
+        assertFalse(processing.isArmed());
+        assertThat(batches.poll(), is(List.of(1)));
+        assertThat(processing.getBatchSizeHistogram()[0], is(1L));
+    }
+}
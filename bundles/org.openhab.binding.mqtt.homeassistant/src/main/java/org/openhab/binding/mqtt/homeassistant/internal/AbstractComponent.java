@@ -193,6 +193,21 @@ public abstract class AbstractComponent<C extends BaseChannelConfiguration> {
         return configHash;
     }
 
+    /**
+     * @return Returns true if this component was created from the given configuration.
+     */
+    public boolean hasConfig(String channelConfigurationJson) {
+        return configHash == channelConfigurationJson.hashCode()
+                && this.channelConfigurationJson.equals(channelConfigurationJson);
+    }
+
+    /**
+     * @return Returns the location of this component.
+     */
+    public HaID getHaID() {
+        return haID;
+    }
+
     /**
      * Return the channel group type.
      */
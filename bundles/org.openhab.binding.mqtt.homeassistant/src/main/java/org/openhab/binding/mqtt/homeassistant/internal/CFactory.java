@@ -144,7 +144,7 @@ public class CFactory {
         }
 
         public <C extends BaseChannelConfiguration> C getConfig(Class<C> clazz) {
-            return BaseChannelConfiguration.fromString(configJSON, gson, clazz);
+            return ComponentConfigCache.getInstance().get(configJSON, gson, clazz);
         }
     }
 }
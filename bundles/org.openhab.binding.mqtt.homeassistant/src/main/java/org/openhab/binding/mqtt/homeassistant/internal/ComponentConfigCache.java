@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Caches parsed component configurations, keyed by a SHA-256 hash of the configuration payload and the
+ * configuration class.
+ * <p>
+ * All retained "config" topics are received again on every broker connect, by the discovery as well as by every
+ * thing handler. Only payloads that actually changed need to be parsed again.
+ * <p>
+ * Parsed configurations are shared and must not be modified.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ComponentConfigCache {
+    /** Enough for ~900 components with a discovery and a component specific configuration each */
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    private static final ComponentConfigCache INSTANCE = new ComponentConfigCache(DEFAULT_MAX_ENTRIES);
+
+    private final Map<String, BaseChannelConfiguration> configs;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns the cache that is shared by the discovery and all thing handlers.
+     */
+    public static ComponentConfigCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a cache that evicts the least recently used configuration if it contains more than the given entries.
+     *
+     * @param maxEntries The maximum amount of parsed configurations
+     */
+    ComponentConfigCache(int maxEntries) {
+        this.configs = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, BaseChannelConfiguration> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the parsed configuration for the given payload. Parses the payload only if it is not cached yet.
+     *
+     * @param configJSON The configuration payload
+     * @param gson A Gson instance with the {@link ChannelConfigurationTypeAdapterFactory} registered
+     * @param clazz The configuration class
+     * @return configuration object
+     */
+    public <C extends BaseChannelConfiguration> C get(String configJSON, Gson gson, Class<C> clazz) {
+        final String key = clazz.getName() + ":" + hash(configJSON);
+        synchronized (configs) {
+            BaseChannelConfiguration config = configs.get(key);
+            if (config != null) {
+                hits.incrementAndGet();
+                return clazz.cast(config);
+            }
+        }
+        misses.incrementAndGet();
+        // Parse outside of the lock, a concurrent parse of the same payload results in an equal object
+        C config = BaseChannelConfiguration.fromString(configJSON, gson, clazz);
+        synchronized (configs) {
+            configs.put(key, config);
+        }
+        return config;
+    }
+
+    /**
+     * Returns the parsed base properties of the given payload. Parses the payload only if it is not cached yet.
+     *
+     * @param configJSON The configuration payload
+     * @param gson A Gson instance with the {@link ChannelConfigurationTypeAdapterFactory} registered
+     * @return configuration object
+     */
+    public BaseChannelConfiguration get(String configJSON, Gson gson) {
+        return get(configJSON, gson, BaseChannelConfiguration.Config.class);
+    }
+
+    /**
+     * Returns the amount of cached configurations.
+     */
+    public int size() {
+        synchronized (configs) {
+            return configs.size();
+        }
+    }
+
+    /**
+     * Returns how often a parsed configuration could be reused.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns how often a configuration payload had to be parsed.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the hex encoded SHA-256 hash of the given payload.
+     *
+     * @param configJSON The configuration payload
+     */
+    public static String hash(String configJSON) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(configJSON.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is available on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
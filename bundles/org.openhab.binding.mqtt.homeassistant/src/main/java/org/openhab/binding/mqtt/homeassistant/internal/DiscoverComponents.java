@@ -64,6 +64,17 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      */
     public static interface ComponentDiscovered {
         void componentDiscovered(HaID homeAssistantTopicID, AbstractComponent<?> component);
+
+        /**
+         * Return true if a component with exactly this configuration is already known.
+         * Such a component is not created and reported again.
+         *
+         * @param homeAssistantTopicID The component location
+         * @param channelConfigurationJSON The configuration payload
+         */
+        default boolean isComponentKnown(HaID homeAssistantTopicID, String channelConfigurationJSON) {
+            return false;
+        }
     }
 
     /**
@@ -93,6 +104,12 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         HaID haID = new HaID(topic);
         String config = new String(payload);
 
+        if (discoveredListener != null && config.length() > 0 && discoveredListener.isComponentKnown(haID, config)) {
+            logger.trace("Configuration of HomeAssistant thing {} component {} unchanged", haID.objectID,
+                    haID.component);
+            return;
+        }
+
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
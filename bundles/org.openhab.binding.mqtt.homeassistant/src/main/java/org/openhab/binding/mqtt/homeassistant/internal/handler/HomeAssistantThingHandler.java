@@ -89,6 +89,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
 
     private final Gson gson;
     protected final Map<String, AbstractComponent<?>> haComponents = new HashMap<>();
+    // The same components, indexed by their location, to recognize unchanged configurations. Guarded by haComponents.
+    protected final Map<HaID, AbstractComponent<?>> haComponentsByHaID = new HashMap<>();
 
     protected HandlerConfiguration config = new HandlerConfiguration();
     private Set<HaID> discoveryHomeAssistantIDs = new HashSet<>();
@@ -159,6 +161,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
 
             if (component != null) {
                 haComponents.put(component.uid().getId(), component);
+                haComponentsByHaID.put(haID, component);
                 component.addChannelTypes(channelTypeProvider);
             } else {
                 logger.warn("Could not restore component {}", thing);
@@ -242,6 +245,22 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         return componentChannel.getState();
     }
 
+    /**
+     * Callback of {@link DiscoverComponents}. Components restored from the channel configuration or discovered
+     * earlier are not parsed and started again, if their configuration did not change.
+     */
+    @Override
+    public boolean isComponentKnown(HaID homeAssistantTopicID, String channelConfigurationJSON) {
+        synchronized (haComponents) {
+            AbstractComponent<?> known = haComponentsByHaID.get(homeAssistantTopicID);
+            if (known == null || !known.hasConfig(channelConfigurationJSON)) {
+                return false;
+            }
+            known.setConfigSeen();
+            return true;
+        }
+    }
+
     /**
      * Callback of {@link DiscoverComponents}. Add to a delayed batch processor.
      */
@@ -281,6 +300,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 discovered.addChannelTypes(channelTypeProvider);
                 // Add component to the component map
                 haComponents.put(discovered.uid().getId(), discovered);
+                haComponentsByHaID.put(discovered.getHaID(), discovered);
                 // Start component / Subscribe to channel topics
                 discovered.start(connection, scheduler, 0).exceptionally(e -> {
                     logger.warn("Failed to start component {}", discovered.uid(), e);
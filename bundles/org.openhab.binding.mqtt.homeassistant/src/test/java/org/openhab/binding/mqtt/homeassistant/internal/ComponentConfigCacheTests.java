@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests the {@link ComponentConfigCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ComponentConfigCacheTests {
+
+    private Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory())
+            .create();
+
+    @Test
+    public void reuseParsedConfiguration() {
+        ComponentConfigCache cache = new ComponentConfigCache(10);
+        String json = "{\"name\":\"Switch\",\"state_topic\":\"zigbee2mqtt/switch\"}";
+
+        ComponentSwitch.ChannelConfiguration config = cache.get(json, gson, ComponentSwitch.ChannelConfiguration.class);
+        assertThat(config.name, is("Switch"));
+        assertThat(cache.get(new String(json), gson, ComponentSwitch.ChannelConfiguration.class),
+                is(sameInstance(config)));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(1L));
+
+        // The same payload parsed into another class is a different entry
+        BaseChannelConfiguration base = cache.get(json, gson);
+        assertThat(base, is(not(sameInstance(config))));
+        assertThat(cache.size(), is(2));
+
+        // A changed payload needs to be parsed again
+        ComponentSwitch.ChannelConfiguration changed = cache.get(json.replace("Switch", "Other"), gson,
+                ComponentSwitch.ChannelConfiguration.class);
+        assertThat(changed.name, is("Other"));
+        assertThat(cache.getMisses(), is(3L));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        ComponentConfigCache cache = new ComponentConfigCache(2);
+        for (int i = 0; i < 5; ++i) {
+            cache.get("{\"name\":\"" + i + "\"}", gson);
+        }
+        assertThat(cache.size(), is(2));
+    }
+}
@@ -25,6 +25,8 @@ import org.openhab.binding.mqtt.generic.AbstractMQTTThingHandler;
 import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
 import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing;
+import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
 import org.openhab.binding.mqtt.homie.internal.homie300.Device;
 import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes;
@@ -126,11 +128,15 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
                     "Homie devices require QoS 1 but Qos 0/2 is configured. Using override. Please check the configuration");
             connection.setQos(1);
         }
-        return device.subscribe(connection, scheduler, attributeReceiveTimeout).thenCompose((Void v) -> {
-            return device.startChannels(connection, scheduler, attributeReceiveTimeout, this);
-        }).thenRun(() -> {
-            logger.debug("Homie device {} fully attached (start)", device.attributes.name);
-        });
+        // The device tree is subscribed once through the dispatcher of the broker handler
+        final AbstractBrokerHandler bridgeHandler = getBridgeHandler();
+        final MqttTopicDispatcher dispatcher = bridgeHandler == null ? null : bridgeHandler.getTopicDispatcher();
+        return device.subscribe(connection, dispatcher, scheduler, attributeReceiveTimeout, deviceTimeout)
+                .thenCompose((Void v) -> {
+                    return device.startChannels(connection, scheduler, attributeReceiveTimeout, this);
+                }).thenRun(() -> {
+                    logger.debug("Homie device {} fully attached (start)", device.attributes.name);
+                });
     }
 
     @Override
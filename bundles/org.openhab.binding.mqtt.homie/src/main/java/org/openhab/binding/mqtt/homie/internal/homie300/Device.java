@@ -24,8 +24,10 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.ChannelConfig;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.ThingUID;
@@ -65,6 +67,12 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     public String deviceID = "";
     private boolean initialized = false;
 
+    // Holds the "homie/<id>/#" subscription that covers the whole device tree. All attribute and property
+    // subscriptions below it are served by the topic dispatcher without additional broker round trips.
+    private final MqttMessageSubscriber treeSubscriber = (topic, payload) -> {
+    };
+    private @Nullable MqttTopicDispatcher treeDispatcher;
+
     /**
      * Creates a Homie Device structure. It consists of device attributes, device statistics and nodes.
      *
@@ -109,13 +117,41 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      */
     public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
+        return subscribe(connection, null, scheduler, timeout, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Subscribe to the entire device tree with a single "homie/&lt;id&gt;/#" subscription and assemble device
+     * attributes, nodes and properties as soon as their retained values arrive.
+     *
+     * @param connection A broker connection
+     * @param dispatcher The topic dispatcher of the connection, which serves all topics of the device tree. Each topic
+     *            is subscribed on the connection directly if this is null.
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout The time in milliseconds to wait for a single attribute value
+     * @param budget The overall time in milliseconds the device tree may take. Attributes that have not been received
+     *            when the budget is used up are not waited for anymore.
+     * @return A future that is complete as soon as all attributes, nodes and properties have been requested and have
+     *         been subscribed to.
+     */
+    public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
+            @Nullable MqttTopicDispatcher dispatcher, ScheduledExecutorService scheduler, int timeout, int budget) {
         if (topic.isEmpty()) {
             throw new IllegalStateException("You must call initialize()!");
         }
 
-        return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
+        final long deadline = System.currentTimeMillis() + budget;
+        treeDispatcher = dispatcher;
+        attributes.setTopicDispatcher(dispatcher);
+        // Retained values of the whole tree arrive with this one subscription. Nodes and properties that are
+        // discovered while the tree is assembled subscribe to covered topics and get their values replayed.
+        final CompletableFuture<Boolean> treeFuture = dispatcher != null
+                ? dispatcher.subscribeTree(topic + "/#", treeSubscriber)
+                : CompletableFuture.completedFuture(true);
+        return treeFuture.thenCompose(b -> attributes.subscribeAndReceive(connection, scheduler, topic, this,
+                        remaining(deadline, timeout)))
                 // On success, create all nodes and tell the handler about the ready state
-                .thenCompose(b -> attributesReceived(connection, scheduler, timeout))
+                .thenCompose(b -> attributesReceived(connection, scheduler, remaining(deadline, timeout)))
                 // No matter if values have been received or not -> the subscriptions have been performed
                 .whenComplete((r, e) -> {
                     initialized = true;
@@ -147,7 +183,7 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
         }
 
         return CompletableFuture.allOf(nodes.stream().flatMap(node -> node.properties.stream())
-                .map(p -> p.startChannel(connection, scheduler, timeout)).toArray(CompletableFuture[]::new));
+                .map(p -> p.startChannel(connection, treeDispatcher, scheduler, timeout)).toArray(CompletableFuture[]::new));
     }
 
     /**
@@ -174,8 +210,24 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      * Unsubscribe from everything.
      */
     public CompletableFuture<@Nullable Void> stop() {
-        return attributes.unsubscribe().thenCompose(
-                b -> CompletableFuture.allOf(nodes.stream().map(Node::stop).toArray(CompletableFuture[]::new)));
+        return attributes.unsubscribe()
+                .thenCompose(b -> CompletableFuture
+                        .allOf(nodes.stream().map(Node::stop).toArray(CompletableFuture[]::new)))
+                .thenCompose(b -> {
+                    final MqttTopicDispatcher dispatcher = treeDispatcher;
+                    treeDispatcher = null;
+                    if (dispatcher == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return dispatcher.unsubscribe(topic + "/#", treeSubscriber).thenApply(r -> null);
+                });
+    }
+
+    /**
+     * Returns the given timeout, shortened to the milliseconds that are left until the deadline.
+     */
+    private static int remaining(long deadline, int timeout) {
+        return (int) Math.max(0, Math.min(timeout, deadline - System.currentTimeMillis()));
     }
 
     /**
@@ -275,7 +327,7 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
 
     CompletableFuture<@Nullable Void> applyNodes(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
-        return nodes.apply(attributes.nodes, node -> node.subscribe(connection, scheduler, timeout), this::createNode,
+        return nodes.apply(attributes.nodes, node -> node.subscribe(connection, treeDispatcher, scheduler, timeout), this::createNode,
                 this::notifyNodeRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
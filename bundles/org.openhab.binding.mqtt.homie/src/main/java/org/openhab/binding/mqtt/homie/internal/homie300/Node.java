@@ -23,6 +23,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.ChannelGroupUID;
@@ -57,6 +58,7 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
     public final ChannelGroupTypeUID channelGroupTypeUID;
     private final String topic;
     private boolean initialized = false;
+    private @Nullable MqttTopicDispatcher dispatcher;
 
     /**
      * Creates a Homie Node.
@@ -80,9 +82,16 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
      * Parse node properties. This will not subscribe to properties though. Call
      * {@link Device#startChannels(MqttBrokerConnection)} as soon as the returned future has
      * completed.
+     *
+     * @param connection A broker connection
+     * @param dispatcher The topic dispatcher that serves the device tree or null
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout A timeout in milliseconds
      */
     public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
-            ScheduledExecutorService scheduler, int timeout) {
+            @Nullable MqttTopicDispatcher dispatcher, ScheduledExecutorService scheduler, int timeout) {
+        this.dispatcher = dispatcher;
+        attributes.setTopicDispatcher(dispatcher);
         return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
                 // On success, create all properties and tell the handler about this node
                 .thenCompose(b -> attributesReceived(connection, scheduler, timeout))
@@ -173,7 +182,7 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
 
     protected CompletableFuture<@Nullable Void> applyProperties(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
-        return properties.apply(attributes.properties, prop -> prop.subscribe(connection, scheduler, timeout),
+        return properties.apply(attributes.properties, prop -> prop.subscribe(connection, dispatcher, scheduler, timeout),
                 this::createProperty, this::notifyPropertyRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
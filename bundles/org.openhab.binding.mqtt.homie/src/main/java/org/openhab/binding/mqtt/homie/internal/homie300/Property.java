@@ -35,6 +35,7 @@ import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.PercentageValue;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
 import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
 import org.openhab.binding.mqtt.homie.internal.homie300.PropertyAttributes.DataTypeEnum;
 import org.openhab.core.config.core.Configuration;
@@ -97,11 +98,16 @@ public class Property implements AttributeChanged {
      * Subscribe to property attributes. This will not subscribe
      * to the property value though. Call {@link Device#startChannels(MqttBrokerConnection)} to do that.
      *
+     * @param connection A broker connection
+     * @param dispatcher The topic dispatcher that serves the device tree or null
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout A timeout in milliseconds
      * @return Returns a future that completes as soon as all attribute values have been received or requests have timed
      *         out.
      */
     public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
-            ScheduledExecutorService scheduler, int timeout) {
+            @Nullable MqttTopicDispatcher dispatcher, ScheduledExecutorService scheduler, int timeout) {
+        attributes.setTopicDispatcher(dispatcher);
         return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
                 // On success, create the channel and tell the handler about this property
                 .thenRun(this::attributesReceived)
@@ -273,13 +279,13 @@ public class Property implements AttributeChanged {
      * Subscribes to the state topic on the given connection and informs about updates on the given listener.
      *
      * @param connection A broker connection
+     * @param dispatcher The topic dispatcher that serves the device tree or null
      * @param scheduler A scheduler to realize the timeout
      * @param timeout A timeout in milliseconds. Can be 0 to disable the timeout and let the future return earlier.
-     * @param channelStateUpdateListener An update listener
      * @return A future that completes with true if the subscribing worked and false and/or exceptionally otherwise.
      */
     public CompletableFuture<@Nullable Void> startChannel(MqttBrokerConnection connection,
-            ScheduledExecutorService scheduler, int timeout) {
+            @Nullable MqttTopicDispatcher dispatcher, ScheduledExecutorService scheduler, int timeout) {
         final ChannelState channelState = this.channelState;
         if (channelState == null) {
             CompletableFuture<@Nullable Void> f = new CompletableFuture<>();
@@ -288,7 +294,7 @@ public class Property implements AttributeChanged {
         }
         // Make sure we set the callback again which might have been nulled during an stop
         channelState.setChannelStateUpdateListener(this.callback);
-        return channelState.start(connection, scheduler, timeout);
+        return channelState.start(connection, dispatcher, scheduler, timeout);
     }
 
     /**
@@ -344,7 +344,7 @@ public class HomieThingHandlerTests {
         verify(thingHandler).propertyAddedOrChanged(any());
         verify(thingHandler).nodeAddedOrChanged(any());
 
-        verify(thingHandler.device).subscribe(any(), any(), anyInt());
+        verify(thingHandler.device).subscribe(any(), any(), any(), anyInt(), anyInt());
         verify(thingHandler.device).attributesReceived(any(), any(), anyInt());
 
         assertNotNull(thingHandler.device.nodes.get("node").properties.get("property"));
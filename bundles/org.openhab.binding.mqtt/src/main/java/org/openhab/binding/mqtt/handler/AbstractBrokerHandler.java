@@ -51,6 +51,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
     private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
 
     protected @Nullable MqttBrokerConnection connection;
+    private @Nullable MqttTopicDispatcher topicDispatcher;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
 
     public AbstractBrokerHandler(Bridge thing) {
@@ -77,6 +78,14 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         return connection;
     }
 
+    /**
+     * Returns the {@link MqttTopicDispatcher} of the underlying {@link MqttBrokerConnection}, as long as the handler
+     * is initialized. It is used to subscribe to retained device trees, like those of Homie devices.
+     */
+    public @Nullable MqttTopicDispatcher getTopicDispatcher() {
+        return topicDispatcher;
+    }
+
     /**
      * Does nothing in the base implementation.
      */
@@ -102,6 +111,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             channelStateByChannelUID.put(channel.getUID(), c);
         }
 
+        topicDispatcher = new MqttTopicDispatcher(connection);
         connection.addConnectionObserver(this);
 
         connection.start().exceptionally(e -> {
@@ -175,6 +185,12 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             });
         });
 
+        final MqttTopicDispatcher topicDispatcher = this.topicDispatcher;
+        if (topicDispatcher != null) {
+            topicDispatcher.dispose();
+            this.topicDispatcher = null;
+        }
+
         if (connection != null) {
             connection.removeConnectionObserver(this);
         } else {
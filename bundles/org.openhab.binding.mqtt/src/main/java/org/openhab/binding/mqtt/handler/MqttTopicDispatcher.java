@@ -0,0 +1,383 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares the subscriptions of a {@link MqttBrokerConnection} between many subscribers.
+ * <p>
+ * A subtree whose topics are all published retained, like a Homie device, is subscribed once with
+ * {@link #subscribeTree(String, MqttMessageSubscriber)}. Filters below such a tree are served by that single broker
+ * subscription. Received messages are matched against a {@link TopicTrie} of all subscribed filters, which costs
+ * O(topic depth) instead of matching every subscribed filter. The dispatcher keeps the last payloads of a tree and
+ * replays them to subscribers that join later, just like the broker replays retained messages.
+ * <p>
+ * Filters that are not covered by a tree are subscribed on the broker connection directly, so the broker delivers
+ * their retained messages as usual.
+ * <p>
+ * The dispatcher is owned by the {@link AbstractBrokerHandler} of the connection and is disposed together with it,
+ * see {@link AbstractBrokerHandler#getTopicDispatcher()}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTopicDispatcher {
+    /** The maximum amount of topics that are remembered per tree */
+    static final int MAX_TREE_TOPICS = 10000;
+
+    private final Logger logger = LoggerFactory.getLogger(MqttTopicDispatcher.class);
+
+    private final MqttBrokerConnection connection;
+    private final TopicTrie<Subscription> subscriptions = new TopicTrie<>();
+    private final Map<String, BrokerSubscription> brokerSubscriptions = new HashMap<>();
+    private final TopicTrie<BrokerSubscription> trees = new TopicTrie<>();
+
+    /**
+     * A subscriber for a topic filter. It is assigned to exactly one broker subscription that covers the filter,
+     * so that it receives a message only once, even if multiple broker subscriptions match a topic.
+     */
+    private static class Subscription {
+        final String filter;
+        final MqttMessageSubscriber subscriber;
+        final boolean tree;
+        @Nullable
+        BrokerSubscription brokerSubscription;
+        // Live messages that arrive while the payloads of a tree are replayed, delivered after the replay
+        @Nullable
+        List<Message> pending;
+
+        Subscription(String filter, MqttMessageSubscriber subscriber, boolean tree) {
+            this.filter = filter;
+            this.subscriber = subscriber;
+            this.tree = tree;
+        }
+    }
+
+    /**
+     * A subscription on the broker connection.
+     */
+    private class BrokerSubscription implements MqttMessageSubscriber {
+        final String filter;
+        final Set<Subscription> members = new HashSet<>();
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        // The last payloads per topic, as long as the filter is subscribed as a tree
+        @Nullable
+        Map<String, byte[]> payloads;
+        int treeMembers = 0;
+
+        BrokerSubscription(String filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            dispatch(this, topic, payload);
+        }
+    }
+
+    private static class Message {
+        final String topic;
+        final byte[] payload;
+
+        Message(String topic, byte[] payload) {
+            this.topic = topic;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Creates a dispatcher for the given connection.
+     *
+     * @param connection A broker connection
+     */
+    public MqttTopicDispatcher(MqttBrokerConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Subscribes to a topic filter. The last payloads of matching topics are replayed to the subscriber, if the filter
+     * is covered by a tree.
+     *
+     * @param filter A topic filter, wildcards are allowed
+     * @param subscriber The subscriber
+     * @return Completes with true if successful. Completes with false if not connected yet. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> subscribe(String filter, MqttMessageSubscriber subscriber) {
+        return subscribe(filter, subscriber, true);
+    }
+
+    /**
+     * Subscribes to a topic filter.
+     *
+     * @param filter A topic filter, wildcards are allowed
+     * @param subscriber The subscriber
+     * @param replay Replay the last payloads of matching topics, if the filter is covered by a tree. Should be false
+     *            for subscribers that trigger on messages.
+     * @return Completes with true if successful. Completes with false if not connected yet. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> subscribe(String filter, MqttMessageSubscriber subscriber, boolean replay) {
+        return subscribe(filter, subscriber, false, replay);
+    }
+
+    /**
+     * Subscribes to a subtree whose topics are all published retained, for example "homie/device/#". The dispatcher
+     * remembers the last payloads of the tree as long as it is subscribed and replays them to subscribers of filters
+     * below it. Those filters do not need their own broker subscription.
+     *
+     * @param filter A topic filter, usually ending with "#"
+     * @param subscriber The subscriber
+     * @return Completes with true if successful. Completes with false if not connected yet. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> subscribeTree(String filter, MqttMessageSubscriber subscriber) {
+        return subscribe(filter, subscriber, true, true);
+    }
+
+    private CompletableFuture<Boolean> subscribe(String filter, MqttMessageSubscriber subscriber, boolean tree,
+            boolean replay) {
+        final @Nullable Subscription subscription;
+        final @Nullable BrokerSubscription brokerSubscription;
+        final List<Message> replayMessages;
+        boolean added = false;
+        synchronized (this) {
+            Subscription existing = find(filter, subscriber);
+            if (existing != null) {
+                BrokerSubscription current = existing.brokerSubscription;
+                return current == null ? CompletableFuture.completedFuture(true) : current.future;
+            }
+            BrokerSubscription found = tree ? brokerSubscriptions.get(filter) : findTree(filter);
+            if (found == null && tree) {
+                found = new BrokerSubscription(filter);
+                brokerSubscriptions.put(filter, found);
+                added = true;
+            }
+            brokerSubscription = found;
+            if (brokerSubscription != null) {
+                subscription = new Subscription(filter, subscriber, tree);
+                subscriptions.add(filter, subscription);
+                subscription.brokerSubscription = brokerSubscription;
+                brokerSubscription.members.add(subscription);
+
+                replayMessages = replay ? payloads(brokerSubscription, filter) : List.of();
+                if (!replayMessages.isEmpty()) {
+                    // Live messages are held back until the older replayed payloads have been delivered
+                    subscription.pending = new ArrayList<>();
+                }
+                if (tree && brokerSubscription.treeMembers++ == 0) {
+                    brokerSubscription.payloads = new HashMap<>();
+                    trees.add(filter, brokerSubscription);
+                }
+            } else {
+                subscription = null;
+                replayMessages = List.of();
+            }
+        }
+
+        if (brokerSubscription == null || subscription == null) {
+            // Not covered by a tree: the broker delivers the retained messages of the filter
+            return connection.subscribe(filter, subscriber);
+        }
+        if (added) {
+            connection.subscribe(filter, brokerSubscription).whenComplete((result, e) -> {
+                if (e != null) {
+                    brokerSubscription.future.completeExceptionally(e);
+                } else {
+                    brokerSubscription.future.complete(result);
+                }
+            });
+        }
+        if (!replayMessages.isEmpty()) {
+            replay(subscription, replayMessages);
+        }
+        return brokerSubscription.future;
+    }
+
+    /**
+     * Unsubscribes from a topic filter.
+     *
+     * @param filter A topic filter, as used in {@link #subscribe(String, MqttMessageSubscriber)}
+     * @param subscriber The subscriber
+     * @return Completes with true if successful. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> unsubscribe(String filter, MqttMessageSubscriber subscriber) {
+        final BrokerSubscription brokerSubscription;
+        synchronized (this) {
+            Subscription subscription = find(filter, subscriber);
+            if (subscription == null) {
+                return connection.unsubscribe(filter, subscriber);
+            }
+            subscriptions.remove(filter, subscription);
+            BrokerSubscription current = subscription.brokerSubscription;
+            subscription.brokerSubscription = null;
+            if (current == null) {
+                return CompletableFuture.completedFuture(true);
+            }
+            current.members.remove(subscription);
+            if (subscription.tree && --current.treeMembers == 0) {
+                // Filters below are still served by this broker subscription, but do not join it anymore
+                trees.remove(current.filter, current);
+                current.payloads = null;
+            }
+            if (!current.members.isEmpty()) {
+                return CompletableFuture.completedFuture(true);
+            }
+            brokerSubscriptions.remove(current.filter);
+            brokerSubscription = current;
+        }
+        return connection.unsubscribe(brokerSubscription.filter, brokerSubscription);
+    }
+
+    /**
+     * Removes all subscriptions of this dispatcher from the broker connection. Subscribers of trees do not receive
+     * messages anymore and the remembered payloads are dropped.
+     *
+     * @return Completes with true if successful. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> dispose() {
+        final List<BrokerSubscription> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(brokerSubscriptions.values());
+            for (BrokerSubscription brokerSubscription : removed) {
+                brokerSubscription.members.forEach(s -> s.brokerSubscription = null);
+                brokerSubscription.members.clear();
+                brokerSubscription.payloads = null;
+            }
+            brokerSubscriptions.clear();
+            subscriptions.clear();
+            trees.clear();
+        }
+        return CompletableFuture
+                .allOf(removed.stream().map(b -> connection.unsubscribe(b.filter, b)).toArray(CompletableFuture[]::new))
+                .thenApply(v -> true);
+    }
+
+    /**
+     * Returns the amount of subscribers.
+     */
+    public synchronized int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Returns the amount of subscriptions on the broker connection.
+     */
+    public synchronized int getBrokerSubscriptionCount() {
+        return brokerSubscriptions.size();
+    }
+
+    private @Nullable Subscription find(String filter, MqttMessageSubscriber subscriber) {
+        for (Subscription subscription : subscriptions.get(filter)) {
+            if (subscription.subscriber == subscriber) {
+                return subscription;
+            }
+        }
+        return null;
+    }
+
+    private @Nullable BrokerSubscription findTree(String filter) {
+        List<BrokerSubscription> result = new ArrayList<>(1);
+        trees.covering(filter, result::add);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * Returns the remembered payloads of the given broker subscription that match the given filter.
+     */
+    private List<Message> payloads(BrokerSubscription brokerSubscription, String filter) {
+        Map<String, byte[]> payloads = brokerSubscription.payloads;
+        if (payloads == null || payloads.isEmpty()) {
+            return List.of();
+        }
+        if (!TopicTrie.isWildcard(filter)) {
+            byte[] payload = payloads.get(filter);
+            return payload == null ? List.of() : List.of(new Message(filter, payload));
+        }
+        List<Message> result = new ArrayList<>();
+        payloads.forEach((topic, payload) -> {
+            if (TopicTrie.matches(filter, topic)) {
+                result.add(new Message(topic, payload));
+            }
+        });
+        return result;
+    }
+
+    private void replay(Subscription subscription, List<Message> messages) {
+        List<Message> next = messages;
+        while (true) {
+            next.forEach(message -> deliver(subscription.subscriber, message.topic, message.payload));
+            synchronized (this) {
+                List<Message> pending = subscription.pending;
+                if (pending == null || pending.isEmpty() || subscription.brokerSubscription == null) {
+                    subscription.pending = null;
+                    return;
+                }
+                next = new ArrayList<>(pending);
+                pending.clear();
+            }
+        }
+    }
+
+    private void dispatch(BrokerSubscription brokerSubscription, String topic, byte[] payload) {
+        List<MqttMessageSubscriber> receivers = new ArrayList<>();
+        synchronized (this) {
+            Map<String, byte[]> payloads = brokerSubscription.payloads;
+            if (payloads != null) {
+                remember(payloads, brokerSubscription.filter, topic, payload);
+            }
+            subscriptions.match(topic, s -> {
+                if (s.brokerSubscription != brokerSubscription) {
+                    return;
+                }
+                List<Message> pending = s.pending;
+                if (pending != null) {
+                    pending.add(new Message(topic, payload));
+                } else {
+                    receivers.add(s.subscriber);
+                }
+            });
+        }
+        receivers.forEach(receiver -> deliver(receiver, topic, payload));
+    }
+
+    private void remember(Map<String, byte[]> payloads, String filter, String topic, byte[] payload) {
+        if (payload.length == 0) {
+            payloads.remove(topic);
+        } else if (payloads.size() < MAX_TREE_TOPICS || payloads.containsKey(topic)) {
+            payloads.put(topic, payload);
+        } else {
+            logger.debug("Tree {} exceeds {} topics, the payload of {} is not replayed", filter, MAX_TREE_TOPICS,
+                    topic);
+        }
+    }
+
+    private void deliver(MqttMessageSubscriber subscriber, String topic, byte[] payload) {
+        try {
+            subscriber.processMessage(topic, payload);
+        } catch (RuntimeException e) {
+            logger.warn("Subscriber {} failed to process a message on topic {}", subscriber, topic, e);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A trie of MQTT topic filters. Each level of a filter is a node, values are attached to the node of the last level.
+ * Finding all values of filters that match a concrete topic costs O(topic depth) instead of matching every filter.
+ * <p>
+ * The single level wildcard "+" and the multi level wildcard "#" are supported. As required by the MQTT
+ * specification, wildcards at the first level do not match topics starting with "$".
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> The value type
+ */
+@NonNullByDefault
+public class TopicTrie<T> {
+    private static final String SINGLE_LEVEL = "+";
+    private static final String MULTI_LEVEL = "#";
+
+    private static class Node<T> {
+        final Map<String, Node<T>> children = new HashMap<>();
+        final List<T> values = new ArrayList<>(1);
+
+        boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    private final Node<T> root = new Node<>();
+    private int size = 0;
+
+    /**
+     * Adds a value for the given topic filter.
+     *
+     * @param filter A topic filter, wildcards are allowed
+     * @param value A value
+     */
+    public void add(String filter, T value) {
+        Node<T> node = root;
+        for (String level : filter.split("/", -1)) {
+            node = node.children.computeIfAbsent(level, l -> new Node<>());
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    /**
+     * Removes a value of the given topic filter. Values are compared by identity.
+     *
+     * @param filter A topic filter, as used in {@link #add(String, Object)}
+     * @param value A value
+     * @return Returns true if the value was removed
+     */
+    public boolean remove(String filter, T value) {
+        if (remove(root, filter.split("/", -1), 0, value)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean remove(Node<T> node, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            for (int i = 0; i < node.values.size(); ++i) {
+                if (node.values.get(i) == value) {
+                    node.values.remove(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child == null || !remove(child, levels, index + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Returns all values of exactly the given topic filter. Wildcards are not expanded.
+     *
+     * @param filter A topic filter
+     * @return A list of values. Might be empty.
+     */
+    public List<T> get(String filter) {
+        Node<T> node = root;
+        for (String level : filter.split("/", -1)) {
+            node = node.children.get(level);
+            if (node == null) {
+                return List.of();
+            }
+        }
+        return new ArrayList<>(node.values);
+    }
+
+    /**
+     * Calls the given consumer for every value of a topic filter that matches the given topic.
+     *
+     * @param topic A concrete topic without wildcards
+     * @param consumer A consumer for the matching values
+     */
+    public void match(String topic, Consumer<T> consumer) {
+        match(root, topic.split("/", -1), 0, consumer);
+    }
+
+    private void match(Node<T> node, String[] levels, int index, Consumer<T> consumer) {
+        boolean wildcardsAllowed = index > 0 || !levels[0].startsWith("$");
+        if (wildcardsAllowed) {
+            // "a/#" also matches "a"
+            Node<T> multiLevel = node.children.get(MULTI_LEVEL);
+            if (multiLevel != null) {
+                multiLevel.values.forEach(consumer);
+            }
+        }
+        if (index == levels.length) {
+            node.values.forEach(consumer);
+            return;
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child != null) {
+            match(child, levels, index + 1, consumer);
+        }
+        if (wildcardsAllowed) {
+            Node<T> singleLevel = node.children.get(SINGLE_LEVEL);
+            if (singleLevel != null) {
+                match(singleLevel, levels, index + 1, consumer);
+            }
+        }
+    }
+
+    /**
+     * Calls the given consumer for every value of a topic filter that covers the given topic filter, see
+     * {@link #covers(String, String)}.
+     *
+     * @param filter A topic filter, wildcards are allowed
+     * @param consumer A consumer for the covering values
+     */
+    public void covering(String filter, Consumer<T> consumer) {
+        covering(root, filter.split("/", -1), 0, consumer);
+    }
+
+    private void covering(Node<T> node, String[] levels, int index, Consumer<T> consumer) {
+        boolean wildcardsAllowed = index > 0 || !levels[0].startsWith("$");
+        if (wildcardsAllowed) {
+            Node<T> multiLevel = node.children.get(MULTI_LEVEL);
+            if (multiLevel != null) {
+                multiLevel.values.forEach(consumer);
+            }
+        }
+        if (index == levels.length) {
+            node.values.forEach(consumer);
+            return;
+        }
+        String level = levels[index];
+        if (MULTI_LEVEL.equals(level)) {
+            // Only a multi level wildcard covers a multi level wildcard
+            return;
+        }
+        Node<T> child = node.children.get(level);
+        if (child != null) {
+            covering(child, levels, index + 1, consumer);
+        }
+        if (wildcardsAllowed && !SINGLE_LEVEL.equals(level)) {
+            Node<T> singleLevel = node.children.get(SINGLE_LEVEL);
+            if (singleLevel != null) {
+                covering(singleLevel, levels, index + 1, consumer);
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of values in this trie.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the given topic filter matches all topics that are matched by the other topic filter.
+     *
+     * @param filter A topic filter, wildcards are allowed
+     * @param other Another topic filter, wildcards are allowed
+     */
+    public static boolean covers(String filter, String other) {
+        String[] levels = filter.split("/", -1);
+        String[] otherLevels = other.split("/", -1);
+        for (int i = 0; i < levels.length; ++i) {
+            if (MULTI_LEVEL.equals(levels[i])) {
+                return i > 0 || !otherLevels[0].startsWith("$");
+            }
+            if (i >= otherLevels.length) {
+                return false;
+            }
+            if (SINGLE_LEVEL.equals(levels[i])) {
+                if (MULTI_LEVEL.equals(otherLevels[i]) || (i == 0 && otherLevels[0].startsWith("$"))) {
+                    return false;
+                }
+            } else if (!levels[i].equals(otherLevels[i])) {
+                return false;
+            }
+        }
+        return levels.length == otherLevels.length;
+    }
+
+    /**
+     * Returns true if the given topic filter matches the given concrete topic.
+     *
+     * @param filter A topic filter, wildcards are allowed
+     * @param topic A concrete topic without wildcards
+     */
+    public static boolean matches(String filter, String topic) {
+        return covers(filter, topic);
+    }
+
+    /**
+     * Returns true if the given topic filter contains a wildcard.
+     *
+     * @param filter A topic filter
+     */
+    public static boolean isWildcard(String filter) {
+        return filter.contains(SINGLE_LEVEL) || filter.contains(MULTI_LEVEL);
+    }
+
+    /**
+     * Returns all values in this trie.
+     */
+    public List<T> values() {
+        List<T> result = new ArrayList<>(size);
+        collect(root, result);
+        return result;
+    }
+
+    private void collect(Node<T> node, List<T> result) {
+        result.addAll(node.values);
+        node.children.values().forEach(child -> collect(child, result));
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        root.children.clear();
+        root.values.clear();
+        size = 0;
+    }
+}
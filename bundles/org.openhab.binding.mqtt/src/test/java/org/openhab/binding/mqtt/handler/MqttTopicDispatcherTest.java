@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Tests cases for {@link MqttTopicDispatcher} and {@link TopicTrie}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class MqttTopicDispatcherTest {
+    private @Mock MqttBrokerConnection connection;
+    private @Mock MqttMessageSubscriber deviceSubscriber;
+    private @Mock MqttMessageSubscriber discoverySubscriber;
+
+    private MqttTopicDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+        dispatcher = new MqttTopicDispatcher(connection);
+    }
+
+    @Test
+    public void trieMatching() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("homie/#", "homie");
+        trie.add("homie/+/$state", "state");
+        trie.add("homie/device/$state", "device");
+        trie.add("#", "all");
+
+        List<String> result = new ArrayList<>();
+        trie.match("homie/device/$state", result::add);
+        assertThat(result.size(), is(4));
+
+        result.clear();
+        trie.match("homie", result::add);
+        assertThat(result, is(List.of("all", "homie")));
+
+        result.clear();
+        trie.match("$SYS/broker", result::add);
+        assertTrue(result.isEmpty());
+
+        assertTrue(trie.remove("homie/+/$state", "state"));
+        assertFalse(trie.remove("homie/+/$state", "state"));
+        assertThat(trie.size(), is(3));
+    }
+
+    @Test
+    public void covers() {
+        assertTrue(TopicTrie.covers("homie/#", "homie/device/$state"));
+        assertTrue(TopicTrie.covers("homie/#", "homie/+/$state"));
+        assertTrue(TopicTrie.covers("homie/+/$state", "homie/device/$state"));
+        assertFalse(TopicTrie.covers("homie/+/$state", "homie/#"));
+        assertFalse(TopicTrie.covers("homie/device/$state", "homie/+/$state"));
+        assertFalse(TopicTrie.covers("#", "$SYS/broker"));
+    }
+
+    @Test
+    public void trieCovering() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("homie/#", "homie");
+        trie.add("homie/+/$state", "state");
+        trie.add("homie/device/$state", "device");
+        trie.add("#", "all");
+
+        List<String> result = new ArrayList<>();
+        trie.covering("homie/device/$state", result::add);
+        assertThat(result.size(), is(4));
+
+        result.clear();
+        trie.covering("homie/+/$state", result::add);
+        assertThat(result, is(List.of("all", "homie", "state")));
+
+        result.clear();
+        trie.covering("homie/#", result::add);
+        assertThat(result, is(List.of("all", "homie")));
+
+        result.clear();
+        trie.covering("$SYS/#", result::add);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void treeCoversSubscriptions() {
+        dispatcher.subscribeTree("homie/device/#", discoverySubscriber);
+        dispatcher.subscribe("homie/device/$state", deviceSubscriber);
+
+        ArgumentCaptor<MqttMessageSubscriber> brokerSubscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("homie/device/#"), brokerSubscriber.capture());
+        verify(connection, never()).subscribe(eq("homie/device/$state"), any());
+        assertThat(dispatcher.getBrokerSubscriptionCount(), is(1));
+        assertThat(dispatcher.getSubscriberCount(), is(2));
+
+        byte[] payload = "ready".getBytes();
+        brokerSubscriber.getValue().processMessage("homie/device/$state", payload);
+        verify(discoverySubscriber).processMessage(eq("homie/device/$state"), eq(payload));
+        verify(deviceSubscriber).processMessage(eq("homie/device/$state"), eq(payload));
+
+        dispatcher.unsubscribe("homie/device/$state", deviceSubscriber);
+        verify(connection, never()).unsubscribe(eq("homie/device/$state"), any());
+        dispatcher.unsubscribe("homie/device/#", discoverySubscriber);
+        verify(connection).unsubscribe(eq("homie/device/#"), eq(brokerSubscriber.getValue()));
+        assertThat(dispatcher.getBrokerSubscriptionCount(), is(0));
+        assertThat(dispatcher.getSubscriberCount(), is(0));
+    }
+
+    @Test
+    public void disposeRemovesBrokerSubscriptions() {
+        dispatcher.subscribeTree("homie/device/#", discoverySubscriber);
+        dispatcher.subscribe("homie/device/$state", deviceSubscriber);
+        ArgumentCaptor<MqttMessageSubscriber> brokerSubscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("homie/device/#"), brokerSubscriber.capture());
+
+        dispatcher.dispose();
+        verify(connection).unsubscribe(eq("homie/device/#"), eq(brokerSubscriber.getValue()));
+        assertThat(dispatcher.getBrokerSubscriptionCount(), is(0));
+        assertThat(dispatcher.getSubscriberCount(), is(0));
+
+        // A message that was already on its way is not delivered anymore
+        brokerSubscriber.getValue().processMessage("homie/device/$state", "ready".getBytes());
+        verify(deviceSubscriber, never()).processMessage(any(), any());
+    }
+
+    @Test
+    public void uncoveredFilterIsSubscribedDirectly() {
+        dispatcher.subscribe("homie/device/$state", deviceSubscriber);
+        verify(connection).subscribe(eq("homie/device/$state"), eq(deviceSubscriber));
+
+        // A tree does not take over existing subscriptions, so nothing is received twice or missed
+        dispatcher.subscribeTree("homie/device/#", discoverySubscriber);
+        verify(connection, never()).unsubscribe(any(), any());
+
+        dispatcher.unsubscribe("homie/device/$state", deviceSubscriber);
+        verify(connection).unsubscribe(eq("homie/device/$state"), eq(deviceSubscriber));
+        assertThat(dispatcher.getSubscriberCount(), is(1));
+    }
+
+    @Test
+    public void replayForCoveredSubscriber() {
+        dispatcher.subscribeTree("homie/device/#", discoverySubscriber);
+        ArgumentCaptor<MqttMessageSubscriber> brokerSubscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("homie/device/#"), brokerSubscriber.capture());
+
+        byte[] payload = "ready".getBytes();
+        brokerSubscriber.getValue().processMessage("homie/device/$state", payload);
+        brokerSubscriber.getValue().processMessage("homie/device/$name", "name".getBytes());
+        brokerSubscriber.getValue().processMessage("homie/device/$name", new byte[0]);
+
+        MqttMessageSubscriber wildcardSubscriber = mock(MqttMessageSubscriber.class);
+        dispatcher.subscribe("homie/device/+", wildcardSubscriber);
+        verify(wildcardSubscriber).processMessage(eq("homie/device/$state"), eq(payload));
+        verify(wildcardSubscriber, never()).processMessage(eq("homie/device/$name"), any());
+
+        dispatcher.subscribe("homie/device/$state", deviceSubscriber);
+        verify(deviceSubscriber).processMessage(eq("homie/device/$state"), eq(payload));
+
+        MqttMessageSubscriber triggerSubscriber = mock(MqttMessageSubscriber.class);
+        dispatcher.subscribe("homie/device/$state", triggerSubscriber, false);
+        verify(triggerSubscriber, never()).processMessage(any(), any());
+    }
+
+    @Test
+    public void noReplayWithoutTree() {
+        dispatcher.subscribe("homie/#", discoverySubscriber);
+        ArgumentCaptor<MqttMessageSubscriber> brokerSubscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("homie/#"), brokerSubscriber.capture());
+        brokerSubscriber.getValue().processMessage("homie/device/$state", "ready".getBytes());
+
+        // Not retained as far as the dispatcher knows, the broker decides what is delivered
+        dispatcher.subscribe("homie/device/$state", deviceSubscriber);
+        verify(connection).subscribe(eq("homie/device/$state"), eq(deviceSubscriber));
+        verify(deviceSubscriber, never()).processMessage(any(), any());
+    }
+
+    @Test
+    public void liveMessageDuringReplayIsDeliveredLast() {
+        dispatcher.subscribeTree("homie/device/#", discoverySubscriber);
+        ArgumentCaptor<MqttMessageSubscriber> brokerSubscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("homie/device/#"), brokerSubscriber.capture());
+        brokerSubscriber.getValue().processMessage("homie/device/$state", "init".getBytes());
+
+        List<String> received = new ArrayList<>();
+        dispatcher.subscribe("homie/device/$state", (topic, payload) -> {
+            received.add(new String(payload));
+            if (received.size() == 1) {
+                // A live message arrives while the replayed payload is still being processed
+                brokerSubscriber.getValue().processMessage(topic, "ready".getBytes());
+            }
+        });
+        assertThat(received, is(List.of("init", "ready")));
+    }
+}
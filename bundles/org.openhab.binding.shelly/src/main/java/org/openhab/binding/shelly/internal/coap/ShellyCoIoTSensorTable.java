@@ -0,0 +1,385 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
+
+/**
+ * The {@link ShellyCoIoTSensorTable} holds the sensor definitions of a device description, resolved once when the
+ * description is received: each sensor id is mapped to a slot with the fixed sensor definition and the matching blk
+ * element. Status updates are decoded straight into these slots and each value is compared with the value of the
+ * last update, so that only changed sensors need to be converted into channel updates.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyCoIoTSensorTable {
+    // Those sensors are processed on every update, because their handling depends on other sensors of the same
+    // update (brightness/power, color picker) or triggers an event even if the value is unchanged (button events)
+    private static final Set<String> ALWAYS_PROCESSED_DESCR = Set.of("output", "state", "red", "green", "blue",
+            "white", "gain", "input event", "input event counter", "inputevent", "inputeventcnt");
+    private static final Set<String> ALWAYS_PROCESSED_TYPES = Set.of("ev", "evc");
+
+    public static final ShellyCoIoTSensorTable EMPTY = new ShellyCoIoTSensorTable();
+
+    private final int[] ids;
+    private final Slot[] slots;
+
+    private ShellyCoIoTSensorTable() {
+        ids = new int[0];
+        slots = new Slot[0];
+    }
+
+    /**
+     * Resolve the sensor definitions of the device description.
+     *
+     * @param coiot CoIoT implementation matching the device's CoIoT version, used to fix the sensor definitions
+     * @param blkMap blk elements of the device description
+     * @param sensorMap sensor definitions of the device description
+     * @param processAll true: all sensors are processed on every update, e.g. for battery devices, which reset their
+     *            values on wake-up
+     */
+    public ShellyCoIoTSensorTable(ShellyCoIoTInterface coiot, Map<String, CoIotDescrBlk> blkMap,
+            Map<String, CoIotDescrSen> sensorMap, boolean processAll) {
+        List<Slot> list = new ArrayList<>();
+        for (CoIotDescrSen s : sensorMap.values()) {
+            try {
+                int id = Integer.parseInt(s.id);
+                CoIotDescrSen sen = coiot.fixDescription(s, blkMap);
+                boolean always = processAll || ALWAYS_PROCESSED_DESCR.contains(getString(sen.desc).toLowerCase())
+                        || ALWAYS_PROCESSED_TYPES.contains(getString(sen.type).toLowerCase());
+                list.add(new Slot(id, s.id, sen, blkMap.get(sen.links), always));
+            } catch (NullPointerException | IllegalArgumentException e) {
+                // buggy sensor definition, the update is processed as an unknown sensor
+            }
+        }
+        list.sort((a, b) -> Integer.compare(a.id, b.id));
+        slots = list.toArray(new Slot[list.size()]);
+        ids = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            ids[i] = slots[i].id;
+        }
+    }
+
+    public boolean isEmpty() {
+        return slots.length == 0;
+    }
+
+    /**
+     * Decode a status update like {"G":[[0,112,0],[0,111,"abc"]]}. The payload is scanned directly, so the
+     * malformed JSON sent by some firmware releases (missing or duplicate commas) doesn't need to be fixed first.
+     *
+     * @param payload CoAP payload of the status update
+     * @return the sensor values in the order of the update
+     * @throws IllegalArgumentException if the payload doesn't contain a sensor list
+     */
+    public synchronized List<Reading> decode(String payload) {
+        Scanner scanner = new Scanner(payload);
+        if (!scanner.seekList()) {
+            throw new IllegalArgumentException("Sensor list not found");
+        }
+
+        List<Reading> readings = new ArrayList<>(slots.length);
+        while (scanner.nextTuple()) {
+            scanner.nextValue(); // always 0
+            Double number = scanner.nextValue() ? scanner.number : null;
+            if (number == null) {
+                throw new IllegalArgumentException("Sensor id missing at position " + scanner.pos);
+            }
+            int id = number.intValue();
+            CoIotSensor sensor = new CoIotSensor();
+            int index = Arrays.binarySearch(ids, id);
+            Slot slot = index >= 0 ? slots[index] : null;
+            sensor.id = slot != null ? slot.sensorId : Integer.toString(id);
+            if (scanner.nextValue()) {
+                String string = scanner.string;
+                number = scanner.number;
+                if (string != null) {
+                    sensor.valueStr = string;
+                    sensor.value = -1;
+                } else if (number != null) {
+                    sensor.value = number;
+                    sensor.valueStr = "";
+                } else {
+                    sensor.valueArray = scanner.array;
+                }
+            }
+            scanner.endTuple();
+
+            boolean changed = true;
+            if (slot != null) {
+                changed = !slot.valid || (Double.compare(slot.value, sensor.value) != 0)
+                        || !Objects.equals(slot.valueStr, sensor.valueStr)
+                        || !Objects.equals(slot.valueArray, sensor.valueArray);
+                slot.value = sensor.value;
+                slot.valueStr = sensor.valueStr;
+                slot.valueArray = sensor.valueArray;
+                slot.valid = true;
+            }
+            readings.add(new Reading(sensor, slot, changed || (slot != null && slot.alwaysProcessed)));
+        }
+        return readings;
+    }
+
+    /**
+     * Forget the values of the last update, so all sensors are processed with the next update, e.g. if the channel
+     * states have been reset or updated from another source.
+     */
+    public synchronized void invalidate() {
+        for (Slot slot : slots) {
+            slot.valid = false;
+        }
+    }
+
+    private static String getString(@Nullable String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * A sensor definition resolved from the device description together with the value of the last update
+     */
+    public static class Slot {
+        private final int id;
+        private final String sensorId;
+        public final CoIotDescrSen sen;
+        public final @Nullable CoIotDescrBlk element;
+        private final boolean alwaysProcessed;
+
+        private boolean valid = false;
+        private double value;
+        private @Nullable String valueStr;
+        private @Nullable List<Object> valueArray;
+
+        private Slot(int id, String sensorId, CoIotDescrSen sen, @Nullable CoIotDescrBlk element,
+                boolean alwaysProcessed) {
+            this.id = id;
+            this.sensorId = sensorId;
+            this.sen = sen;
+            this.element = element;
+            this.alwaysProcessed = alwaysProcessed;
+        }
+    }
+
+    /**
+     * A decoded sensor value of a status update
+     */
+    public static class Reading {
+        public final CoIotSensor sensor;
+        public final @Nullable Slot slot;
+        public final boolean changed;
+
+        private Reading(CoIotSensor sensor, @Nullable Slot slot, boolean changed) {
+            this.sensor = sensor;
+            this.slot = slot;
+            this.changed = changed;
+        }
+    }
+
+    /**
+     * Minimal scanner for the generic sensor list, separators are skipped instead of being validated
+     */
+    private static class Scanner {
+        private final String payload;
+        private int pos = 0;
+
+        private @Nullable Double number;
+        private @Nullable String string;
+        private @Nullable List<Object> array;
+
+        private Scanner(String payload) {
+            this.payload = payload;
+        }
+
+        private boolean seekList() {
+            int tag = payload.indexOf("\"" + ShellyCoapJSonDTO.COIOT_TAG_GENERIC + "\"");
+            if (tag == -1) {
+                return false;
+            }
+            pos = payload.indexOf('[', tag);
+            if (pos == -1) {
+                return false;
+            }
+            pos++;
+            return true;
+        }
+
+        /**
+         * Advance to the begin of the next [0,id,value] tuple.
+         */
+        private boolean nextTuple() {
+            skipSeparators();
+            if ((pos >= payload.length()) || (payload.charAt(pos) == ']')) {
+                return false;
+            }
+            if (payload.charAt(pos) != '[') {
+                throw new IllegalArgumentException("Sensor value expected at position " + pos);
+            }
+            pos++;
+            return true;
+        }
+
+        private void endTuple() {
+            // skip additional values
+            while (nextValue()) {
+            }
+            pos++; // ']'
+        }
+
+        /**
+         * Read the next value of a tuple.
+         *
+         * @return false if the end of the tuple has been reached
+         */
+        private boolean nextValue() {
+            number = null;
+            string = null;
+            array = null;
+            skipSeparators();
+            if (pos >= payload.length()) {
+                throw new IllegalArgumentException("Unterminated sensor list");
+            }
+            char c = payload.charAt(pos);
+            if (c == ']') {
+                return false;
+            }
+            if (c == '"') {
+                string = readString();
+            } else if (c == '[') {
+                List<Object> values = new ArrayList<>();
+                readArray(values);
+                array = values;
+            } else {
+                String literal = readLiteral();
+                if (!"null".equals(literal) && !"true".equals(literal) && !"false".equals(literal)) {
+                    number = Double.parseDouble(literal);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Read an array, only the strings of the outer array are collected. Nested arrays are skipped.
+         *
+         * @param values list for the strings or null to skip the array
+         */
+        private void readArray(@Nullable List<Object> values) {
+            pos++; // '['
+            while (true) {
+                skipSeparators();
+                if (pos >= payload.length()) {
+                    throw new IllegalArgumentException("Unterminated array in sensor list");
+                }
+                char c = payload.charAt(pos);
+                if (c == ']') {
+                    pos++;
+                    return;
+                }
+                if (c == '"') {
+                    String value = readString();
+                    if (values != null) {
+                        values.add(value);
+                    }
+                } else if (c == '[') {
+                    readArray(null);
+                } else {
+                    readLiteral(); // only strings are used
+                }
+            }
+        }
+
+        private void skipSeparators() {
+            while (pos < payload.length()) {
+                char c = payload.charAt(pos);
+                if ((c != ',') && !Character.isWhitespace(c)) {
+                    break;
+                }
+                pos++;
+            }
+        }
+
+        private String readLiteral() {
+            int start = pos;
+            while (pos < payload.length()) {
+                char c = payload.charAt(pos);
+                if ((c == ',') || (c == ']') || (c == '[') || (c == '"') || Character.isWhitespace(c)) {
+                    break;
+                }
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("Invalid sensor value at position " + pos);
+            }
+            return payload.substring(start, pos);
+        }
+
+        private String readString() {
+            int start = ++pos;
+            StringBuilder builder = null;
+            while (pos < payload.length()) {
+                char c = payload.charAt(pos);
+                if (c == '"') {
+                    String value = builder == null ? payload.substring(start, pos)
+                            : builder.append(payload, start, pos).toString();
+                    pos++;
+                    return value;
+                }
+                if (c == '\\' && (pos + 1 < payload.length())) {
+                    if (builder == null) {
+                        builder = new StringBuilder();
+                    }
+                    builder.append(payload, start, pos);
+                    char escaped = payload.charAt(pos + 1);
+                    if ((escaped == 'u') && (pos + 5 < payload.length())) {
+                        builder.append((char) Integer.parseInt(payload.substring(pos + 2, pos + 6), 16));
+                        pos += 6;
+                    } else {
+                        builder.append(unescape(escaped));
+                        pos += 2;
+                    }
+                    start = pos;
+                    continue;
+                }
+                pos++;
+            }
+            throw new IllegalArgumentException("Unterminated string in sensor list");
+        }
+
+        private static char unescape(char escaped) {
+            switch (escaped) {
+                case 'b':
+                    return '\b';
+                case 'f':
+                    return '\f';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 't':
+                    return '\t';
+                default:
+                    return escaped; // '"', '\\' and '/'
+            }
+        }
+    }
+}
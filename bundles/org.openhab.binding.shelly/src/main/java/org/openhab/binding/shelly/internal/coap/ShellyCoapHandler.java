@@ -18,10 +18,10 @@ import static org.openhab.binding.shelly.internal.util.ShellyUtils.*;
 
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 import org.eclipse.californium.core.CoapClient;
 import org.eclipse.californium.core.coap.CoAP.Code;
@@ -41,9 +41,9 @@ import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescrTypeAdapter;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescription;
-import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotGenericSensorList;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
-import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensorTypeAdapter;
+import org.openhab.binding.shelly.internal.coap.ShellyCoIoTSensorTable.Reading;
+import org.openhab.binding.shelly.internal.coap.ShellyCoIoTSensorTable.Slot;
 import org.openhab.binding.shelly.internal.config.ShellyThingConfiguration;
 import org.openhab.binding.shelly.internal.handler.ShellyBaseHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyColorUtils;
@@ -64,6 +64,9 @@ import com.google.gson.JsonSyntaxException;
 @NonNullByDefault
 public class ShellyCoapHandler implements ShellyCoapListener {
     private static final byte[] EMPTY_BYTE = new byte[0];
+    // Sensors with unchanged values are skipped, but all of them are processed from time to time to refresh the
+    // channels, which might also be updated by the REST API
+    private static final long FULL_REFRESH_INTERVAL_MS = 60000;
 
     private final Logger logger = LoggerFactory.getLogger(ShellyCoapHandler.class);
     private final ShellyBaseHandler thingHandler;
@@ -86,6 +89,8 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     private String lastPayload = "";
     private Map<String, CoIotDescrBlk> blkMap = new LinkedHashMap<>();
     private Map<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
+    private ShellyCoIoTSensorTable sensorTable = ShellyCoIoTSensorTable.EMPTY;
+    private long nextFullRefresh = 0;
     private ShellyDeviceProfile profile;
 
     public ShellyCoapHandler(ShellyBaseHandler thingHandler, ShellyCoapServer coapServer) {
@@ -96,7 +101,6 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         this.coiot = new ShellyCoIoTVersion2(thingName, thingHandler, blkMap, sensorMap); // Default: V2
 
         gsonBuilder.registerTypeAdapter(CoIotDevDescription.class, new CoIotDevDescrTypeAdapter());
-        gsonBuilder.registerTypeAdapter(CoIotGenericSensorList.class, new CoIotSensorTypeAdapter());
         gson = gsonBuilder.create();
     }
 
@@ -207,6 +211,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                                 }
                                 coiotVers = iVersion;
                                 coiotBound = true;
+                                sensorTable = ShellyCoIoTSensorTable.EMPTY;
                             }
                             break;
                         case COIOT_OPTION_STATUS_VALIDITY:
@@ -233,9 +238,6 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                     return;
                 }
 
-                // fixed malformed JSON :-(
-                payload = fixJSON(payload);
-
                 try {
                     if (uri.equalsIgnoreCase(COLOIT_URI_DEVDESC)
                             || (uri.isEmpty() && payload.contains(COIOT_TAG_BLK))) {
@@ -280,7 +282,8 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             boolean valid = true;
 
             // Decode Json
-            CoIotDevDescription descr = fromJson(gson, payload, CoIotDevDescription.class);
+            // fixed malformed JSON :-(
+            CoIotDevDescription descr = fromJson(gson, fixJSON(payload), CoIotDevDescription.class);
             for (int i = 0; i < descr.blk.size(); i++) {
                 CoIotDescrBlk blk = descr.blk.get(i);
                 logger.debug("{}:    id={}: {}", thingName, blk.id, blk.desc);
@@ -314,6 +317,9 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             }
             coiot.completeMissingSensorDefinition(sensorMap);
 
+            // resolve sensor definitions once, status updates are decoded into this table
+            sensorTable = new ShellyCoIoTSensorTable(coiot, blkMap, sensorMap, profile.hasBattery);
+
             if (!valid) {
                 logger.debug(
                         "{}: Incompatible device description detected for CoIoT version {} (id length mismatch), discarding!",
@@ -368,7 +374,8 @@ public class ShellyCoapHandler implements ShellyCoapListener {
      * received yet a GET is send to query device description.
      *
      * @param devId device id included in the status packet
-     * @param payload CoAP payload (Json format), example: {"G":[[0,112,0]]}
+     * @param payload CoAP payload (Json format), example: {"G":[[0,112,0]]}. Only sensors with a changed value are
+     *            converted into channel updates.
      * @param serial Serial for this request. If this the the same as last serial
      *            the update was already sent and processed so this one gets
      *            ignored.
@@ -393,30 +400,42 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             handleDeviceDescription(devId, savedDescr);
         }
 
-        // Parse Json,
-        CoIotGenericSensorList list = fromJson(gson, fixJSON(payload), CoIotGenericSensorList.class);
-        if (list.generic == null) {
-            logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
-            return;
+        if (sensorTable.isEmpty()) {
+            sensorTable = new ShellyCoIoTSensorTable(coiot, blkMap, sensorMap, profile.hasBattery);
+        }
+        long now = System.currentTimeMillis();
+        if (now >= nextFullRefresh) {
+            sensorTable.invalidate();
+            nextFullRefresh = now + FULL_REFRESH_INTERVAL_MS;
         }
 
-        List<CoIotSensor> sensorUpdates = list.generic;
-        Map<String, State> updates = new TreeMap<String, State>();
-        logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
+        // Decode sensor values into the table, no need to fix or parse the JSON
+        List<Reading> readings = sensorTable.decode(payload);
+        List<CoIotSensor> sensorUpdates = new ArrayList<>(readings.size());
+        for (Reading reading : readings) {
+            sensorUpdates.add(reading.sensor);
+        }
+        Map<String, State> updates = new LinkedHashMap<>();
+        logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
         int failed = 0;
+        boolean sensorData = false;
         ShellyColorUtils col = new ShellyColorUtils();
-        for (int i = 0; i < sensorUpdates.size(); i++) {
+        for (int i = 0; i < readings.size(); i++) {
             try {
-                CoIotSensor s = sensorUpdates.get(i);
-                CoIotDescrSen sen = sensorMap.get(s.id);
-                if (sen == null) {
+                Reading reading = readings.get(i);
+                CoIotSensor s = reading.sensor;
+                Slot slot = reading.slot;
+                sensorData |= (slot != null) && (slot.element != null);
+                if (!reading.changed) {
+                    continue;
+                }
+                if (slot == null) {
                     logger.debug("{}: Unable to sensor definition for id={}, payload={}", thingName, s.id, payload);
                     continue;
                 }
-                // find matching sensor definition from device description, use the Link ID as index
-                CoIotDescrBlk element = null;
-                sen = coiot.fixDescription(sen, blkMap);
-                element = blkMap.get(sen.links);
+                // sensor definition and element have been resolved from device description, the Link ID is the index
+                CoIotDescrSen sen = slot.sen;
+                CoIotDescrBlk element = slot.element;
                 if (element == null) {
                     logger.debug("{}: Unable to find BLK for link {} from sen.id={}, payload={}", thingName, sen.links,
                             sen.id, payload);
@@ -485,14 +504,6 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                     thingHandler.updateChannel(CHANNEL_GROUP_METER, CHANNEL_LAST_UPDATE, getTimestamp());
                 }
             }
-
-            // Old firmware release are lacking various status values, which are not updated using CoIoT.
-            // In this case we keep a refresh so it gets polled using REST. Beginning with Firmware 1.6 most
-            // of the values are available
-            if ((!thingHandler.autoCoIoT && (thingHandler.scheduledUpdates <= 1))
-                    || (thingHandler.autoCoIoT && !profile.isLight && !profile.hasBattery)) {
-                thingHandler.requestUpdates(1, false);
-            }
         } else {
             if (failed == sensorUpdates.size()) {
                 logger.debug("{}: Device description problem detected, re-discover", thingName);
@@ -501,6 +512,15 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             }
         }
 
+        // Old firmware release are lacking various status values, which are not updated using CoIoT.
+        // In this case we keep a refresh so it gets polled using REST. Beginning with Firmware 1.6 most
+        // of the values are available. This doesn't depend on changed values: the REST values might have
+        // changed even if the CoIoT values didn't.
+        if (sensorData && ((!thingHandler.autoCoIoT && (thingHandler.scheduledUpdates <= 1))
+                || (thingHandler.autoCoIoT && !profile.isLight && !profile.hasBattery))) {
+            thingHandler.requestUpdates(1, false);
+        }
+
         // Remember serial, new packets with same serial will be ignored
         lastSerial = serial;
         lastPayload = payload;
@@ -588,6 +608,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     private void resetSerial() {
         lastSerial = -1;
         lastPayload = "";
+        nextFullRefresh = 0;
     }
 
     public int getVersion() {
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.coap.ShellyCoIoTSensorTable.Reading;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
+
+/**
+ * Tests the decoding of CoIoT status updates by the {@link ShellyCoIoTSensorTable}. The payloads are status updates
+ * as sent by the devices.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyCoIoTSensorTableTest {
+    // Shelly 1PM, CoIoT version 2
+    private static final String SHELLY_1PM = "{\"G\":[[0,9103,5],[0,1101,1],[0,4101,38.21],[0,4103,13523],[0,6102,0],"
+            + "[0,6109,0],[0,3104,46.05],[0,3105,114.89],[0,6101,0],[0,2101,0],[0,2102,\"\"],[0,2103,0]]}";
+    // Shelly H&T, CoIoT version 2, woken up by the button
+    private static final String SHELLY_HT = "{\"G\":[[0,9103,0],[0,3101,22.5],[0,3102,72.5],[0,3103,47.5],"
+            + "[0,3115,0],[0,3111,100],[0,9102,[\"button\"]]]}";
+    // Shelly 2.5, CoIoT version 1 as sent by firmware 1.5, missing the comma between two values
+    private static final String SHELLY_25_V1 = "{\"G\":[[0,112,1],[0,122,0][0,111,0.00],[0,121,0.00]]}";
+
+    private static List<CoIotSensor> decode(String payload) {
+        return ShellyCoIoTSensorTable.EMPTY.decode(payload).stream().map(r -> r.sensor).collect(Collectors.toList());
+    }
+
+    private static ShellyCoIoTSensorTable createTable(String... ids) {
+        ShellyCoIoTInterface coiot = mock(ShellyCoIoTInterface.class);
+        when(coiot.fixDescription(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CoIotDescrBlk blk = new CoIotDescrBlk();
+        blk.id = "1";
+        blk.desc = "device";
+        Map<String, CoIotDescrBlk> blkMap = new HashMap<>();
+        blkMap.put(blk.id, blk);
+        Map<String, CoIotDescrSen> sensorMap = new HashMap<>();
+        for (String id : ids) {
+            CoIotDescrSen sen = new CoIotDescrSen();
+            sen.id = id;
+            sen.type = "T";
+            sen.desc = "temperature";
+            sen.links = blk.id;
+            sensorMap.put(id, sen);
+        }
+        return new ShellyCoIoTSensorTable(coiot, blkMap, sensorMap, false);
+    }
+
+    @Test
+    public void testNumbersAndStrings() {
+        List<CoIotSensor> sensors = decode(SHELLY_1PM);
+
+        assertEquals(12, sensors.size());
+        assertEquals("9103", sensors.get(0).id);
+        assertEquals(5, sensors.get(0).value);
+        assertEquals("4101", sensors.get(2).id);
+        assertEquals(38.21, sensors.get(2).value);
+        assertEquals("", sensors.get(2).valueStr);
+        assertEquals("2102", sensors.get(10).id);
+        assertEquals("", sensors.get(10).valueStr);
+        assertEquals(-1, sensors.get(10).value);
+    }
+
+    @Test
+    public void testNumberFormats() {
+        List<CoIotSensor> sensors = decode("{\"G\":[[0,3101,-1.5e1],[0,3102,2E2],[0,3103,0.00],[0,3104,-0]]}");
+
+        assertEquals(-15, sensors.get(0).value);
+        assertEquals(200, sensors.get(1).value);
+        assertEquals(0, sensors.get(2).value);
+        assertEquals("", sensors.get(3).valueStr);
+    }
+
+    @Test
+    public void testLiteralsAreNoNumbers() {
+        List<CoIotSensor> sensors = decode("{\"G\":[[0,3101,null],[0,3102,true],[0,3103,false],[0,3104,1]]}");
+
+        assertEquals(4, sensors.size());
+        for (int i = 0; i < 3; i++) {
+            assertNull(sensors.get(i).valueStr);
+            assertNull(sensors.get(i).valueArray);
+        }
+        assertEquals(1, sensors.get(3).value);
+    }
+
+    @Test
+    public void testInvalidNumber() {
+        assertThrows(IllegalArgumentException.class, () -> decode("{\"G\":[[0,3101,1.2.3]]}"));
+    }
+
+    @Test
+    public void testEscapedStrings() {
+        List<CoIotSensor> sensors = decode(
+                "{\"G\":[[0,9101,\"a \\\"b\\\" \\\\ c\\/d\"],[0,9102,\"\\u00b0C\\r\\n\"],[0,9103,\"[0,1,2]\"]]}");
+
+        assertEquals(3, sensors.size());
+        assertEquals("a \"b\" \\ c/d", sensors.get(0).valueStr);
+        assertEquals("\u00b0C\r\n", sensors.get(1).valueStr);
+        assertEquals("[0,1,2]", sensors.get(2).valueStr);
+    }
+
+    @Test
+    public void testArrays() {
+        List<CoIotSensor> sensors = decode(SHELLY_HT);
+
+        assertEquals(7, sensors.size());
+        assertEquals("9102", sensors.get(6).id);
+        assertEquals(List.of("button"), sensors.get(6).valueArray);
+        assertEquals(100, sensors.get(5).value);
+    }
+
+    @Test
+    public void testNestedArrays() {
+        List<CoIotSensor> sensors = decode(
+                "{\"G\":[[0,9102,[\"button\",[\"x\",[1,2]],3,null,\"poll\"]],[0,9103,[]],[0,3101,22.5]]}");
+
+        assertEquals(3, sensors.size());
+        assertEquals(List.of("button", "poll"), sensors.get(0).valueArray);
+        assertEquals(List.of(), sensors.get(1).valueArray);
+        assertEquals(22.5, sensors.get(2).value);
+    }
+
+    @Test
+    public void testMalformedSeparators() {
+        List<CoIotSensor> sensors = decode(SHELLY_25_V1);
+
+        assertEquals(4, sensors.size());
+        assertEquals("122", sensors.get(1).id);
+        assertEquals("111", sensors.get(2).id);
+
+        sensors = decode("{\"G\":[[0,112,1],,[0,122 , 0] ,[0,111,0.00,]]}");
+        assertEquals(3, sensors.size());
+        assertEquals(0, sensors.get(1).value);
+    }
+
+    @Test
+    public void testAdditionalValuesAreSkipped() {
+        List<CoIotSensor> sensors = decode("{\"G\":[[0,3101,22.5,[\"x\"],\"]\"],[0,3102,1]]}");
+
+        assertEquals(2, sensors.size());
+        assertEquals(22.5, sensors.get(0).value);
+        assertEquals("3102", sensors.get(1).id);
+    }
+
+    @Test
+    public void testUnterminatedPayload() {
+        assertThrows(IllegalArgumentException.class, () -> decode("{\"G\":[[0,9101,\"abc"));
+        assertThrows(IllegalArgumentException.class, () -> decode("{\"G\":[[0,9102,[\"button\""));
+        assertThrows(IllegalArgumentException.class, () -> decode("{\"G\":[[0,3101,1"));
+        assertThrows(IllegalArgumentException.class, () -> decode("{\"blk\":[]}"));
+    }
+
+    @Test
+    public void testOnlyChangedValues() {
+        ShellyCoIoTSensorTable table = createTable("3101", "3102");
+        String payload = "{\"G\":[[0,3101,22.5],[0,3102,72.5],[0,3103,1]]}";
+
+        List<Reading> readings = table.decode(payload);
+        assertTrue(readings.stream().allMatch(r -> r.changed));
+        assertNotNull(readings.get(0).slot);
+        assertNull(readings.get(2).slot);
+
+        readings = table.decode("{\"G\":[[0,3101,22.5],[0,3102,73],[0,3103,1]]}");
+        assertFalse(readings.get(0).changed);
+        assertTrue(readings.get(1).changed);
+        assertTrue(readings.get(2).changed); // unknown sensors are always processed
+
+        table.invalidate();
+        readings = table.decode("{\"G\":[[0,3101,22.5],[0,3102,73]]}");
+        assertTrue(readings.stream().allMatch(r -> r.changed));
+    }
+}
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -77,6 +78,10 @@ public class SmartMeterHandler extends BaseThingHandler {
     private MeterValueListener valueChangeListener;
     private SmartMeterChannelTypeProvider channelTypeProvider;
     private @NonNull Supplier<SerialPortManager> serialPortManagerSupplier;
+    /**
+     * States last published per channel, only changed values are published again
+     */
+    private final Map<ChannelUID, State> publishedStates = new ConcurrentHashMap<>();
 
     public SmartMeterHandler(Thing thing, SmartMeterChannelTypeProvider channelProvider,
             Supplier<SerialPortManager> serialPortManagerSupplier) {
@@ -90,6 +95,7 @@ public class SmartMeterHandler extends BaseThingHandler {
     public void initialize() {
         logger.debug("Initializing Smartmeter handler.");
         cancelRead();
+        publishedStates.clear();
 
         SmartMeterConfiguration config = getConfigAs(SmartMeterConfiguration.class);
         logger.debug("config port = {}", config.port);
@@ -125,6 +131,7 @@ public class SmartMeterHandler extends BaseThingHandler {
     public void dispose() {
         super.dispose();
         cancelRead();
+        publishedStates.clear();
         if (this.valueChangeListener != null) {
             this.smlDevice.removeValueChangeListener(valueChangeListener);
         }
@@ -158,8 +165,6 @@ public class SmartMeterHandler extends BaseThingHandler {
         valueChangeListener = new MeterValueListener() {
             @Override
             public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
-                ThingBuilder thingBuilder = editThing();
-
                 String obis = value.getObisCode();
 
                 String obisChannelString = SmartMeterBindingConstants.getObisChannelId(obis);
@@ -192,6 +197,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                         ChannelUID channelId = channel.getUID();
 
                         // add all valid channels to the thing builder
+                        ThingBuilder thingBuilder = editThing();
                         List<Channel> channels = new ArrayList<>(getThing().getChannels());
                         if (channels.stream().filter((element) -> element.getUID().equals(channelId)).count() == 0) {
                             channels.add(channel);
@@ -204,7 +210,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                         addObisPropertyToChannel(obis, channel);
                     }
                     if (state != null) {
-                        updateState(channel.getUID(), state);
+                        publishIfChanged(channel, state);
                     }
 
                     updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
@@ -258,6 +264,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                     if (value != null) {
                         State state = getStateForObisValue(value, channel);
                         if (state != null) {
+                            publishedStates.put(channel.getUID(), state);
                             updateState(channel.getUID(), state);
                         }
                     }
@@ -266,6 +273,40 @@ public class SmartMeterHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Publishes the state of a channel, unless it does not differ from the last published state by at least the
+     * change threshold of the channel.
+     *
+     * @param channel the channel to update
+     * @param state the new state
+     */
+    void publishIfChanged(Channel channel, State state) {
+        ChannelUID channelUID = channel.getUID();
+        State lastState = publishedStates.get(channelUID);
+        if (lastState != null && !hasChanged(channel, lastState, state)) {
+            return;
+        }
+        publishedStates.put(channelUID, state);
+        updateState(channelUID, state);
+    }
+
+    private boolean hasChanged(Channel channel, State lastState, State state) {
+        if (state.equals(lastState)) {
+            return false;
+        }
+        Object threshold = channel.getConfiguration().get(SmartMeterBindingConstants.CONFIGURATION_CHANGE_THRESHOLD);
+        if (threshold instanceof Number && lastState instanceof QuantityType && state instanceof QuantityType) {
+            BigDecimal changeThreshold = new BigDecimal(threshold.toString());
+            QuantityType<?> lastQuantity = (QuantityType<?>) lastState;
+            QuantityType<?> quantity = ((QuantityType<?>) state).toUnit(lastQuantity.getUnit());
+            if (changeThreshold.signum() > 0 && quantity != null) {
+                return quantity.toBigDecimal().subtract(lastQuantity.toBigDecimal()).abs()
+                        .compareTo(changeThreshold) >= 0;
+            }
+        }
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     private @Nullable <Q extends Quantity<Q>> State getStateForObisValue(MeterValue<?> value,
             @Nullable Channel channel) {
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.smartmeter.SmartMeterBindingConstants;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.io.transport.serial.SerialPortManager;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.thing.Channel;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.binding.ThingHandlerCallback;
+import org.openhab.core.thing.binding.builder.ChannelBuilder;
+import org.openhab.core.types.State;
+
+/**
+ * Tests that the {@link SmartMeterHandler} only publishes values which changed by at least the change threshold of
+ * the channel.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SmartMeterHandlerTest {
+
+    private static final ChannelUID CHANNEL_UID = new ChannelUID("smartmeter:meter:test:1-0_1-8-0");
+
+    private @NonNullByDefault({}) ThingHandlerCallback callback;
+    private @NonNullByDefault({}) SmartMeterHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        callback = mock(ThingHandlerCallback.class);
+        handler = new SmartMeterHandler(mock(Thing.class), mock(SmartMeterChannelTypeProvider.class),
+                () -> mock(SerialPortManager.class));
+        handler.setCallback(callback);
+    }
+
+    private static Channel channel(@Nullable String changeThreshold) {
+        Map<String, Object> configuration = new HashMap<>();
+        if (changeThreshold != null) {
+            configuration.put(SmartMeterBindingConstants.CONFIGURATION_CHANGE_THRESHOLD,
+                    new BigDecimal(changeThreshold));
+        }
+        return ChannelBuilder.create(CHANNEL_UID, "Number:Energy").withConfiguration(new Configuration(configuration))
+                .build();
+    }
+
+    private void verifyPublished(State state) {
+        verify(callback).stateUpdated(CHANNEL_UID, state);
+    }
+
+    private void verifyNotPublished(State state) {
+        verify(callback, never()).stateUpdated(CHANNEL_UID, state);
+    }
+
+    @Test
+    public void testFirstValueIsPublished() {
+        Channel channel = channel("10");
+
+        handler.publishIfChanged(channel, new QuantityType<>("1000 kWh"));
+
+        verifyPublished(new QuantityType<>("1000 kWh"));
+    }
+
+    @Test
+    public void testChangeBelowThresholdIsSuppressed() {
+        Channel channel = channel("0.5");
+
+        handler.publishIfChanged(channel, new QuantityType<>("1000 kWh"));
+        handler.publishIfChanged(channel, new QuantityType<>("1000.4 kWh"));
+        handler.publishIfChanged(channel, new QuantityType<>("999.6 kWh"));
+
+        verify(callback, times(1)).stateUpdated(any(), any());
+        verifyNotPublished(new QuantityType<>("1000.4 kWh"));
+    }
+
+    @Test
+    public void testChangeAtOrAboveThresholdIsPublished() {
+        Channel channel = channel("0.5");
+
+        handler.publishIfChanged(channel, new QuantityType<>("1000 kWh"));
+        handler.publishIfChanged(channel, new QuantityType<>("1000.5 kWh"));
+        // compared to the last published value, not to the last received one
+        handler.publishIfChanged(channel, new QuantityType<>("1000.9 kWh"));
+        handler.publishIfChanged(channel, new QuantityType<>("1001.1 kWh"));
+        // in a different unit
+        handler.publishIfChanged(channel, new QuantityType<>("1001600 Wh"));
+
+        verifyPublished(new QuantityType<>("1000.5 kWh"));
+        verifyNotPublished(new QuantityType<>("1000.9 kWh"));
+        verifyPublished(new QuantityType<>("1001.1 kWh"));
+        verifyPublished(new QuantityType<>("1001600 Wh"));
+    }
+
+    @Test
+    public void testNonNumericStates() {
+        Channel channel = channel("0.5");
+
+        handler.publishIfChanged(channel, new StringType("a"));
+        handler.publishIfChanged(channel, new StringType("a"));
+        handler.publishIfChanged(channel, new StringType("b"));
+
+        verifyPublished(new StringType("a"));
+        verifyPublished(new StringType("b"));
+    }
+
+    @Test
+    public void testZeroThresholdPublishesEveryChange() {
+        verifyEveryChangeIsPublished(channel("0"));
+    }
+
+    @Test
+    public void testNoThresholdPublishesEveryChange() {
+        verifyEveryChangeIsPublished(channel(null));
+    }
+
+    private void verifyEveryChangeIsPublished(Channel channel) {
+        handler.publishIfChanged(channel, new QuantityType<>("1000 kWh"));
+        handler.publishIfChanged(channel, new QuantityType<>("1000 kWh"));
+        handler.publishIfChanged(channel, new QuantityType<>("1000.001 kWh"));
+
+        verifyPublished(new QuantityType<>("1000 kWh"));
+        verifyPublished(new QuantityType<>("1000.001 kWh"));
+    }
+}
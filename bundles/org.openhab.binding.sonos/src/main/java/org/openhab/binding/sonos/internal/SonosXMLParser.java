@@ -17,11 +17,15 @@ import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -48,6 +52,17 @@ public class SonosXMLParser {
 
     static final Logger LOGGER = LoggerFactory.getLogger(SonosXMLParser.class);
 
+    private static final int MAX_POOLED_READERS = 8;
+    private static final XMLReaderPool READERS = new XMLReaderPool(false);
+    private static final XMLReaderPool SECURE_READERS = new XMLReaderPool(true);
+
+    private static final Map<String, Map<String, String>> AV_TRANSPORT_CACHE = createParseCache(16);
+    private static final Map<String, Map<String, String>> RENDERING_CONTROL_CACHE = createParseCache(16);
+    private static final Map<String, SonosMetaData> META_DATA_CACHE = createParseCache(32);
+    private static final Map<String, List<SonosZoneGroup>> ZONE_GROUP_CACHE = createParseCache(4);
+
+    private static final Pattern HOME_THEATER_MEMBER_PATTERN = Pattern.compile("(RINCON_\\w+)");
+
     private static final MessageFormat METADATA_FORMAT = new MessageFormat(
             "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
                     + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
@@ -92,9 +107,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            READERS.parse(handler, xml);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +125,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            READERS.parse(handler, xml);
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -133,12 +144,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
-        reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            SECURE_READERS.parse(handler, xml);
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -155,11 +163,16 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
+        List<SonosZoneGroup> groups = ZONE_GROUP_CACHE.get(xml);
+        if (groups != null) {
+            return groups;
+        }
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            READERS.parse(handler, xml);
+            groups = Collections.unmodifiableList(handler.getGroups());
+            ZONE_GROUP_CACHE.put(xml, groups);
+            return groups;
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -173,9 +186,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            READERS.parse(handler, xml);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -187,11 +198,16 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getRenderingControlFromXML(String xml) {
+        Map<String, String> changes = RENDERING_CONTROL_CACHE.get(xml);
+        if (changes != null) {
+            return changes;
+        }
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            READERS.parse(handler, xml);
+            changes = Collections.unmodifiableMap(handler.getChanges());
+            RENDERING_CONTROL_CACHE.put(xml, changes);
+            return changes;
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -202,11 +218,16 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getAVTransportFromXML(String xml) {
+        Map<String, String> changes = AV_TRANSPORT_CACHE.get(xml);
+        if (changes != null) {
+            return changes;
+        }
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            READERS.parse(handler, xml);
+            changes = Collections.unmodifiableMap(handler.getChanges());
+            AV_TRANSPORT_CACHE.put(xml, changes);
+            return changes;
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -217,11 +238,16 @@ public class SonosXMLParser {
     }
 
     public static SonosMetaData getMetaDataFromXML(String xml) {
+        SonosMetaData metaData = META_DATA_CACHE.get(xml);
+        if (metaData != null) {
+            return metaData;
+        }
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            READERS.parse(handler, xml);
+            metaData = handler.getMetaData();
+            META_DATA_CACHE.put(xml, metaData);
+            return metaData;
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -235,9 +261,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            READERS.parse(handler, xml);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -247,6 +271,57 @@ public class SonosXMLParser {
         return handler.getServices();
     }
 
+    /**
+     * Creates a cache for the results of parsed event values. The same LastChange, ZoneGroupState and meta data
+     * values are sent to all players of a group, so the value is only parsed by the first player and the other players
+     * get the cached result. The cached results must not be modified.
+     */
+    private static <T> Map<String, T> createParseCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, T>(maxSize, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, T> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Pool of SAX readers, a reader is only reused after the document has been parsed successfully. Readers are not
+     * bound to a thread, because the {@link EntryHandler} parses the embedded resource meta data while its own
+     * document is still being parsed.
+     */
+    private static class XMLReaderPool {
+        private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
+        private final BlockingQueue<XMLReader> readers = new ArrayBlockingQueue<>(MAX_POOLED_READERS);
+        private final boolean disallowDoctype;
+
+        XMLReaderPool(boolean disallowDoctype) {
+            this.disallowDoctype = disallowDoctype;
+        }
+
+        void parse(DefaultHandler handler, String xml) throws IOException, SAXException {
+            parse(handler, new InputSource(new StringReader(xml)));
+        }
+
+        void parse(DefaultHandler handler, InputSource source) throws IOException, SAXException {
+            XMLReader reader = readers.poll();
+            if (reader == null) {
+                reader = XMLReaderFactory.createXMLReader();
+                if (disallowDoctype) {
+                    reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+                }
+            }
+            reader.setContentHandler(handler);
+            reader.parse(source);
+            // don't keep a reference to the handler and its result
+            reader.setContentHandler(NO_HANDLER);
+            readers.offer(reader);
+        }
+    }
+
     private static class EntryHandler extends DefaultHandler {
 
         // Maintain a set of elements about which it is unuseful to complain about.
@@ -598,7 +673,7 @@ public class SonosXMLParser {
 
         private Set<String> getAllHomeTheaterMembers(String homeTheaterDescription) {
             Set<String> homeTheaterMembers = new HashSet<>();
-            Matcher matcher = Pattern.compile("(RINCON_\\w+)").matcher(homeTheaterDescription);
+            Matcher matcher = HOME_THEATER_MEMBER_PATTERN.matcher(homeTheaterDescription);
             while (matcher.find()) {
                 String member = matcher.group();
                 homeTheaterMembers.add(member);
@@ -936,10 +1011,8 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            READERS.parse(roomNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -975,10 +1048,8 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            READERS.parse(modelNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Parses event values as sent by the zone players.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SonosXMLParserTest {
+
+    private static final String AV_TRANSPORT_LAST_CHANGE = "" + //
+            "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/AVT/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + //
+            "<InstanceID val=\"0\">" + //
+            "<TransportState val=\"%s\"/>" + //
+            "<CurrentPlayMode val=\"NORMAL\"/>" + //
+            "<CurrentCrossfadeMode val=\"0\"/>" + //
+            "<NumberOfTracks val=\"12\"/>" + //
+            "<CurrentTrack val=\"3\"/>" + //
+            "<CurrentSection val=\"0\"/>" + //
+            "<CurrentTrackURI val=\"x-sonos-spotify:spotify%%3atrack%%3a3n3Ppam7vgaVa1iaRUc9Lp?sid=9&amp;flags=8224\"/>"
+            + "<CurrentTrackDuration val=\"0:03:42\"/>" + //
+            "<CurrentTrackMetaData val=\"&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; "
+            + "xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; "
+            + "xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; "
+            + "xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;&lt;item id=&quot;-1&quot; "
+            + "parentID=&quot;-1&quot; restricted=&quot;true&quot;&gt;&lt;dc:title&gt;Mr. Brightside&lt;/dc:title&gt;"
+            + "&lt;upnp:class&gt;object.item.audioItem.musicTrack&lt;/upnp:class&gt;"
+            + "&lt;dc:creator&gt;The Killers&lt;/dc:creator&gt;&lt;upnp:album&gt;Hot Fuss&lt;/upnp:album&gt;"
+            + "&lt;/item&gt;&lt;/DIDL-Lite&gt;\"/>" + //
+            "<r:NextTrackURI val=\"x-sonos-spotify:spotify%%3atrack%%3a0eGsygTp906u18L0Oimnem?sid=9\"/>" + //
+            "<AVTransportURI val=\"x-rincon-queue:RINCON_000E58C3892E01400#0\"/>" + //
+            "<NextAVTransportURI val=\"\"/>" + //
+            "</InstanceID></Event>";
+
+    private static final String ZONE_GROUP_STATE = "" + //
+            "<ZoneGroups>" + //
+            "<ZoneGroup Coordinator=\"RINCON_000E58C3892E01400\" ID=\"RINCON_000E58C3892E01400:58\">" + //
+            "<ZoneGroupMember UUID=\"RINCON_000E58C3892E01400\" ZoneName=\"Living Room\" "
+            + "HTSatChanMapSet=\"RINCON_000E58C3892E01400:LF,RF;RINCON_B8E93781E0E801400:SW\"/>" + //
+            "<ZoneGroupMember UUID=\"RINCON_000E58A53FBE01400\" ZoneName=\"Kitchen\"/>" + //
+            "</ZoneGroup>" + //
+            "<ZoneGroup Coordinator=\"RINCON_5CAAFD0A251401400\" ID=\"RINCON_5CAAFD0A251401400:12\">" + //
+            "<ZoneGroupMember UUID=\"RINCON_5CAAFD0A251401400\" ZoneName=\"Bedroom\"/>" + //
+            "</ZoneGroup>" + //
+            "</ZoneGroups>";
+
+    @Test
+    public void avTransportLastChangeIsParsed() {
+        Map<String, String> changes = SonosXMLParser
+                .getAVTransportFromXML(String.format(AV_TRANSPORT_LAST_CHANGE, "PLAYING"));
+        assertThat(changes.get("TransportState"), is("PLAYING"));
+        assertThat(changes.get("NumberOfTracks"), is("12"));
+        assertThat(changes.get("AVTransportURI"), is("x-rincon-queue:RINCON_000E58C3892E01400#0"));
+
+        SonosMetaData metaData = SonosXMLParser.getMetaDataFromXML(changes.get("CurrentTrackMetaData"));
+        assertThat(metaData.getTitle(), is("Mr. Brightside"));
+        assertThat(metaData.getCreator(), is("The Killers"));
+    }
+
+    @Test
+    public void identicalLastChangeOfGroupMembersIsParsedOnce() {
+        // every player of the group receives its own copy of the same event value
+        Map<String, String> coordinatorChanges = SonosXMLParser
+                .getAVTransportFromXML(String.format(AV_TRANSPORT_LAST_CHANGE, "PAUSED_PLAYBACK"));
+        Map<String, String> memberChanges = SonosXMLParser
+                .getAVTransportFromXML(String.format(AV_TRANSPORT_LAST_CHANGE, "PAUSED_PLAYBACK"));
+        assertThat(memberChanges, is(sameInstance(coordinatorChanges)));
+
+        Map<String, String> otherChanges = SonosXMLParser
+                .getAVTransportFromXML(String.format(AV_TRANSPORT_LAST_CHANGE, "STOPPED"));
+        assertThat(otherChanges.get("TransportState"), is("STOPPED"));
+        assertThat(coordinatorChanges.get("TransportState"), is("PAUSED_PLAYBACK"));
+    }
+
+    @Test
+    public void zoneGroupStateIsParsed() {
+        List<SonosZoneGroup> groups = SonosXMLParser.getZoneGroupFromXML(new String(ZONE_GROUP_STATE));
+        assertThat(groups.size(), is(2));
+        assertThat(groups.get(0).getCoordinator(), is("RINCON_000E58C3892E01400"));
+        assertThat(groups.get(0).getMembers().contains("RINCON_B8E93781E0E801400"), is(true));
+        assertThat(groups.get(0).getMembers().contains("RINCON_000E58A53FBE01400"), is(true));
+        assertThat(groups.get(1).getMemberZoneNames(), is(List.of("Bedroom")));
+        assertThat(SonosXMLParser.getZoneGroupFromXML(new String(ZONE_GROUP_STATE)), is(sameInstance(groups)));
+    }
+
+    @Test
+    public void invalidXmlIsNotCached() {
+        String xml = "<Event><InstanceID val=\"0\"><TransportState val=\"PLAYING\"/>";
+        Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(xml);
+        assertThat(SonosXMLParser.getAVTransportFromXML(xml), is(not(sameInstance(changes))));
+        // the readers of failed documents are not reused, the next document is parsed normally
+        assertThat(SonosXMLParser.getAVTransportFromXML(String.format(AV_TRANSPORT_LAST_CHANGE, "STOPPED"))
+                .get("TransportState"), is("STOPPED"));
+    }
+
+    @Test
+    public void embeddedResourceMetaDataIsParsedWhileParsingEntries() {
+        String xml = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+                + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+                + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+                + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">"
+                + "<item id=\"FV:2/13\" parentID=\"FV:2\" restricted=\"false\"><dc:title>Radio</dc:title>"
+                + "<upnp:class>object.itemobject.item.sonos-favorite</upnp:class>"
+                + "<r:resMD>&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; "
+                + "xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; "
+                + "xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; "
+                + "xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;"
+                + "&lt;item id=&quot;F00092020s24896&quot; "
+                + "parentID=&quot;L&quot; restricted=&quot;true&quot;&gt;&lt;dc:title&gt;Radio 1&lt;/dc:title&gt;"
+                + "&lt;upnp:class&gt;object.item.audioItem.audioBroadcast&lt;/upnp:class&gt;"
+                + "&lt;desc id=&quot;cdudn&quot; nameSpace=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot;&gt;"
+                + "SA_RINCON65031_&lt;/desc&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;</r:resMD></item></DIDL-Lite>";
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(xml);
+        assertThat(entries.size(), is(1));
+        SonosResourceMetaData resourceMetaData = entries.get(0).getResourceMetaData();
+        assertThat(resourceMetaData, is(notNullValue()));
+        assertThat(resourceMetaData.getTitle(), is("Radio 1"));
+        assertThat(resourceMetaData.getDesc(), is("SA_RINCON65031_"));
+    }
+
+    @Test
+    public void recordedEventsAreParsedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Map<String, String>>> results = new ArrayList<>();
+            String[] states = { "PLAYING", "PAUSED_PLAYBACK", "STOPPED", "TRANSITIONING" };
+            for (int i = 0; i < 2000; i++) {
+                String state = states[i % states.length];
+                results.add(executor.submit(
+                        () -> SonosXMLParser.getAVTransportFromXML(String.format(AV_TRANSPORT_LAST_CHANGE, state))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get(10, TimeUnit.SECONDS).get("TransportState"),
+                        is(states[i % states.length]));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
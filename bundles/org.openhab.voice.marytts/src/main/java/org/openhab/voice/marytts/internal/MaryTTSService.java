@@ -14,15 +14,21 @@ package org.openhab.voice.marytts.internal;
 
 import static javax.sound.sampled.AudioSystem.NOT_SPECIFIED;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
 
+import org.openhab.core.OpenHAB;
+import org.openhab.core.audio.AudioException;
 import org.openhab.core.audio.AudioFormat;
 import org.openhab.core.audio.AudioStream;
 import org.openhab.core.voice.TTSException;
 import org.openhab.core.voice.TTSService;
+import org.openhab.voice.ttscache.TTSAudioCache;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,8 +50,16 @@ public class MaryTTSService implements TTSService {
 
     private final Logger logger = LoggerFactory.getLogger(MaryTTSService.class);
 
+    private static final String CACHE_FOLDER_NAME = "cache";
+    private static final String SERVICE_PID = "org.openhab.voice.marytts";
+
     private MaryInterface marytts;
 
+    /**
+     * Cache of the generated audio files
+     */
+    private TTSAudioCache cache;
+
     /**
      * Set of supported voices
      */
@@ -59,6 +73,7 @@ public class MaryTTSService implements TTSService {
     protected void activate() {
         try {
             marytts = new LocalMaryInterface();
+            cache = new TTSAudioCache(new File(new File(OpenHAB.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID));
             voices = initVoices();
             audioFormats = initAudioFormats();
         } catch (MaryConfigurationException e) {
@@ -114,16 +129,28 @@ public class MaryTTSService implements TTSService {
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
 
+        // Generated audio is cached, MaryTTS is only used for texts not spoken before
+        String fileName = TTSAudioCache.getUniqueFileName(voice.getLabel(), text, "wav");
+        try {
+            return cache.get(fileName, maryTTSVoiceAudioFormat, text,
+                    file -> generateAudio(text, voice, maryTTSVoiceAudioFormat, file));
+        } catch (AudioException | IOException e) {
+            throw new TTSException("Error generating an AudioStream", e);
+        }
+    }
+
+    private void generateAudio(String text, org.openhab.core.voice.Voice voice, AudioFormat audioFormat, File file)
+            throws IOException {
         // Synchronize on marytts
         synchronized (marytts) {
             // Set voice (Each voice supports only a single AudioFormat)
             marytts.setLocale(voice.getLocale());
             marytts.setVoice(voice.getLabel());
 
-            try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
-                throw new TTSException("Error generating an AudioStream", e);
+            try (MaryTTSAudioStream audioStream = new MaryTTSAudioStream(marytts.generateAudio(text), audioFormat)) {
+                Files.copy(audioStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (SynthesisException e) {
+                throw new IOException(e.getMessage(), e);
             }
         }
     }
@@ -12,18 +12,23 @@
  */
 package org.openhab.voice.picotts.internal;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.openhab.core.OpenHAB;
 import org.openhab.core.audio.AudioException;
 import org.openhab.core.audio.AudioFormat;
 import org.openhab.core.audio.AudioStream;
 import org.openhab.core.voice.TTSException;
 import org.openhab.core.voice.TTSService;
 import org.openhab.core.voice.Voice;
+import org.openhab.voice.ttscache.TTSAudioCache;
 import org.osgi.service.component.annotations.Component;
 
 /**
@@ -31,6 +36,9 @@ import org.osgi.service.component.annotations.Component;
  */
 @Component
 public class PicoTTSService implements TTSService {
+    private static final String CACHE_FOLDER_NAME = "cache";
+    private static final String SERVICE_PID = "org.openhab.voice.picotts";
+
     private final Set<Voice> voices = Stream
             .of(new PicoTTSVoice("de-DE"), new PicoTTSVoice("en-US"), new PicoTTSVoice("en-GB"),
                     new PicoTTSVoice("es-ES"), new PicoTTSVoice("fr-FR"), new PicoTTSVoice("it-IT"))
@@ -39,6 +47,12 @@ public class PicoTTSService implements TTSService {
     private final Set<AudioFormat> audioFormats = Collections.singleton(
             new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, 16, null, 16000L));
 
+    /**
+     * Cache of the generated audio files, pico2wave is only run for texts not spoken before
+     */
+    private final TTSAudioCache cache = new TTSAudioCache(
+            new File(new File(OpenHAB.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID));
+
     @Override
     public Set<Voice> getAvailableVoices() {
         return this.voices;
@@ -68,12 +82,30 @@ public class PicoTTSService implements TTSService {
         }
 
         try {
-            return new PicoTTSAudioStream(text, voice, requestedFormat);
-        } catch (AudioException e) {
+            return cache.get(TTSAudioCache.getUniqueFileName(voice.getLabel(), text, "wav"), requestedFormat, text,
+                    file -> generateAudio(text, voice, file));
+        } catch (AudioException | IOException e) {
             throw new TTSException(e);
         }
     }
 
+    /**
+     * Runs pico2wave to generate the audio file, the name of the file must end with ".wav"
+     */
+    private void generateAudio(String text, Voice voice, File file) throws IOException {
+        String[] command = { "pico2wave", "-l=" + voice.getLabel(), "-w=" + file.getAbsolutePath(), text };
+        try {
+            Process process = Runtime.getRuntime().exec(command);
+            int exitValue = process.waitFor();
+            if (exitValue != 0 || !file.exists()) {
+                throw new IOException("Error while executing pico2wave, exit value " + exitValue);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("pico2wave has been interrupted");
+        }
+    }
+
     @Override
     public String getId() {
         return "picotts";
@@ -0,0 +1,422 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.audio.AudioException;
+import org.openhab.core.audio.AudioFormat;
+import org.openhab.core.audio.ByteArrayAudioStream;
+import org.openhab.core.audio.FileAudioStream;
+import org.openhab.core.audio.FixedLengthAudioStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TTSAudioCache} caches synthesized audio for the TTS services. The audio is stored as files in the cache
+ * folder, each with an additional .txt file to indicate what content is in the audio file.
+ *
+ * The cache folder is only listed once, when the cache is created. After that an in-memory index keeps the size and
+ * last use of each file, so a lookup doesn't touch the file system. If the audio and text files exceed the size of the
+ * cache the least recently used files are deleted. Files which are used again are additionally kept in memory up to a
+ * limit, so frequently played announcements are served without reading the file again. Cached audio is streamed
+ * directly from the file or memory, no copy is created.
+ *
+ * The cache is used by several voice bundles, each of them creates its own instance with its own cache folder.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TTSAudioCache {
+    public static final long DEFAULT_MAX_DISK_SIZE = 256L * 1024 * 1024;
+    public static final long DEFAULT_MAX_MEMORY_SIZE = 8L * 1024 * 1024;
+
+    private static final String TEMP_FILE_PREFIX = ".tts";
+    private static final String TEXT_FILE_EXTENSION = ".txt";
+    private static final long TOUCH_INTERVAL = TimeUnit.DAYS.toMillis(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TTSAudioCache.class);
+
+    private final File cacheFolder;
+    private final long maxDiskSize;
+    private final long maxMemorySize;
+    private final long maxMemoryEntrySize;
+    private final long maxAge;
+
+    // both maps are in access order, the eldest entry is the least recently used one
+    private final Map<String, Entry> index = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskSize = 0;
+    private long memorySize = 0;
+
+    /**
+     * Synthesizes the audio of a cache entry
+     */
+    @FunctionalInterface
+    public interface Synthesizer {
+        /**
+         * Write the audio to the given file.
+         *
+         * @param file file to write the audio to, it has the extension of the cache entry
+         * @throws IOException if the audio can't be synthesized or written
+         */
+        void synthesize(File file) throws IOException;
+    }
+
+    /**
+     * Create a cache with the default sizes and without expiration.
+     *
+     * @param cacheFolder folder of the cache, created if it doesn't exist
+     */
+    public TTSAudioCache(File cacheFolder) {
+        this(cacheFolder, DEFAULT_MAX_DISK_SIZE, DEFAULT_MAX_MEMORY_SIZE, 0);
+    }
+
+    /**
+     * Create a cache and read its index from the cache folder.
+     *
+     * @param cacheFolder folder of the cache, created if it doesn't exist
+     * @param maxDiskSize maximum size of the audio files in bytes
+     * @param maxMemorySize maximum size of the audio kept in memory in bytes, 0 disables the memory cache
+     * @param maxAge files not used for this number of milliseconds are deleted, 0 disables the expiration
+     */
+    public TTSAudioCache(File cacheFolder, long maxDiskSize, long maxMemorySize, long maxAge) {
+        this.cacheFolder = cacheFolder;
+        this.maxDiskSize = maxDiskSize;
+        this.maxMemorySize = maxMemorySize;
+        this.maxMemoryEntrySize = maxMemorySize / 8;
+        this.maxAge = maxAge;
+
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        File[] files = cacheFolder.listFiles();
+        if (files != null) {
+            // oldest first, so the index starts in least recently used order
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            for (File file : files) {
+                String fileName = file.getName();
+                if (fileName.startsWith(TEMP_FILE_PREFIX)) {
+                    // left over from an interrupted synthesis
+                    file.delete();
+                } else if (file.isFile() && !fileName.endsWith(TEXT_FILE_EXTENSION)) {
+                    long size = file.length() + getTextFile(fileName).length();
+                    index.put(fileName, new Entry(size, file.lastModified()));
+                    diskSize += size;
+                }
+            }
+        }
+        synchronized (this) {
+            evict(System.currentTimeMillis());
+        }
+        logger.debug("TTS cache {} contains {} files with {} bytes", cacheFolder, index.size(), diskSize);
+    }
+
+    /**
+     * Get the audio of a cache entry as stream, the audio is synthesized if it is not in the cache yet.
+     *
+     * @param fileName file name of the cache entry, including the extension
+     * @param format format of the audio
+     * @param description written to the .txt file of the entry, if not empty
+     * @param synthesizer called to synthesize the audio if it is not in the cache
+     * @return stream of the audio in memory or of the audio file
+     * @throws IOException if the audio can't be synthesized or written to the cache
+     * @throws AudioException if the audio file can't be opened
+     */
+    public FixedLengthAudioStream get(String fileName, AudioFormat format, String description,
+            Synthesizer synthesizer) throws IOException, AudioException {
+        byte @Nullable [] audio;
+        synchronized (this) {
+            audio = memory.get(fileName);
+        }
+        if (audio != null) {
+            // the audio is already in memory, so the file doesn't need to be pinned
+            touch(fileName);
+            return new ByteArrayAudioStream(audio, format);
+        }
+
+        boolean cached = contains(fileName);
+        File file = getPinnedFile(fileName, description, synthesizer);
+        try {
+            if (cached) {
+                // used again, keep it in memory for the next time
+                audio = loadIntoMemory(fileName, file);
+            }
+            // the stream opens the file right away, once open it stays readable even if the file is evicted
+            return audio != null ? new ByteArrayAudioStream(audio, format) : new FileAudioStream(file, format);
+        } finally {
+            unpin(fileName);
+        }
+    }
+
+    /**
+     * Get the audio file of a cache entry, the audio is synthesized if it is not in the cache yet.
+     *
+     * The file is not protected from eviction once this method returns, use
+     * {@link #get(String, AudioFormat, String, Synthesizer)} to play the audio.
+     *
+     * @param fileName file name of the cache entry, including the extension
+     * @param description written to the .txt file of the entry, if not empty
+     * @param synthesizer called to synthesize the audio if it is not in the cache
+     * @return the audio file
+     * @throws IOException if the audio can't be synthesized or written to the cache
+     */
+    public File getFile(String fileName, String description, Synthesizer synthesizer) throws IOException {
+        File file = getPinnedFile(fileName, description, synthesizer);
+        unpin(fileName);
+        return file;
+    }
+
+    /**
+     * Get the audio file of a cache entry and pin it, so it isn't evicted until {@link #unpin(String)} is called.
+     */
+    private File getPinnedFile(String fileName, String description, Synthesizer synthesizer) throws IOException {
+        File file = new File(cacheFolder, fileName);
+        if (use(fileName)) {
+            return file;
+        }
+
+        // synthesize into a temporary file, so an incomplete file is never served from the cache
+        String extension = fileName.contains(".") ? fileName.substring(fileName.lastIndexOf('.')) : "";
+        File tempFile = File.createTempFile(TEMP_FILE_PREFIX, extension, cacheFolder);
+        try {
+            synthesizer.synthesize(tempFile);
+            if (tempFile.length() == 0) {
+                throw new IOException("No audio data received for " + fileName);
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            tempFile.delete();
+        }
+        File textFile = getTextFile(fileName);
+        if (!description.isEmpty()) {
+            // write text to file for transparency too
+            // this allows to know which contents is in which audio file
+            writeText(textFile, description);
+        }
+
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            long size = file.length() + textFile.length();
+            Entry entry = new Entry(size, now);
+            Entry previous = index.put(fileName, entry);
+            diskSize += size - (previous != null ? previous.size : 0);
+            entry.pins = (previous != null ? previous.pins : 0) + 1;
+            removeFromMemory(fileName);
+            evict(now);
+        }
+        logger.debug("Audio file {} added to cache", fileName);
+        return file;
+    }
+
+    public synchronized boolean contains(String fileName) {
+        return index.containsKey(fileName);
+    }
+
+    /**
+     * Delete all files of the cache.
+     */
+    public synchronized void clear() {
+        File[] files = cacheFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        index.clear();
+        memory.clear();
+        diskSize = 0;
+        memorySize = 0;
+        logger.debug("TTS cache {} cleared", cacheFolder);
+    }
+
+    /**
+     * Mark a cache entry as used and pin it.
+     *
+     * @return true if the entry is in the cache
+     */
+    private synchronized boolean use(String fileName) {
+        Entry entry = touch(fileName);
+        if (entry == null) {
+            return false;
+        }
+        entry.pins++;
+        return true;
+    }
+
+    /**
+     * Mark a cache entry as used, without pinning it.
+     *
+     * @return the entry or null if it is not in the cache
+     */
+    private synchronized @Nullable Entry touch(String fileName) {
+        Entry entry = index.get(fileName);
+        if (entry == null) {
+            return null;
+        }
+        File file = new File(cacheFolder, fileName);
+        long now = System.currentTimeMillis();
+        if (now - entry.lastUsed > TOUCH_INTERVAL) {
+            // the last use is only written occasionally, it is needed for the order when the index is read again
+            if (!file.setLastModified(now) && !file.exists()) {
+                // deleted from outside
+                remove(fileName);
+                return null;
+            }
+        }
+        entry.lastUsed = now;
+        return entry;
+    }
+
+    private synchronized void unpin(String fileName) {
+        Entry entry = index.get(fileName);
+        if (entry != null && entry.pins > 0) {
+            entry.pins--;
+        }
+    }
+
+    private byte @Nullable [] loadIntoMemory(String fileName, File file) {
+        long size = file.length();
+        if ((size == 0) || (size > maxMemoryEntrySize)) {
+            return null;
+        }
+        try {
+            byte[] audio = Files.readAllBytes(file.toPath());
+            synchronized (this) {
+                if (index.containsKey(fileName) && !memory.containsKey(fileName)) {
+                    memory.put(fileName, audio);
+                    memorySize += audio.length;
+                    Iterator<byte[]> iterator = memory.values().iterator();
+                    while ((memorySize > maxMemorySize) && iterator.hasNext()) {
+                        memorySize -= iterator.next().length;
+                        iterator.remove();
+                    }
+                }
+            }
+            return audio;
+        } catch (IOException e) {
+            logger.debug("Unable to read {} from cache: {}", fileName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Delete the least recently used files until the cache fits into its size and expired files. Pinned files are
+     * about to be opened and are kept, even if they exceed the size on their own.
+     */
+    private void evict(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            boolean expired = (maxAge > 0) && (now - eldest.getValue().lastUsed > maxAge);
+            if (!expired && (diskSize <= maxDiskSize)) {
+                break;
+            }
+            if (eldest.getValue().pins > 0) {
+                continue;
+            }
+            String fileName = eldest.getKey();
+            iterator.remove();
+            diskSize -= eldest.getValue().size;
+            removeFromMemory(fileName);
+            deleteFiles(fileName);
+            logger.debug("Audio file {} removed from cache ({})", fileName, expired ? "expired" : "cache full");
+        }
+    }
+
+    private void remove(String fileName) {
+        Entry entry = index.remove(fileName);
+        if (entry != null) {
+            diskSize -= entry.size;
+        }
+        removeFromMemory(fileName);
+    }
+
+    private void removeFromMemory(String fileName) {
+        byte[] audio = memory.remove(fileName);
+        if (audio != null) {
+            memorySize -= audio.length;
+        }
+    }
+
+    private void deleteFiles(String fileName) {
+        new File(cacheFolder, fileName).delete();
+        getTextFile(fileName).delete();
+    }
+
+    private File getTextFile(String fileName) {
+        return new File(cacheFolder, getBaseName(fileName) + TEXT_FILE_EXTENSION);
+    }
+
+    private static String getBaseName(String fileName) {
+        int extensionPos = fileName.lastIndexOf('.');
+        return extensionPos > 0 ? fileName.substring(0, extensionPos) : fileName;
+    }
+
+    private static void writeText(File file, String text) throws IOException {
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Gets a unique filename for a given text, by creating a MD5 hash of it. It will be preceded by the prefix, e.g.
+     * the voice label or locale.
+     *
+     * Sample: "en-US_00a2653ac5f77063bc4ea2fee87318d3.mp3"
+     *
+     * @param prefix prefix of the file name
+     * @param text text to create the hash for
+     * @param extension extension of the audio file, without dot
+     * @return the file name
+     */
+    public static String getUniqueFileName(String prefix, String text, String extension) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] md5Hash = md.digest(text.getBytes(StandardCharsets.UTF_8));
+            return prefix + "_" + String.format("%032x", new BigInteger(1, md5Hash)) + "." + extension;
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports MD5
+            throw new IllegalStateException("MD5 is not supported", e);
+        }
+    }
+
+    private static class Entry {
+        private final long size;
+        private long lastUsed;
+        // number of callers that are about to open the file
+        private int pins;
+
+        private Entry(long size, long lastUsed) {
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
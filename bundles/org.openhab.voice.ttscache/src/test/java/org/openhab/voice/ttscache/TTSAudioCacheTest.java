@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.audio.AudioException;
+import org.openhab.core.audio.AudioFormat;
+import org.openhab.core.audio.ByteArrayAudioStream;
+import org.openhab.core.audio.FileAudioStream;
+
+/**
+ * Tests the {@link TTSAudioCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TTSAudioCacheTest {
+    private static final byte[] AUDIO = new byte[40];
+    private static final String TEXT = "Twenty bytes of text";
+
+    private @TempDir @NonNullByDefault({}) Path folder;
+
+    private final AtomicInteger synthesized = new AtomicInteger();
+
+    private TTSAudioCache.Synthesizer synthesizer(byte[] audio) {
+        return file -> {
+            synthesized.incrementAndGet();
+            Files.write(file.toPath(), audio);
+        };
+    }
+
+    private static byte[] read(InputStream stream) throws IOException {
+        try (InputStream in = stream) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testSynthesizedOnlyOnce() throws IOException, AudioException {
+        TTSAudioCache cache = new TTSAudioCache(folder.toFile());
+
+        InputStream first = cache.get("a.mp3", AudioFormat.MP3, TEXT, synthesizer(AUDIO));
+        assertTrue(first instanceof FileAudioStream);
+        assertArrayEquals(AUDIO, read(first));
+        assertTrue(Files.exists(folder.resolve("a.txt")));
+
+        // played again, served from memory from now on
+        InputStream second = cache.get("a.mp3", AudioFormat.MP3, TEXT, synthesizer(AUDIO));
+        assertTrue(second instanceof ByteArrayAudioStream);
+        assertArrayEquals(AUDIO, read(second));
+        assertEquals(1, synthesized.get());
+    }
+
+    @Test
+    public void testTextFilesCountTowardsSize() throws IOException {
+        // each entry has 40 bytes of audio and 20 bytes of text, two entries exceed the size only with the text
+        TTSAudioCache cache = new TTSAudioCache(folder.toFile(), 100, 0, 0);
+        cache.getFile("a.mp3", TEXT, synthesizer(AUDIO));
+        cache.getFile("b.mp3", TEXT, synthesizer(AUDIO));
+
+        assertFalse(cache.contains("a.mp3"));
+        assertFalse(Files.exists(folder.resolve("a.mp3")));
+        assertFalse(Files.exists(folder.resolve("a.txt")));
+        assertTrue(cache.contains("b.mp3"));
+        assertTrue(Files.exists(folder.resolve("b.txt")));
+    }
+
+    @Test
+    public void testIndexIncludesTextFiles() throws IOException {
+        TTSAudioCache cache = new TTSAudioCache(folder.toFile());
+        cache.getFile("a.mp3", TEXT, synthesizer(AUDIO));
+        cache.getFile("b.mp3", TEXT, synthesizer(AUDIO));
+
+        TTSAudioCache reloaded = new TTSAudioCache(folder.toFile(), 100, 0, 0);
+        assertNotEquals(reloaded.contains("a.mp3"), reloaded.contains("b.mp3"));
+        assertEquals(2, folder.toFile().list().length);
+    }
+
+    @Test
+    public void testStreamStaysReadableWhenEvicted() throws IOException, AudioException {
+        byte[] audio = new byte[60];
+        Arrays.fill(audio, (byte) 1);
+        TTSAudioCache cache = new TTSAudioCache(folder.toFile(), 100, 0, 0);
+
+        InputStream stream = cache.get("a.mp3", AudioFormat.MP3, "", synthesizer(audio));
+        cache.getFile("b.mp3", "", synthesizer(audio));
+        assertFalse(cache.contains("a.mp3"));
+
+        assertArrayEquals(audio, read(stream));
+    }
+
+    @Test
+    public void testEntryInMemoryIsEvicted() throws IOException, AudioException {
+        TTSAudioCache cache = new TTSAudioCache(folder.toFile(), 100, 1024, 0);
+
+        // loaded into memory with the second play and served from memory with the third
+        for (int i = 0; i < 3; i++) {
+            read(cache.get("a.mp3", AudioFormat.MP3, TEXT, synthesizer(AUDIO)));
+        }
+        assertTrue(cache.get("a.mp3", AudioFormat.MP3, TEXT, synthesizer(AUDIO)) instanceof ByteArrayAudioStream);
+
+        cache.getFile("b.mp3", TEXT, synthesizer(AUDIO));
+        assertFalse(cache.contains("a.mp3"));
+        assertFalse(Files.exists(folder.resolve("a.mp3")));
+        assertTrue(cache.contains("b.mp3"));
+    }
+
+    @Test
+    public void testNewEntryIsKeptEvenIfTooLarge() throws IOException {
+        TTSAudioCache cache = new TTSAudioCache(folder.toFile(), 10, 0, 0);
+        File file = cache.getFile("a.mp3", TEXT, synthesizer(AUDIO));
+
+        assertTrue(file.exists());
+        assertTrue(cache.contains("a.mp3"));
+    }
+
+    @Test
+    public void testFailedSynthesisLeavesNoFile() {
+        TTSAudioCache cache = new TTSAudioCache(folder.toFile());
+
+        assertThrows(IOException.class, () -> cache.getFile("a.mp3", TEXT, file -> {
+            Files.write(file.toPath(), AUDIO);
+            throw new IOException("failed");
+        }));
+        assertFalse(cache.contains("a.mp3"));
+        assertEquals(0, folder.toFile().list().length);
+    }
+}
@@ -532,6 +532,26 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         // no datetime, conversion not possible without transformation
     }
 
+    @Test
+    public void testOnRegistersChannelLinkedAfterInitialization() {
+        // Nothing linked on the first poll
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "default", ModbusConstants.ValueType.INT16, null,
+                new ModbusRegisterArray(new byte[] { (byte) 0x00, (byte) 0x05 }), null, null, false);
+
+        ChannelUID numberUID = new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER);
+        String itemName = getItemName(numberUID);
+        GenericItem item = coreItemFactory.createItem("Number", itemName);
+        assertNotNull(item);
+        addItem(Objects.requireNonNull(item));
+        linkItem(itemName, numberUID);
+
+        // Next poll must reach the newly linked channel
+        dataHandler.onReadResult(new AsyncModbusReadResult(Mockito.mock(ModbusReadRequestBlueprint.class),
+                new ModbusRegisterArray(new byte[] { (byte) 0x00, (byte) 0x06 })));
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(6));
+    }
+
     @Test
     public void testOnRegistersRealTransformation() {
         mockTransformation("MULTIPLY", new MultiplyTransformation());
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.handler.MqttTopicDispatcher;
+import org.openhab.binding.mqtt.homie.internal.homie300.Device;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes.ReadyState;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceCallback;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttConnectionState;
+import org.openhab.core.io.transport.mqtt.MqttService;
+import org.openhab.core.test.java.JavaOSGiTest;
+import org.openhab.core.thing.ThingUID;
+import org.osgi.service.cm.ConfigurationAdmin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes a large simulated Homie network to the embedded broker and measures the time until all device trees
+ * have been assembled. Each device must only cost a single broker subscription.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class HomieStartupTest extends JavaOSGiTest {
+    private static final String BASE_TOPIC = "homiestartup";
+    private static final int DEVICE_COUNT = 200;
+
+    private final Logger logger = LoggerFactory.getLogger(HomieStartupTest.class);
+
+    private @NonNullByDefault({}) MqttBrokerConnection embeddedConnection;
+    private @NonNullByDefault({}) MqttBrokerConnection connection;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+
+    private @Mock @NonNullByDefault({}) DeviceCallback callback;
+
+    private final List<String> publishedTopics = new ArrayList<>();
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        registerVolatileStorageService();
+        ConfigurationAdmin configurationAdmin = getService(ConfigurationAdmin.class);
+        MqttService mqttService = getService(MqttService.class);
+
+        embeddedConnection = new EmbeddedBrokerTools(configurationAdmin, mqttService).waitForConnection();
+        embeddedConnection.setQos(1);
+
+        connection = new MqttBrokerConnection(embeddedConnection.getHost(), embeddedConnection.getPort(),
+                embeddedConnection.isSecure(), "homiestartup");
+        connection.setQos(1);
+        connection.start().get(5, TimeUnit.SECONDS);
+        assertThat(connection.connectionState(), is(MqttConnectionState.CONNECTED));
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < DEVICE_COUNT; ++i) {
+            final String device = BASE_TOPIC + "/device" + i;
+            futures.add(publish(device + "/$homie", "3.0"));
+            futures.add(publish(device + "/$name", "Device " + i));
+            futures.add(publish(device + "/$state", "ready"));
+            futures.add(publish(device + "/$nodes", "sensor"));
+
+            final String node = device + "/sensor";
+            futures.add(publish(node + "/$name", "Sensor"));
+            futures.add(publish(node + "/$type", "Type"));
+            futures.add(publish(node + "/$properties", "temperature"));
+
+            final String property = node + "/temperature";
+            futures.add(publish(property, "21"));
+            futures.add(publish(property + "/$name", "Temperature"));
+            futures.add(publish(property + "/$datatype", "float"));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(20, TimeUnit.SECONDS);
+
+        scheduler = new ScheduledThreadPoolExecutor(6);
+    }
+
+    private CompletableFuture<Boolean> publish(String topic, String message) {
+        publishedTopics.add(topic);
+        return embeddedConnection.publish(topic, message.getBytes(StandardCharsets.UTF_8), 0, true);
+    }
+
+    @AfterEach
+    public void afterEach() throws Exception {
+        if (embeddedConnection != null) {
+            // An empty retained message removes the retained message of the topic on the broker
+            CompletableFuture.allOf(publishedTopics.stream()
+                    .map(topic -> embeddedConnection.publish(topic, new byte[0], 1, true))
+                    .toArray(CompletableFuture[]::new)).get(20, TimeUnit.SECONDS);
+            publishedTopics.clear();
+        }
+        if (connection != null) {
+            connection.stop().get(2, TimeUnit.SECONDS);
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void timeToOnline() throws Exception {
+        List<Device> devices = new ArrayList<>();
+        for (int i = 0; i < DEVICE_COUNT; ++i) {
+            Device device = new Device(new ThingUID("mqtt", "homie300", "device" + i), callback,
+                    new DeviceAttributes());
+            device.initialize(BASE_TOPIC, "device" + i, Collections.emptyList());
+            devices.add(device);
+        }
+
+        final long start = System.nanoTime();
+        CompletableFuture.allOf(devices.stream().map(d -> d.subscribe(connection, scheduler, 200, 10000))
+                .toArray(CompletableFuture[]::new)).get(20, TimeUnit.SECONDS);
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("{} Homie devices online after {} ms", DEVICE_COUNT, elapsedMs);
+
+        for (Device device : devices) {
+            assertTrue(device.isInitialized());
+            assertThat(device.attributes.state, is(ReadyState.ready));
+            assertThat(device.nodes.size(), is(1));
+            assertThat(device.nodes.get("sensor").properties.size(), is(1));
+        }
+        // One wildcard subscription per device, everything below is served from it
+        assertThat(MqttTopicDispatcher.forConnection(connection).getBrokerSubscriptionCount(), is(DEVICE_COUNT));
+
+        CompletableFuture.allOf(devices.stream().map(Device::stop).toArray(CompletableFuture[]::new)).get(5,
+                TimeUnit.SECONDS);
+        assertThat(connection.hasSubscribers(), is(false));
+    }
+}